@@ -1,11 +1,36 @@
 package Algorithms.Divide_Conquer;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * A class implementing the Merge Sort algorithm in Java.
  * Merge Sort is a stable, divide-and-conquer sorting algorithm with O(n log n) time complexity.
  * This implementation includes methods to sort an array and merge subarrays, with a main method for demonstration.
+ * A parallel fork-join variant sorts independent halves on separate worker threads and produces
+ * exactly the same result as the serial version.
  */
 public class MergeSort {
+    // Default subarray length below which insertion sort is used instead of recursing
+    public static final int DEFAULT_INSERTION_THRESHOLD = 32;
+    // Smallest subarray worth handing to another fork-join worker
+    private static final int MIN_PARALLEL_GRANULARITY = 1 << 13;
+
+    private final int insertionThreshold;
+
+    // Create a sorter using the default insertion sort cutoff
+    public MergeSort() {
+        this(DEFAULT_INSERTION_THRESHOLD);
+    }
+
+    // Create a sorter with a custom insertion sort cutoff (1 disables the cutoff)
+    public MergeSort(int insertionThreshold) {
+        if (insertionThreshold < 1) {
+            throw new IllegalArgumentException("Insertion threshold must be at least 1");
+        }
+        this.insertionThreshold = insertionThreshold;
+    }
+
     // Main method to sort the array using Merge Sort
     public void mergeSort(int[] arr) {
         if (arr == null || arr.length <= 1) {
@@ -28,6 +53,77 @@ public class MergeSort {
         }
     }
 
+    // Sort the array in parallel on the given pool; the result is identical to mergeSort
+    public void parallelMergeSort(int[] arr, ForkJoinPool pool) {
+        if (arr == null || arr.length <= 1) {
+            return;
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("ForkJoinPool must not be null");
+        }
+        int[] temp = new int[arr.length]; // Single buffer shared by all tasks (ranges never overlap)
+        // Split until there are a few tasks per worker, but never into tiny pieces
+        int granularity = Math.max(MIN_PARALLEL_GRANULARITY, arr.length / (pool.getParallelism() * 4));
+        pool.invoke(new SortTask(arr, temp, 0, arr.length - 1, granularity));
+    }
+
+    // Fork-join task sorting arr[left..right]; each task only touches its own slice of temp
+    private class SortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] arr, temp;
+        private final int left, right, granularity;
+
+        SortTask(int[] arr, int[] temp, int left, int right, int granularity) {
+            this.arr = arr;
+            this.temp = temp;
+            this.left = left;
+            this.right = right;
+            this.granularity = granularity;
+        }
+
+        @Override
+        protected void compute() {
+            if (right - left + 1 <= granularity) {
+                sortRange(arr, temp, left, right);
+                return;
+            }
+            int mid = left + (right - left) / 2;
+            invokeAll(new SortTask(arr, temp, left, mid, granularity),
+                    new SortTask(arr, temp, mid + 1, right, granularity));
+            if (arr[mid] > arr[mid + 1]) { // Skip the merge when the halves are already in order
+                merge(arr, temp, left, mid, right);
+            }
+        }
+    }
+
+    // Sequential sort of arr[left..right] that switches to insertion sort on short ranges
+    private void sortRange(int[] arr, int[] temp, int left, int right) {
+        if (right - left + 1 <= insertionThreshold) {
+            insertionSort(arr, left, right);
+            return;
+        }
+        int mid = left + (right - left) / 2;
+        sortRange(arr, temp, left, mid);
+        sortRange(arr, temp, mid + 1, right);
+        if (arr[mid] > arr[mid + 1]) {
+            merge(arr, temp, left, mid, right);
+        }
+    }
+
+    // Stable insertion sort of arr[left..right]
+    private static void insertionSort(int[] arr, int left, int right) {
+        for (int i = left + 1; i <= right; i++) {
+            int key = arr[i];
+            int j = i - 1;
+            while (j >= left && arr[j] > key) { // Strict comparison keeps equal keys in order
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = key;
+        }
+    }
+
     // Method to merge two sorted subarrays: arr[left..mid] and arr[mid+1..right]
     private void merge(int[] arr, int[] temp, int left, int mid, int right) {
         // Copy data to temporary array
@@ -82,5 +178,33 @@ public class MergeSort {
             System.out.println("Sorted array = " + java.util.Arrays.toString(arr));
             System.out.println();
         }
+
+        // Compare the serial and parallel paths on a large random input
+        int n = 5_000_000;
+        java.util.Random random = new java.util.Random(42);
+        int[] original = new int[n];
+        for (int i = 0; i < n; i++) {
+            original[i] = random.nextInt();
+        }
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int[] serial = null;
+        int[] parallel = null;
+        long serialNanos = Long.MAX_VALUE;
+        long parallelNanos = Long.MAX_VALUE;
+        for (int run = 0; run < 5; run++) { // Keep the best of several runs to smooth out JIT warm-up
+            serial = original.clone();
+            long start = System.nanoTime();
+            sorter.mergeSort(serial);
+            serialNanos = Math.min(serialNanos, System.nanoTime() - start);
+
+            parallel = original.clone();
+            start = System.nanoTime();
+            sorter.parallelMergeSort(parallel, pool);
+            parallelNanos = Math.min(parallelNanos, System.nanoTime() - start);
+        }
+        System.out.println("Parallel Merge Sort on " + n + " elements with " + pool.getParallelism() + " workers:");
+        System.out.printf("Serial: %.1f ms, Parallel: %.1f ms, Speedup: %.2fx%n",
+                serialNanos / 1e6, parallelNanos / 1e6, (double) serialNanos / parallelNanos);
+        System.out.println("Results identical: " + java.util.Arrays.equals(serial, parallel));
     }
 }
@@ -1,155 +1,473 @@
 package Algorithms.Divide_Conquer;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Strassen's matrix multiplication on flat row-major arrays.
+ * Sub-matrices are addressed as (array, offset, row stride) views, so quadrants are never copied.
+ * Below a tunable cutoff the recursion switches to a blocked classical kernel, which is faster
+ * than further Strassen levels on small blocks. Near the top of the recursion the seven
+ * products run as parallel fork-join tasks. Odd sizes are handled by peeling off the last
+ * row and column instead of padding the whole matrix to the next power of two.
+ */
 public class StrassenMatrixMultiplication {
-    // Multiply two square matrices using Strassen's algorithm
+    // Default size at or below which the classical kernel is used
+    public static final int DEFAULT_CUTOFF = 64;
+    // Sub-problems at least this large are split into parallel tasks
+    private static final int PARALLEL_CUTOFF = 256;
+    // Block length along k in the classical kernel
+    private static final int KERNEL_BLOCK = 64;
+
+    // Quadrant indices used by the tables below
+    private static final int Q11 = 0, Q12 = 1, Q21 = 2, Q22 = 3, NONE = -1;
+    private static final int SET = 0, ADD = 1, SUB = 2;
+
+    // The seven products as {A quadrant, second A quadrant, sign, B quadrant, second B quadrant, sign}
+    private static final int[][] PRODUCTS = {
+            {Q11, Q22, 1, Q11, Q22, 1},      // P1 = (A11 + A22)(B11 + B22)
+            {Q21, Q22, 1, Q11, NONE, 0},     // P2 = (A21 + A22) B11
+            {Q11, NONE, 0, Q12, Q22, -1},    // P3 = A11 (B12 - B22)
+            {Q22, NONE, 0, Q21, Q11, -1},    // P4 = A22 (B21 - B11)
+            {Q11, Q12, 1, Q22, NONE, 0},     // P5 = (A11 + A12) B22
+            {Q21, Q11, -1, Q11, Q12, 1},     // P6 = (A21 - A11)(B11 + B12)
+            {Q12, Q22, -1, Q21, Q22, 1}      // P7 = (A12 - A22)(B21 + B22)
+    };
+
+    // Where each product goes as {C quadrant, mode}; the first write to a quadrant assigns it, giving
+    // C11 = P1 + P4 - P5 + P7, C12 = P3 + P5, C21 = P2 + P4, C22 = P1 - P2 + P3 + P6
+    private static final int[][][] CONTRIBUTIONS = {
+            {{Q11, SET}, {Q22, SET}},        // P1
+            {{Q21, SET}, {Q22, SUB}},        // P2
+            {{Q12, SET}, {Q22, ADD}},        // P3
+            {{Q11, ADD}, {Q21, ADD}},        // P4
+            {{Q11, SUB}, {Q12, ADD}},        // P5
+            {{Q22, ADD}},                    // P6
+            {{Q11, ADD}}                     // P7
+    };
+
+    // Multiply two square int matrices using Strassen's algorithm
     public static int[][] strassenMultiply(int[][] A, int[][] B) {
         int n = A.length;
-        // Base case: 1x1 matrix
-        if (n == 1) {
-            int[][] result = new int[1][1];
-            result[0][0] = A[0][0] * B[0][0];
-            return result;
+        if (B.length != n) {
+            throw new IllegalArgumentException("Matrices must have the same size");
+        }
+        long[] a = new long[n * n];
+        long[] b = new long[n * n];
+        for (int i = 0; i < n; i++) {
+            if (A[i].length != n || B[i].length != n) {
+                throw new IllegalArgumentException("Matrices must be square");
+            }
+            for (int j = 0; j < n; j++) {
+                a[i * n + j] = A[i][j];
+                b[i * n + j] = B[i][j];
+            }
         }
+        long[] c = multiply(a, b, n);
+        // Narrowing keeps the low 32 bits, which matches plain int arithmetic
+        int[][] result = new int[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                result[i][j] = (int) c[i * n + j];
+            }
+        }
+        return result;
+    }
 
-        // Ensure matrix size is a power of 2 by padding if necessary
-        int newSize = nextPowerOfTwo(n);
-        int[][] A_padded = padMatrix(A, newSize);
-        int[][] B_padded = padMatrix(B, newSize);
+    // Multiply two n x n row-major long matrices with the default cutoff on the common pool
+    public static long[] multiply(long[] A, long[] B, int n) {
+        return multiply(A, B, n, DEFAULT_CUTOFF, ForkJoinPool.commonPool());
+    }
 
-        // Compute the result using Strassen's algorithm
-        int[][] result_padded = strassenMultiplyRec(A_padded, B_padded);
+    // Multiply two n x n row-major long matrices; pool may be null to run on the calling thread
+    public static long[] multiply(long[] A, long[] B, int n, int cutoff, ForkJoinPool pool) {
+        checkArguments(A == null ? -1 : A.length, B == null ? -1 : B.length, n, cutoff);
+        long[] C = new long[n * n];
+        if (n == 0) {
+            return C;
+        }
+        if (pool == null || n < 2 * PARALLEL_CUTOFF) {
+            multiplyRec(A, 0, n, B, 0, n, C, 0, n, n, cutoff, false);
+        } else {
+            pool.invoke(ForkJoinTask.adapt(() -> multiplyRec(A, 0, n, B, 0, n, C, 0, n, n, cutoff, true)));
+        }
+        return C;
+    }
 
-        // Trim the result back to original size
-        return trimMatrix(result_padded, n);
+    // C = A * B on strided views; every matrix is (array, offset, row stride)
+    private static void multiplyRec(long[] a, int ao, int as, long[] b, int bo, int bs,
+                                    long[] c, int co, int cs, int n, int cutoff, boolean parallel) {
+        if (n <= cutoff) {
+            classicalKernel(a, ao, as, b, bo, bs, c, co, cs, n);
+            return;
+        }
+        if ((n & 1) != 0) {
+            peel(a, ao, as, b, bo, bs, c, co, cs, n, cutoff, parallel);
+            return;
+        }
+
+        int h = n / 2;
+        int[] aq = {ao, ao + h, ao + h * as, ao + h * as + h};
+        int[] bq = {bo, bo + h, bo + h * bs, bo + h * bs + h};
+        int[] cq = {co, co + h, co + h * cs, co + h * cs + h};
+
+        if (parallel && h >= PARALLEL_CUTOFF) {
+            // Run the seven products as independent tasks, each with its own buffers
+            long[][] products = new long[7][];
+            ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[7];
+            for (int p = 0; p < 7; p++) {
+                final int product = p;
+                products[p] = new long[h * h];
+                tasks[p] = ForkJoinTask.adapt(() -> computeProduct(product, a, aq, as, b, bq, bs, products[product],
+                        new long[h * h], new long[h * h], h, cutoff, true));
+            }
+            ForkJoinTask.invokeAll(tasks);
+            for (int p = 0; p < 7; p++) {
+                accumulate(p, products[p], c, cq, cs, h);
+            }
+        } else {
+            // Sequentially, one product buffer and two operand buffers are reused for all seven
+            long[] product = new long[h * h];
+            long[] left = new long[h * h];
+            long[] right = new long[h * h];
+            for (int p = 0; p < 7; p++) {
+                computeProduct(p, a, aq, as, b, bq, bs, product, left, right, h, cutoff, false);
+                accumulate(p, product, c, cq, cs, h);
+            }
+        }
     }
 
-    // Recursive helper method for Strassen's algorithm
-    private static int[][] strassenMultiplyRec(int[][] A, int[][] B) {
-        int n = A.length;
+    // Compute one of Strassen's seven products into out (stride h)
+    private static void computeProduct(int p, long[] a, int[] aq, int as, long[] b, int[] bq, int bs,
+                                       long[] out, long[] left, long[] right, int h, int cutoff, boolean parallel) {
+        int[] spec = PRODUCTS[p];
+        long[] la = a, rb = b;
+        int lo = aq[spec[0]], ls = as, ro = bq[spec[3]], rs = bs;
+        if (spec[1] >= 0) { // Left operand is a sum or difference of two A quadrants
+            addViews(a, aq[spec[0]], a, aq[spec[1]], as, spec[2], left, h);
+            la = left;
+            lo = 0;
+            ls = h;
+        }
+        if (spec[4] >= 0) { // Right operand is a sum or difference of two B quadrants
+            addViews(b, bq[spec[3]], b, bq[spec[4]], bs, spec[5], right, h);
+            rb = right;
+            ro = 0;
+            rs = h;
+        }
+        multiplyRec(la, lo, ls, rb, ro, rs, out, 0, h, h, cutoff, parallel);
+    }
 
-        // Base case: 1x1 matrix
-        if (n == 1) {
-            int[][] result = new int[1][1];
-            result[0][0] = A[0][0] * B[0][0];
-            return result;
-        }
-
-        // Divide matrices into quadrants
-        int half = n / 2;
-        int[][] A11 = new int[half][half];
-        int[][] A12 = new int[half][half];
-        int[][] A21 = new int[half][half];
-        int[][] A22 = new int[half][half];
-        int[][] B11 = new int[half][half];
-        int[][] B12 = new int[half][half];
-        int[][] B21 = new int[half][half];
-        int[][] B22 = new int[half][half];
-
-        // Split matrices
-        splitMatrix(A, A11, A12, A21, A22, half);
-        splitMatrix(B, B11, B12, B21, B22, half);
-
-        // Strassen's seven multiplications
-        int[][] P1 = strassenMultiplyRec(addMatrices(A11, A22), addMatrices(B11, B22));
-        int[][] P2 = strassenMultiplyRec(addMatrices(A21, A22), B11);
-        int[][] P3 = strassenMultiplyRec(A11, subtractMatrices(B12, B22));
-        int[][] P4 = strassenMultiplyRec(A22, subtractMatrices(B21, B11));
-        int[][] P5 = strassenMultiplyRec(addMatrices(A11, A12), B22);
-        int[][] P6 = strassenMultiplyRec(subtractMatrices(A21, A11), addMatrices(B11, B12));
-        int[][] P7 = strassenMultiplyRec(subtractMatrices(A12, A22), addMatrices(B21, B22));
-
-        // Compute quadrants of the result
-        int[][] C11 = addMatrices(subtractMatrices(addMatrices(P1, P4), P5), P7);
-        int[][] C12 = addMatrices(P3, P5);
-        int[][] C21 = addMatrices(P2, P4);
-        int[][] C22 = addMatrices(subtractMatrices(addMatrices(P1, P3), P2), P6);
-
-        // Combine quadrants into result matrix
-        int[][] result = new int[n][n];
-        combineMatrices(result, C11, C12, C21, C22, half);
+    // out = x + sign * y for two h x h views sharing a stride
+    private static void addViews(long[] x, int xo, long[] y, int yo, int stride, int sign, long[] out, int h) {
+        for (int i = 0; i < h; i++) {
+            int xr = xo + i * stride, yr = yo + i * stride, or = i * h;
+            if (sign > 0) {
+                for (int j = 0; j < h; j++) {
+                    out[or + j] = x[xr + j] + y[yr + j];
+                }
+            } else {
+                for (int j = 0; j < h; j++) {
+                    out[or + j] = x[xr + j] - y[yr + j];
+                }
+            }
+        }
+    }
 
-        return result;
+    // Add, subtract or assign a finished product into the C quadrants it contributes to
+    private static void accumulate(int p, long[] product, long[] c, int[] cq, int cs, int h) {
+        for (int[] target : CONTRIBUTIONS[p]) {
+            int mode = target[1];
+            for (int i = 0; i < h; i++) {
+                int cr = cq[target[0]] + i * cs, pr = i * h;
+                if (mode == SET) {
+                    System.arraycopy(product, pr, c, cr, h);
+                } else if (mode == ADD) {
+                    for (int j = 0; j < h; j++) {
+                        c[cr + j] += product[pr + j];
+                    }
+                } else {
+                    for (int j = 0; j < h; j++) {
+                        c[cr + j] -= product[pr + j];
+                    }
+                }
+            }
+        }
     }
 
-    // Add two matrices
-    private static int[][] addMatrices(int[][] A, int[][] B) {
-        int n = A.length;
-        int[][] result = new int[n][n];
+    // Odd size: Strassen on the leading (n-1) x (n-1) block, then fix up the last row and column
+    private static void peel(long[] a, int ao, int as, long[] b, int bo, int bs,
+                             long[] c, int co, int cs, int n, int cutoff, boolean parallel) {
+        int m = n - 1;
+        multiplyRec(a, ao, as, b, bo, bs, c, co, cs, m, cutoff, parallel);
+        // Rank-1 update with A's last column and B's last row
+        int bLast = bo + m * bs;
+        for (int i = 0; i < m; i++) {
+            long aim = a[ao + i * as + m];
+            int cr = co + i * cs;
+            for (int j = 0; j < m; j++) {
+                c[cr + j] += aim * b[bLast + j];
+            }
+        }
+        // Last column of C for every row
         for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                result[i][j] = A[i][j] + B[i][j];
+            int ar = ao + i * as;
+            long sum = 0;
+            for (int k = 0; k < n; k++) {
+                sum += a[ar + k] * b[bo + k * bs + m];
+            }
+            c[co + i * cs + m] = sum;
+        }
+        // Last row of C (without the corner, which is already done)
+        int aLast = ao + m * as, cLast = co + m * cs;
+        for (int j = 0; j < m; j++) {
+            c[cLast + j] = 0;
+        }
+        for (int k = 0; k < n; k++) {
+            long amk = a[aLast + k];
+            int br = bo + k * bs;
+            for (int j = 0; j < m; j++) {
+                c[cLast + j] += amk * b[br + j];
             }
         }
-        return result;
     }
 
-    // Subtract two matrices
-    private static int[][] subtractMatrices(int[][] A, int[][] B) {
-        int n = A.length;
-        int[][] result = new int[n][n];
+    // Classical C = A * B on views: k is blocked for cache reuse and two rows of C share each load of B
+    private static void classicalKernel(long[] a, int ao, int as, long[] b, int bo, int bs,
+                                        long[] c, int co, int cs, int n) {
         for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                result[i][j] = A[i][j] - B[i][j];
+            java.util.Arrays.fill(c, co + i * cs, co + i * cs + n, (long) 0);
+        }
+        for (int kk = 0; kk < n; kk += KERNEL_BLOCK) {
+            int kEnd = Math.min(n, kk + KERNEL_BLOCK);
+            int i = 0;
+            for (; i + 1 < n; i += 2) {
+                int a0 = ao + i * as, a1 = a0 + as;
+                int c0 = co + i * cs, c1 = c0 + cs;
+                for (int k = kk; k < kEnd; k++) {
+                    long x0 = a[a0 + k], x1 = a[a1 + k];
+                    int br = bo + k * bs;
+                    for (int j = 0; j < n; j++) {
+                        long bkj = b[br + j];
+                        c[c0 + j] += x0 * bkj;
+                        c[c1 + j] += x1 * bkj;
+                    }
+                }
+            }
+            for (; i < n; i++) { // Odd leftover row
+                int a0 = ao + i * as, c0 = co + i * cs;
+                for (int k = kk; k < kEnd; k++) {
+                    long x0 = a[a0 + k];
+                    int br = bo + k * bs;
+                    for (int j = 0; j < n; j++) {
+                        c[c0 + j] += x0 * b[br + j];
+                    }
+                }
+            }
+        }
+    }
+
+    // Multiply two n x n row-major double matrices with the default cutoff on the common pool
+    public static double[] multiply(double[] A, double[] B, int n) {
+        return multiply(A, B, n, DEFAULT_CUTOFF, ForkJoinPool.commonPool());
+    }
+
+    // Multiply two n x n row-major double matrices; pool may be null to run on the calling thread
+    public static double[] multiply(double[] A, double[] B, int n, int cutoff, ForkJoinPool pool) {
+        checkArguments(A == null ? -1 : A.length, B == null ? -1 : B.length, n, cutoff);
+        double[] C = new double[n * n];
+        if (n == 0) {
+            return C;
+        }
+        if (pool == null || n < 2 * PARALLEL_CUTOFF) {
+            multiplyRec(A, 0, n, B, 0, n, C, 0, n, n, cutoff, false);
+        } else {
+            pool.invoke(ForkJoinTask.adapt(() -> multiplyRec(A, 0, n, B, 0, n, C, 0, n, n, cutoff, true)));
+        }
+        return C;
+    }
+
+    // C = A * B on strided views; every matrix is (array, offset, row stride)
+    private static void multiplyRec(double[] a, int ao, int as, double[] b, int bo, int bs,
+                                    double[] c, int co, int cs, int n, int cutoff, boolean parallel) {
+        if (n <= cutoff) {
+            classicalKernel(a, ao, as, b, bo, bs, c, co, cs, n);
+            return;
+        }
+        if ((n & 1) != 0) {
+            peel(a, ao, as, b, bo, bs, c, co, cs, n, cutoff, parallel);
+            return;
+        }
+
+        int h = n / 2;
+        int[] aq = {ao, ao + h, ao + h * as, ao + h * as + h};
+        int[] bq = {bo, bo + h, bo + h * bs, bo + h * bs + h};
+        int[] cq = {co, co + h, co + h * cs, co + h * cs + h};
+
+        if (parallel && h >= PARALLEL_CUTOFF) {
+            // Run the seven products as independent tasks, each with its own buffers
+            double[][] products = new double[7][];
+            ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[7];
+            for (int p = 0; p < 7; p++) {
+                final int product = p;
+                products[p] = new double[h * h];
+                tasks[p] = ForkJoinTask.adapt(() -> computeProduct(product, a, aq, as, b, bq, bs, products[product],
+                        new double[h * h], new double[h * h], h, cutoff, true));
+            }
+            ForkJoinTask.invokeAll(tasks);
+            for (int p = 0; p < 7; p++) {
+                accumulate(p, products[p], c, cq, cs, h);
+            }
+        } else {
+            // Sequentially, one product buffer and two operand buffers are reused for all seven
+            double[] product = new double[h * h];
+            double[] left = new double[h * h];
+            double[] right = new double[h * h];
+            for (int p = 0; p < 7; p++) {
+                computeProduct(p, a, aq, as, b, bq, bs, product, left, right, h, cutoff, false);
+                accumulate(p, product, c, cq, cs, h);
             }
         }
-        return result;
     }
 
-    // Split a matrix into four quadrants
-    private static void splitMatrix(int[][] parent, int[][] A11, int[][] A12, int[][] A21, int[][] A22, int half) {
-        for (int i = 0; i < half; i++) {
-            for (int j = 0; j < half; j++) {
-                A11[i][j] = parent[i][j];
-                A12[i][j] = parent[i][j + half];
-                A21[i][j] = parent[i + half][j];
-                A22[i][j] = parent[i + half][j + half];
+    // Compute one of Strassen's seven products into out (stride h)
+    private static void computeProduct(int p, double[] a, int[] aq, int as, double[] b, int[] bq, int bs,
+                                       double[] out, double[] left, double[] right, int h, int cutoff, boolean parallel) {
+        int[] spec = PRODUCTS[p];
+        double[] la = a, rb = b;
+        int lo = aq[spec[0]], ls = as, ro = bq[spec[3]], rs = bs;
+        if (spec[1] >= 0) { // Left operand is a sum or difference of two A quadrants
+            addViews(a, aq[spec[0]], a, aq[spec[1]], as, spec[2], left, h);
+            la = left;
+            lo = 0;
+            ls = h;
+        }
+        if (spec[4] >= 0) { // Right operand is a sum or difference of two B quadrants
+            addViews(b, bq[spec[3]], b, bq[spec[4]], bs, spec[5], right, h);
+            rb = right;
+            ro = 0;
+            rs = h;
+        }
+        multiplyRec(la, lo, ls, rb, ro, rs, out, 0, h, h, cutoff, parallel);
+    }
+
+    // out = x + sign * y for two h x h views sharing a stride
+    private static void addViews(double[] x, int xo, double[] y, int yo, int stride, int sign, double[] out, int h) {
+        for (int i = 0; i < h; i++) {
+            int xr = xo + i * stride, yr = yo + i * stride, or = i * h;
+            if (sign > 0) {
+                for (int j = 0; j < h; j++) {
+                    out[or + j] = x[xr + j] + y[yr + j];
+                }
+            } else {
+                for (int j = 0; j < h; j++) {
+                    out[or + j] = x[xr + j] - y[yr + j];
+                }
             }
         }
     }
 
-    // Combine four quadrants into a single matrix
-    private static void combineMatrices(int[][] result, int[][] C11, int[][] C12, int[][] C21, int[][] C22, int half) {
-        for (int i = 0; i < half; i++) {
-            for (int j = 0; j < half; j++) {
-                result[i][j] = C11[i][j];
-                result[i][j + half] = C12[i][j];
-                result[i + half][j] = C21[i][j];
-                result[i + half][j + half] = C22[i][j];
+    // Add, subtract or assign a finished product into the C quadrants it contributes to
+    private static void accumulate(int p, double[] product, double[] c, int[] cq, int cs, int h) {
+        for (int[] target : CONTRIBUTIONS[p]) {
+            int mode = target[1];
+            for (int i = 0; i < h; i++) {
+                int cr = cq[target[0]] + i * cs, pr = i * h;
+                if (mode == SET) {
+                    System.arraycopy(product, pr, c, cr, h);
+                } else if (mode == ADD) {
+                    for (int j = 0; j < h; j++) {
+                        c[cr + j] += product[pr + j];
+                    }
+                } else {
+                    for (int j = 0; j < h; j++) {
+                        c[cr + j] -= product[pr + j];
+                    }
+                }
             }
         }
     }
 
-    // Pad a matrix to the next power of 2 size
-    private static int[][] padMatrix(int[][] matrix, int newSize) {
-        int n = matrix.length;
-        int[][] padded = new int[newSize][newSize];
+    // Odd size: Strassen on the leading (n-1) x (n-1) block, then fix up the last row and column
+    private static void peel(double[] a, int ao, int as, double[] b, int bo, int bs,
+                             double[] c, int co, int cs, int n, int cutoff, boolean parallel) {
+        int m = n - 1;
+        multiplyRec(a, ao, as, b, bo, bs, c, co, cs, m, cutoff, parallel);
+        // Rank-1 update with A's last column and B's last row
+        int bLast = bo + m * bs;
+        for (int i = 0; i < m; i++) {
+            double aim = a[ao + i * as + m];
+            int cr = co + i * cs;
+            for (int j = 0; j < m; j++) {
+                c[cr + j] += aim * b[bLast + j];
+            }
+        }
+        // Last column of C for every row
         for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                padded[i][j] = matrix[i][j];
+            int ar = ao + i * as;
+            double sum = 0;
+            for (int k = 0; k < n; k++) {
+                sum += a[ar + k] * b[bo + k * bs + m];
+            }
+            c[co + i * cs + m] = sum;
+        }
+        // Last row of C (without the corner, which is already done)
+        int aLast = ao + m * as, cLast = co + m * cs;
+        for (int j = 0; j < m; j++) {
+            c[cLast + j] = 0;
+        }
+        for (int k = 0; k < n; k++) {
+            double amk = a[aLast + k];
+            int br = bo + k * bs;
+            for (int j = 0; j < m; j++) {
+                c[cLast + j] += amk * b[br + j];
             }
         }
-        // Remaining elements are already 0 due to array initialization
-        return padded;
     }
 
-    // Trim a matrix to the original size
-    private static int[][] trimMatrix(int[][] matrix, int originalSize) {
-        int[][] trimmed = new int[originalSize][originalSize];
-        for (int i = 0; i < originalSize; i++) {
-            for (int j = 0; j < originalSize; j++) {
-                trimmed[i][j] = matrix[i][j];
+    // Classical C = A * B on views: k is blocked for cache reuse and two rows of C share each load of B
+    private static void classicalKernel(double[] a, int ao, int as, double[] b, int bo, int bs,
+                                        double[] c, int co, int cs, int n) {
+        for (int i = 0; i < n; i++) {
+            java.util.Arrays.fill(c, co + i * cs, co + i * cs + n, (double) 0);
+        }
+        for (int kk = 0; kk < n; kk += KERNEL_BLOCK) {
+            int kEnd = Math.min(n, kk + KERNEL_BLOCK);
+            int i = 0;
+            for (; i + 1 < n; i += 2) {
+                int a0 = ao + i * as, a1 = a0 + as;
+                int c0 = co + i * cs, c1 = c0 + cs;
+                for (int k = kk; k < kEnd; k++) {
+                    double x0 = a[a0 + k], x1 = a[a1 + k];
+                    int br = bo + k * bs;
+                    for (int j = 0; j < n; j++) {
+                        double bkj = b[br + j];
+                        c[c0 + j] += x0 * bkj;
+                        c[c1 + j] += x1 * bkj;
+                    }
+                }
+            }
+            for (; i < n; i++) { // Odd leftover row
+                int a0 = ao + i * as, c0 = co + i * cs;
+                for (int k = kk; k < kEnd; k++) {
+                    double x0 = a[a0 + k];
+                    int br = bo + k * bs;
+                    for (int j = 0; j < n; j++) {
+                        c[c0 + j] += x0 * b[br + j];
+                    }
+                }
             }
         }
-        return trimmed;
     }
 
-    // Find the next power of 2 for a given number
-    private static int nextPowerOfTwo(int n) {
-        int power = 1;
-        while (power < n) {
-            power *= 2;
+    // Validate sizes shared by the long and double entry points
+    private static void checkArguments(int aLength, int bLength, int n, int cutoff) {
+        if (n < 0 || aLength != n * n || bLength != n * n) {
+            throw new IllegalArgumentException("Matrices must be n x n row-major arrays");
+        }
+        if (cutoff < 1) {
+            throw new IllegalArgumentException("Cutoff must be at least 1");
         }
-        return power;
     }
 
     // Print a matrix
@@ -190,5 +508,29 @@ public class StrassenMatrixMultiplication {
         // 30  24  18
         // 84  69  54
         // 138 114 90
+
+        // Compare against the classical kernel on larger, non-power-of-two sizes
+        System.out.println();
+        java.util.Random random = new java.util.Random(1);
+        for (int n : new int[]{255, 513, 1000}) {
+            double[] a = new double[n * n];
+            double[] b = new double[n * n];
+            for (int i = 0; i < n * n; i++) {
+                a[i] = random.nextDouble();
+                b[i] = random.nextDouble();
+            }
+            long start = System.nanoTime();
+            double[] classical = multiply(a, b, n, Integer.MAX_VALUE, null);
+            long classicalNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            double[] strassen = multiply(a, b, n);
+            long strassenNanos = System.nanoTime() - start;
+            double maxError = 0;
+            for (int i = 0; i < n * n; i++) {
+                maxError = Math.max(maxError, Math.abs(classical[i] - strassen[i]));
+            }
+            System.out.printf("n=%d: classical %.1f ms, Strassen %.1f ms, max abs difference %.2e%n",
+                    n, classicalNanos / 1e6, strassenNanos / 1e6, maxError);
+        }
     }
 }
@@ -1,68 +1,310 @@
 package Algorithms.GraphAlgorithms;
 
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * A class implementing the Bellman-Ford Algorithm in Java.
  * The Bellman-Ford Algorithm finds the shortest paths from a source vertex to all other
  * vertices in a weighted directed graph, handling negative weight edges. It also detects
  * negative weight cycles. This implementation includes a graph representation and examples.
+ * Edges are stored as three parallel int arrays (source, destination, weight). Three modes are offered:
+ * the classic pass-based version that stops as soon as a pass changes nothing, SPFA (a FIFO
+ * of vertices whose distance changed), and a parallel version where each pass is split into
+ * chunks of destination vertices. A negative cycle is returned as its list of vertices.
  */
 public class BellmanFordAlgorithm {
-    // Class to represent an edge in the graph
-    private static class Edge {
-        int source, dest, weight;
+    // Distance reported for unreachable vertices
+    public static final long INFINITY = Long.MAX_VALUE;
+    // Parent reported for the source and for unreachable vertices
+    public static final int NO_PARENT = -1;
+    // Destination vertices handled by one parallel task
+    private static final int CHUNK = 4096;
+
+    // Number of vertices and the edges as a structure of arrays
+    private final int vertices;
+    private int[] src = new int[16];
+    private int[] dst = new int[16];
+    private int[] w = new int[16];
+    private int edgeCount;
+
+    // Result of a run: distances and parents, or the vertices of a negative cycle
+    public static class Result {
+        public final long[] distance;
+        public final int[] parent;
+        public final int[] negativeCycle; // Empty when no negative cycle is reachable
+        public final int passes;          // Full passes (or SPFA dequeues) until convergence
+
+        Result(long[] distance, int[] parent, int[] negativeCycle, int passes) {
+            this.distance = distance;
+            this.parent = parent;
+            this.negativeCycle = negativeCycle;
+            this.passes = passes;
+        }
 
-        Edge(int source, int dest, int weight) {
-            this.source = source;
-            this.dest = dest;
-            this.weight = weight;
+        public boolean hasNegativeCycle() {
+            return negativeCycle.length > 0;
         }
     }
 
-    // Method to run the Bellman-Ford algorithm
-    public void bellmanFord(int vertices, Edge[] edges, int source) {
-        if (edges == null || vertices <= 0) {
-            throw new IllegalArgumentException("Invalid vertices or edges array");
+    // Constructor to initialize an empty graph
+    public BellmanFordAlgorithm(int vertices) {
+        if (vertices <= 0) {
+            throw new IllegalArgumentException("Number of vertices must be positive");
         }
+        this.vertices = vertices;
+    }
 
-        // Initialize distances from source to all vertices as infinity
-        int[] distance = new int[vertices];
-        for (int i = 0; i < vertices; i++) {
-            distance[i] = Integer.MAX_VALUE;
+    // Method to add a directed edge
+    public void addEdge(int source, int dest, int weight) {
+        if (source < 0 || source >= vertices || dest < 0 || dest >= vertices) {
+            throw new IllegalArgumentException("Vertex index out of bounds");
         }
-        distance[source] = 0;
+        if (edgeCount == src.length) {
+            src = java.util.Arrays.copyOf(src, edgeCount * 2);
+            dst = java.util.Arrays.copyOf(dst, edgeCount * 2);
+            w = java.util.Arrays.copyOf(w, edgeCount * 2);
+        }
+        src[edgeCount] = source;
+        dst[edgeCount] = dest;
+        w[edgeCount] = weight;
+        edgeCount++;
+    }
+
+    // Classic Bellman-Ford: up to |V| - 1 passes over all edges, stopping early once nothing changes
+    public Result shortestPaths(int source) {
+        checkSource(source);
+        long[] distance = initialDistances(source);
+        int[] parent = initialParents();
+
+        int lastRelaxed = NO_PARENT;
+        int pass = 0;
+        // One extra pass: any change in pass |V| proves a negative cycle
+        while (pass < vertices) {
+            pass++;
+            lastRelaxed = NO_PARENT;
+            for (int e = 0; e < edgeCount; e++) {
+                long du = distance[src[e]];
+                if (du != INFINITY && du + w[e] < distance[dst[e]]) {
+                    distance[dst[e]] = du + w[e];
+                    parent[dst[e]] = src[e];
+                    lastRelaxed = dst[e];
+                }
+            }
+            if (lastRelaxed == NO_PARENT) {
+                return new Result(distance, parent, new int[0], pass); // Converged early
+            }
+        }
+        return new Result(distance, parent, cycleThrough(parent, lastRelaxed), pass);
+    }
+
+    // SPFA: only vertices whose distance just dropped are re-scanned, in FIFO order
+    public Result spfa(int source) {
+        checkSource(source);
+        long[] distance = initialDistances(source);
+        int[] parent = initialParents();
+        int[][] adjacency = outgoingCsr(); // {offsets, edge ids}
+        int[] offsets = adjacency[0], edgeIds = adjacency[1];
+
+        int[] queue = new int[vertices]; // Ring buffer; each vertex is queued at most once at a time
+        boolean[] inQueue = new boolean[vertices];
+        int[] pathEdges = new int[vertices]; // Edges on the current best path to each vertex
+        int head = 0, size = 0, dequeues = 0;
+        long relaxations = 0, nextCheck = 0; // Parent graph scans cost O(V), so at most one per V relaxations
+        queue[0] = source;
+        inQueue[source] = true;
+        size = 1;
+        while (size > 0) {
+            int u = queue[head];
+            head = head + 1 == vertices ? 0 : head + 1;
+            size--;
+            inQueue[u] = false;
+            dequeues++;
+            long du = distance[u];
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int e = edgeIds[i];
+                int v = dst[e];
+                if (du + w[e] < distance[v]) {
+                    distance[v] = du + w[e];
+                    parent[v] = u;
+                    pathEdges[v] = pathEdges[u] + 1;
+                    relaxations++;
+                    if (pathEdges[v] >= vertices && relaxations >= nextCheck) {
+                        // A simple path has at most |V| - 1 edges, so this walk repeats a vertex
+                        int[] cycle = findParentCycle(parent);
+                        if (cycle.length > 0) {
+                            return new Result(distance, parent, cycle, dequeues);
+                        }
+                        nextCheck = relaxations + vertices;
+                    }
+                    if (!inQueue[v]) {
+                        inQueue[v] = true;
+                        queue[(head + size) % vertices] = v;
+                        size++;
+                    }
+                }
+            }
+        }
+        return new Result(distance, parent, new int[0], dequeues);
+    }
+
+    // Parallel Bellman-Ford: every pass relaxes all edges from the previous pass's distances
+    // (Jacobi style). Tasks own disjoint ranges of destination vertices, so no atomics are needed
+    public Result parallelShortestPaths(int source, ForkJoinPool pool) {
+        checkSource(source);
+        if (pool == null) {
+            throw new IllegalArgumentException("ForkJoinPool must not be null");
+        }
+        int[][] incoming = incomingCsr(); // {offsets, edge ids} grouped by destination
+        long[] current = initialDistances(source);
+        long[] next = current.clone();
+        int[] parent = initialParents();
+        int chunks = (vertices + CHUNK - 1) / CHUNK;
+        boolean[] chunkChanged = new boolean[chunks];
+
+        int pass = 0;
+        while (pass < vertices) {
+            pass++;
+            long[] from = current, to = next;
+            ParallelChunks.run(pool, chunks, chunk -> chunkChanged[chunk] = relaxChunk(incoming, from, to, parent, chunk));
+            boolean changed = false;
+            for (boolean c : chunkChanged) {
+                changed |= c;
+            }
+            long[] swap = current;
+            current = next;
+            next = swap;
+            if (!changed) {
+                return new Result(current, parent, new int[0], pass);
+            }
+        }
+        // Still changing after |V| passes: extract the cycle with the sequential algorithm
+        return shortestPaths(source);
+    }
 
-        // Relax all edges |V| - 1 times
-        for (int i = 1; i < vertices; i++) {
-            for (Edge edge : edges) {
-                int u = edge.source;
-                int v = edge.dest;
-                int weight = edge.weight;
-                if (distance[u] != Integer.MAX_VALUE && distance[u] + weight < distance[v]) {
-                    distance[v] = distance[u] + weight;
+    // Relaxes the in-edges of one chunk of destinations for a parallel pass; true if any distance dropped
+    private boolean relaxChunk(int[][] incoming, long[] current, long[] next, int[] parent, int chunk) {
+        int[] offsets = incoming[0], edgeIds = incoming[1];
+        boolean changed = false;
+        int end = Math.min(vertices, (chunk + 1) * CHUNK);
+        for (int v = chunk * CHUNK; v < end; v++) {
+            long best = current[v];
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                int e = edgeIds[i];
+                long du = current[src[e]];
+                if (du != INFINITY && du + w[e] < best) {
+                    best = du + w[e];
+                    parent[v] = src[e];
                 }
             }
+            changed |= best != current[v];
+            next[v] = best;
+        }
+        return changed;
+    }
+
+    // Walk back |V| parents from a vertex relaxed in the last pass to land on the cycle, then collect it
+    private int[] cycleThrough(int[] parent, int relaxed) {
+        int v = relaxed;
+        for (int i = 0; i < vertices; i++) {
+            v = parent[v];
         }
+        return collectCycle(parent, v);
+    }
 
-        // Check for negative weight cycles
-        for (Edge edge : edges) {
-            int u = edge.source;
-            int v = edge.dest;
-            int weight = edge.weight;
-            if (distance[u] != Integer.MAX_VALUE && distance[u] + weight < distance[v]) {
-                System.out.println("Graph contains a negative weight cycle!");
-                return;
+    // Find any cycle in the parent pointer graph (such a cycle always has negative weight)
+    private int[] findParentCycle(int[] parent) {
+        byte[] state = new byte[vertices]; // 0 = unseen, 1 = on current walk, 2 = done
+        for (int start = 0; start < vertices; start++) {
+            int v = start;
+            while (v != NO_PARENT && state[v] == 0) {
+                state[v] = 1;
+                v = parent[v];
+            }
+            if (v != NO_PARENT && state[v] == 1) {
+                return collectCycle(parent, v);
             }
+            for (int u = start; u != NO_PARENT && state[u] == 1; u = parent[u]) {
+                state[u] = 2;
+            }
+        }
+        return new int[0];
+    }
+
+    // Vertices of the parent cycle through v, in edge direction
+    private static int[] collectCycle(int[] parent, int v) {
+        int length = 1;
+        for (int u = parent[v]; u != v; u = parent[u]) {
+            length++;
+        }
+        int[] cycle = new int[length];
+        int u = v;
+        for (int i = length - 1; i >= 0; i--) {
+            cycle[i] = u;
+            u = parent[u];
+        }
+        return cycle;
+    }
+
+    // Edge ids grouped by source vertex (counting sort)
+    private int[][] outgoingCsr() {
+        return groupEdges(src);
+    }
+
+    // Edge ids grouped by destination vertex (counting sort)
+    private int[][] incomingCsr() {
+        return groupEdges(dst);
+    }
+
+    private int[][] groupEdges(int[] key) {
+        int[] offsets = new int[vertices + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            offsets[key[e] + 1]++;
         }
+        for (int v = 0; v < vertices; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] next = java.util.Arrays.copyOf(offsets, vertices);
+        int[] edgeIds = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            edgeIds[next[key[e]]++] = e;
+        }
+        return new int[][]{offsets, edgeIds};
+    }
+
+    private long[] initialDistances(int source) {
+        long[] distance = new long[vertices];
+        java.util.Arrays.fill(distance, INFINITY);
+        distance[source] = 0;
+        return distance;
+    }
+
+    private int[] initialParents() {
+        int[] parent = new int[vertices];
+        java.util.Arrays.fill(parent, NO_PARENT);
+        return parent;
+    }
 
-        // Print the shortest distances
-        printDistances(distance, source);
+    private void checkSource(int source) {
+        if (source < 0 || source >= vertices) {
+            throw new IllegalArgumentException("Source vertex out of bounds");
+        }
+    }
+
+    // Method to run the Bellman-Ford algorithm and print the result
+    public void bellmanFord(int source) {
+        Result result = shortestPaths(source);
+        if (result.hasNegativeCycle()) {
+            System.out.println("Graph contains a negative weight cycle: " + java.util.Arrays.toString(result.negativeCycle));
+            return;
+        }
+        printDistances(result.distance, source);
     }
 
     // Method to print the shortest distances from the source
-    private void printDistances(int[] distance, int source) {
+    private void printDistances(long[] distance, int source) {
         System.out.println("Shortest distances from vertex " + source + ":");
         for (int i = 0; i < distance.length; i++) {
-            if (distance[i] == Integer.MAX_VALUE) {
+            if (distance[i] == INFINITY) {
                 System.out.println("Vertex " + i + ": Infinity");
             } else {
                 System.out.println("Vertex " + i + ": " + distance[i]);
@@ -72,39 +314,57 @@ public class BellmanFordAlgorithm {
 
     // Main method to demonstrate the Bellman-Ford algorithm
     public static void main(String[] args) {
-        BellmanFordAlgorithm bf = new BellmanFordAlgorithm();
-
         // Test Case 1: Graph without negative cycle
-        int vertices1 = 5;
-        Edge[] edges1 = {
-                new Edge(0, 1, -1),
-                new Edge(0, 2, 4),
-                new Edge(1, 2, 3),
-                new Edge(1, 3, 2),
-                new Edge(1, 4, 2),
-                new Edge(3, 2, 5),
-                new Edge(3, 1, 1),
-                new Edge(4, 3, -3)
-        };
+        BellmanFordAlgorithm bf1 = new BellmanFordAlgorithm(5);
+        bf1.addEdge(0, 1, -1);
+        bf1.addEdge(0, 2, 4);
+        bf1.addEdge(1, 2, 3);
+        bf1.addEdge(1, 3, 2);
+        bf1.addEdge(1, 4, 2);
+        bf1.addEdge(3, 2, 5);
+        bf1.addEdge(3, 1, 1);
+        bf1.addEdge(4, 3, -3);
         System.out.println("Test Case 1: Graph without negative cycle");
-        bf.bellmanFord(vertices1, edges1, 0);
+        bf1.bellmanFord(0);
+        System.out.println("Passes until convergence: " + bf1.shortestPaths(0).passes);
         System.out.println();
 
         // Test Case 2: Graph with negative cycle
-        int vertices2 = 4;
-        Edge[] edges2 = {
-                new Edge(0, 1, 1),
-                new Edge(1, 2, -1),
-                new Edge(2, 3, -1),
-                new Edge(3, 1, -1)
-        };
+        BellmanFordAlgorithm bf2 = new BellmanFordAlgorithm(4);
+        bf2.addEdge(0, 1, 1);
+        bf2.addEdge(1, 2, -1);
+        bf2.addEdge(2, 3, -1);
+        bf2.addEdge(3, 1, -1);
         System.out.println("Test Case 2: Graph with negative cycle");
-        bf.bellmanFord(vertices2, edges2, 0);
+        bf2.bellmanFord(0);
+        System.out.println("SPFA cycle: " + java.util.Arrays.toString(bf2.spfa(0).negativeCycle));
+        System.out.println("Parallel cycle: " + java.util.Arrays.toString(
+                bf2.parallelShortestPaths(0, ForkJoinPool.commonPool()).negativeCycle));
+        System.out.println();
+
+        // Larger random graph: compare the three modes
+        int n = 200_000;
+        BellmanFordAlgorithm large = new BellmanFordAlgorithm(n);
+        java.util.Random random = new java.util.Random(8);
+        for (int i = 0; i < n * 5; i++) {
+            large.addEdge(random.nextInt(n), random.nextInt(n), random.nextInt(1000));
+        }
+        long start = System.nanoTime();
+        Result classic = large.shortestPaths(0);
+        System.out.printf("Early-exit Bellman-Ford: %.1f ms (%d passes)%n", (System.nanoTime() - start) / 1e6, classic.passes);
+        start = System.nanoTime();
+        Result spfa = large.spfa(0);
+        System.out.printf("SPFA: %.1f ms, same distances: %b%n", (System.nanoTime() - start) / 1e6,
+                java.util.Arrays.equals(classic.distance, spfa.distance));
+        start = System.nanoTime();
+        Result parallel = large.parallelShortestPaths(0, ForkJoinPool.commonPool());
+        System.out.printf("Parallel: %.1f ms (%d passes), same distances: %b%n", (System.nanoTime() - start) / 1e6,
+                parallel.passes, java.util.Arrays.equals(classic.distance, parallel.distance));
         System.out.println();
 
         // Error case: Invalid input
         try {
-            bf.bellmanFord(0, new Edge[]{}, 0);
+            new BellmanFordAlgorithm(0);
         } catch (Exception e) {
             System.out.println("Error Case: " + e.getMessage());
         }
@@ -1,24 +1,60 @@
 package Algorithms.GraphAlgorithms;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
 /**
  * A class implementing Breadth-First Search (BFS) in Java.
  * BFS is a graph traversal algorithm that explores all vertices at the current depth
  * before moving to vertices at the next depth. This implementation uses an adjacency
  * list representation for the graph and includes a method to perform BFS from a source vertex.
+ * Edges are packed into CSR arrays for both directions. search() is a parallel,
+ * direction-optimizing BFS (Beamer et al.). Small frontiers are expanded top-down from an
+ * int[] queue. Large frontiers are expanded bottom-up: every unvisited vertex scans its
+ * in-edges for a parent in the frontier bitmap and stops at the first hit. Visited sets are
+ * bitmaps of longs, and every level is processed in parallel chunks.
  */
 public class BreadthFirstSearch {
-    // Class to represent the graph using an adjacency list
-    private int vertices; // Number of vertices
-    private java.util.LinkedList<Integer>[] adjList; // Adjacency list
+    // Depth and parent reported for unreachable vertices (the source's parent is itself)
+    public static final int UNREACHED = -1;
+    // Switch to bottom-up when the frontier's edges exceed unexplored edges / ALPHA
+    private static final int ALPHA = 14;
+    // Switch back to top-down when the frontier shrinks below vertices / BETA
+    private static final int BETA = 24;
+    // Vertices per parallel chunk (a multiple of 64 so bottom-up chunks own whole bitmap words)
+    private static final int CHUNK = 4096;
+
+    // Number of vertices and the edges in insertion order
+    private final int vertices;
+    private int[] edgeFrom = new int[16];
+    private int[] edgeTo = new int[16];
+    private int edgeCount;
+
+    // CSR adjacency (out-edges) and reverse adjacency (in-edges), rebuilt after edges are added
+    private int[] outOffsets, outTargets, inOffsets, inSources;
+    private boolean csrStale = true;
+
+    // Result of search(): BFS depth and BFS-tree parent of every vertex
+    public static class Result {
+        public final int[] depth;
+        public final int[] parent;
+        public final int topDownLevels;
+        public final int bottomUpLevels;
+
+        Result(int[] depth, int[] parent, int topDownLevels, int bottomUpLevels) {
+            this.depth = depth;
+            this.parent = parent;
+            this.topDownLevels = topDownLevels;
+            this.bottomUpLevels = bottomUpLevels;
+        }
+    }
 
     // Constructor to initialize the graph
-    @SuppressWarnings("unchecked")
     public BreadthFirstSearch(int vertices) {
-        this.vertices = vertices;
-        adjList = new java.util.LinkedList[vertices];
-        for (int i = 0; i < vertices; i++) {
-            adjList[i] = new java.util.LinkedList<>();
+        if (vertices < 0) {
+            throw new IllegalArgumentException("Number of vertices must be non-negative");
         }
+        this.vertices = vertices;
     }
 
     // Method to add an edge to the graph
@@ -26,41 +62,338 @@ public class BreadthFirstSearch {
         if (v < 0 || v >= vertices || w < 0 || w >= vertices) {
             throw new IllegalArgumentException("Vertex index out of bounds");
         }
-        adjList[v].add(w); // Add w to v's adjacency list
+        if (edgeCount == edgeFrom.length) {
+            edgeFrom = java.util.Arrays.copyOf(edgeFrom, edgeCount * 2);
+            edgeTo = java.util.Arrays.copyOf(edgeTo, edgeCount * 2);
+        }
+        edgeFrom[edgeCount] = v;
+        edgeTo[edgeCount] = w; // Add w to v's adjacency list
+        edgeCount++;
+        csrStale = true;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    public int outDegree(int v) {
+        ensureCsr();
+        return outOffsets[v + 1] - outOffsets[v];
+    }
+
+    // Build both CSR directions with a stable counting sort (keeps insertion order per vertex)
+    private void ensureCsr() {
+        if (!csrStale) {
+            return;
+        }
+        int[][] out = groupBy(edgeFrom, edgeTo);
+        int[][] in = groupBy(edgeTo, edgeFrom);
+        outOffsets = out[0];
+        outTargets = out[1];
+        inOffsets = in[0];
+        inSources = in[1];
+        csrStale = false;
+    }
+
+    private int[][] groupBy(int[] key, int[] value) {
+        int[] offsets = new int[vertices + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            offsets[key[e] + 1]++;
+        }
+        for (int v = 0; v < vertices; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] next = java.util.Arrays.copyOf(offsets, vertices);
+        int[] values = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            values[next[key[e]]++] = value[e];
+        }
+        return new int[][]{offsets, values};
     }
 
-    // Method to perform Breadth-First Search from a source vertex
+    // Method to perform Breadth-First Search from a source vertex and print the visit order
     public void bfs(int source) {
         if (source < 0 || source >= vertices) {
             throw new IllegalArgumentException("Source vertex out of bounds");
         }
+        ensureCsr();
 
         // Mark all vertices as not visited
         boolean[] visited = new boolean[vertices];
-        // Create a queue for BFS
-        java.util.LinkedList<Integer> queue = new java.util.LinkedList<>();
+        // Array-backed FIFO queue: every vertex is enqueued at most once
+        int[] queue = new int[vertices];
+        int head = 0, tail = 0;
 
         // Mark the source as visited and enqueue it
         visited[source] = true;
-        queue.add(source);
+        queue[tail++] = source;
 
         System.out.print("BFS starting from vertex " + source + ": ");
-        while (!queue.isEmpty()) {
+        while (head < tail) {
             // Dequeue a vertex and print it
-            int vertex = queue.poll();
+            int vertex = queue[head++];
             System.out.print(vertex + " ");
 
             // Get all adjacent vertices of the dequeued vertex
-            for (int next : adjList[vertex]) {
+            for (int e = outOffsets[vertex]; e < outOffsets[vertex + 1]; e++) {
+                int next = outTargets[e];
                 if (!visited[next]) {
                     visited[next] = true;
-                    queue.add(next);
+                    queue[tail++] = next;
                 }
             }
         }
         System.out.println();
     }
 
+    // Parallel direction-optimizing BFS returning depth and parent arrays
+    public Result search(int source, ForkJoinPool pool) {
+        if (source < 0 || source >= vertices) {
+            throw new IllegalArgumentException("Source vertex out of bounds");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("ForkJoinPool must not be null");
+        }
+        ensureCsr();
+        int[] depth = new int[vertices];
+        int[] parent = new int[vertices];
+        java.util.Arrays.fill(depth, UNREACHED);
+        java.util.Arrays.fill(parent, UNREACHED);
+        Level level = new Level(depth, parent);
+
+        depth[source] = 0;
+        parent[source] = source;
+        level.visited.set(source >>> 6, 1L << source);
+        int[] queue = {source};
+        int queueSize = 1;
+        long[] frontierBits = null;
+        long frontierCount = 1;
+        long frontierEdges = outOffsets[source + 1] - outOffsets[source];
+        long unexploredEdges = edgeCount - frontierEdges;
+        boolean topDown = true;
+        int topDownLevels = 0, bottomUpLevels = 0;
+
+        for (int d = 0; frontierCount > 0; d++) {
+            if (topDown && frontierEdges > unexploredEdges / ALPHA) {
+                frontierBits = toBitmap(queue, queueSize); // Frontier is heavy: go bottom-up
+                topDown = false;
+            } else if (!topDown && frontierCount < vertices / BETA) {
+                queue = toQueue(frontierBits);             // Frontier is light again: go top-down
+                queueSize = queue.length;
+                topDown = true;
+            }
+
+            if (topDown) {
+                topDownLevels++;
+                level.topDown(pool, queue, queueSize, d + 1);
+                queue = level.gatherQueue();
+                queueSize = queue.length;
+            } else {
+                bottomUpLevels++;
+                frontierBits = level.bottomUp(pool, frontierBits, d + 1);
+            }
+            frontierCount = level.discovered;
+            frontierEdges = level.discoveredEdges;
+            unexploredEdges -= frontierEdges;
+        }
+        return new Result(depth, parent, topDownLevels, bottomUpLevels);
+    }
+
+    // Per-search state shared by the parallel level tasks
+    private class Level {
+        final int[] depth, parent;
+        final AtomicLongArray visited = new AtomicLongArray((vertices + 63) >>> 6);
+        final int chunks = Math.max(1, (vertices + CHUNK - 1) / CHUNK);
+        final int[][] chunkOutput = new int[chunks][];
+        final int[] chunkOutputSize = new int[chunks];
+        final long[] chunkEdges = new long[chunks];
+        long discovered, discoveredEdges;
+
+        Level(int[] depth, int[] parent) {
+            this.depth = depth;
+            this.parent = parent;
+            for (int c = 0; c < chunks; c++) {
+                chunkOutput[c] = new int[64];
+            }
+        }
+
+        // Top-down: frontier vertices claim unvisited out-neighbours with a CAS on the visited bitmap
+        void topDown(ForkJoinPool pool, int[] queue, int size, int nextDepth) {
+            int used = Math.max(1, (size + CHUNK - 1) / CHUNK);
+            java.util.Arrays.fill(chunkOutputSize, 0);
+            ParallelChunks.run(pool, used, chunk -> {
+                int count = 0;
+                int[] out = chunkOutput[chunk];
+                int end = Math.min(size, (chunk + 1) * CHUNK);
+                for (int i = chunk * CHUNK; i < end; i++) {
+                    int u = queue[i];
+                    for (int e = outOffsets[u]; e < outOffsets[u + 1]; e++) {
+                        int v = outTargets[e];
+                        if (claim(v)) {
+                            depth[v] = nextDepth;
+                            parent[v] = u;
+                            if (count == out.length) {
+                                out = java.util.Arrays.copyOf(out, count * 2);
+                            }
+                            out[count++] = v;
+                        }
+                    }
+                }
+                chunkOutput[chunk] = out;
+                chunkOutputSize[chunk] = count;
+            });
+        }
+
+        // Concatenate the per-chunk discoveries into the next frontier queue
+        int[] gatherQueue() {
+            int total = 0;
+            for (int size : chunkOutputSize) {
+                total += size;
+            }
+            int[] queue = new int[total];
+            long edges = 0;
+            int position = 0;
+            for (int c = 0; c < chunks; c++) {
+                for (int i = 0; i < chunkOutputSize[c]; i++) {
+                    int v = chunkOutput[c][i];
+                    queue[position++] = v;
+                    edges += outOffsets[v + 1] - outOffsets[v];
+                }
+            }
+            discovered = total;
+            discoveredEdges = edges;
+            return queue;
+        }
+
+        // Bottom-up: each unvisited vertex looks for any in-neighbour in the frontier bitmap
+        long[] bottomUp(ForkJoinPool pool, long[] frontier, int nextDepth) {
+            long[] next = new long[frontier.length];
+            ParallelChunks.run(pool, chunks, chunk -> {
+                int count = 0;
+                long edges = 0;
+                int end = Math.min(vertices, (chunk + 1) * CHUNK);
+                for (int v = chunk * CHUNK; v < end; v++) {
+                    if ((visited.get(v >>> 6) & (1L << v)) != 0) {
+                        continue;
+                    }
+                    for (int e = inOffsets[v]; e < inOffsets[v + 1]; e++) {
+                        int u = inSources[e];
+                        if ((frontier[u >>> 6] & (1L << u)) != 0) {
+                            depth[v] = nextDepth;
+                            parent[v] = u;
+                            next[v >>> 6] |= 1L << v; // This chunk owns the whole word
+                            count++;
+                            edges += outOffsets[v + 1] - outOffsets[v];
+                            break; // One parent is enough
+                        }
+                    }
+                }
+                // Publish this chunk's discoveries after the scan so they cannot act as parents this level
+                for (int word = (chunk * CHUNK) >>> 6; word < ((end + 63) >>> 6); word++) {
+                    if (next[word] != 0) {
+                        visited.set(word, visited.get(word) | next[word]);
+                    }
+                }
+                chunkOutputSize[chunk] = count;
+                chunkEdges[chunk] = edges;
+            });
+            discovered = 0;
+            discoveredEdges = 0;
+            for (int c = 0; c < chunks; c++) {
+                discovered += chunkOutputSize[c];
+                discoveredEdges += chunkEdges[c];
+            }
+            return next;
+        }
+
+        // Atomically set v's visited bit; true if this thread set it
+        private boolean claim(int v) {
+            int word = v >>> 6;
+            long bit = 1L << v;
+            long current = visited.get(word);
+            while ((current & bit) == 0) {
+                if (visited.compareAndSet(word, current, current | bit)) {
+                    return true;
+                }
+                current = visited.get(word);
+            }
+            return false;
+        }
+    }
+
+    private long[] toBitmap(int[] queue, int size) {
+        long[] bits = new long[(vertices + 63) >>> 6];
+        for (int i = 0; i < size; i++) {
+            bits[queue[i] >>> 6] |= 1L << queue[i];
+        }
+        return bits;
+    }
+
+    private int[] toQueue(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        int[] queue = new int[count];
+        int position = 0;
+        for (int w = 0; w < bits.length; w++) {
+            for (long word = bits[w]; word != 0; word &= word - 1) {
+                queue[position++] = (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+        }
+        return queue;
+    }
+
+    // Plain single-threaded queue BFS depths, the benchmark baseline
+    private int[] sequentialDepths(int source) {
+        ensureCsr();
+        int[] depth = new int[vertices];
+        java.util.Arrays.fill(depth, UNREACHED);
+        int[] queue = new int[vertices];
+        int head = 0, tail = 0;
+        depth[source] = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int u = queue[head++];
+            for (int e = outOffsets[u]; e < outOffsets[u + 1]; e++) {
+                int v = outTargets[e];
+                if (depth[v] == UNREACHED) {
+                    depth[v] = depth[u] + 1;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return depth;
+    }
+
+    // Build an undirected R-MAT graph with 2^scale vertices and edgeFactor * 2^scale edges
+    public static BreadthFirstSearch rmat(int scale, int edgeFactor, long seed) {
+        int n = 1 << scale;
+        BreadthFirstSearch graph = new BreadthFirstSearch(n);
+        java.util.Random random = new java.util.Random(seed);
+        long edges = (long) edgeFactor * n;
+        for (long e = 0; e < edges; e++) {
+            int u = 0, v = 0;
+            // Pick one quadrant per bit with probabilities a = 0.57, b = 0.19, c = 0.19, d = 0.05
+            for (int bit = 0; bit < scale; bit++) {
+                double r = random.nextDouble();
+                if (r >= 0.57) {
+                    if (r < 0.76) {
+                        v |= 1 << bit;
+                    } else if (r < 0.95) {
+                        u |= 1 << bit;
+                    } else {
+                        u |= 1 << bit;
+                        v |= 1 << bit;
+                    }
+                }
+            }
+            graph.addEdge(u, v);
+            graph.addEdge(v, u);
+        }
+        return graph;
+    }
+
     // Main method to demonstrate BFS
     public static void main(String[] args) {
         // Test Case 1: Simple graph
@@ -84,6 +417,31 @@ public class BreadthFirstSearch {
         graph2.bfs(0);
         System.out.println();
 
+        // Direction-optimizing search on the same graph
+        Result result = graph1.search(2, ForkJoinPool.commonPool());
+        System.out.println("Depths from 2: " + java.util.Arrays.toString(result.depth));
+        System.out.println("Parents from 2: " + java.util.Arrays.toString(result.parent));
+        System.out.println();
+
+        // Benchmark on a synthetic R-MAT graph against a plain queue-based BFS
+        BreadthFirstSearch rmat = rmat(20, 16, 1);
+        int source = 0;
+        while (rmat.outDegree(source) == 0) {
+            source++; // Start from a vertex that has edges
+        }
+        for (int run = 0; run < 3; run++) {
+            long start = System.nanoTime();
+            Result fast = rmat.search(source, ForkJoinPool.commonPool());
+            long fastNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            int[] expected = rmat.sequentialDepths(source);
+            long slowNanos = System.nanoTime() - start;
+            System.out.printf("R-MAT scale 20 (%d edges): direction-optimizing %.1f ms (%d top-down, %d bottom-up levels), "
+                            + "queue BFS %.1f ms, same depths: %b%n", rmat.edgeCount(), fastNanos / 1e6, fast.topDownLevels,
+                    fast.bottomUpLevels, slowNanos / 1e6, java.util.Arrays.equals(fast.depth, expected));
+        }
+        System.out.println();
+
         // Error case: Invalid source vertex
         try {
             graph2.bfs(5);
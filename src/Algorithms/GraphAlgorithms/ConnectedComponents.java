@@ -0,0 +1,318 @@
+package Algorithms.GraphAlgorithms;
+
+import DataStructures.AdvancedDataStructures.ConcurrentDisjointSet;
+import DataStructures.Graphs.CsrGraph;
+import DataStructures.Graphs.GraphAdjacencyList;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Parallel connected components of a CsrGraph, treating every edge as undirected (so a
+ * directed graph yields its weakly connected components).
+ * unionFind() splits the vertex range across a ForkJoinPool and unions the endpoints of every
+ * edge in a lock-free ConcurrentDisjointSet (CAS on an AtomicIntegerArray).
+ * afforest() follows Sutton, Ben-Nun and Barak: link every vertex to its first two neighbours
+ * in two Shiloach-Vishkin style link and compress rounds, which already merges most of a
+ * typical graph into one giant component. A small random sample then finds that component,
+ * and the remaining edges are processed only for vertices outside it, so most edges of the
+ * graph are never touched.
+ * Both return the same Result: components numbered 0..k-1 in order of their smallest vertex.
+ */
+public class ConnectedComponents {
+    // Vertices handled by one fork-join leaf task
+    private static final int CHUNK = 4096;
+    // Afforest: neighbours linked before sampling, and vertices sampled
+    private static final int NEIGHBOR_ROUNDS = 2;
+    private static final int SAMPLES = 1024;
+
+    private final CsrGraph graph;
+    private final int vertices;
+    private CsrGraph incoming;   // Transpose for afforest() on directed graphs
+    private boolean symmetryChecked;
+
+    // Component id of every vertex and the size of every component
+    public static class Result {
+        public final int[] componentId;
+        public final int[] componentSizes;
+
+        Result(int[] componentId, int[] componentSizes) {
+            this.componentId = componentId;
+            this.componentSizes = componentSizes;
+        }
+
+        public int componentCount() {
+            return componentSizes.length;
+        }
+    }
+
+    public ConnectedComponents(CsrGraph graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph must not be null");
+        }
+        this.graph = graph;
+        this.vertices = graph.vertexCount();
+    }
+
+    // Adjacency lists hold both directions of every edge, so no transpose is ever needed
+    public ConnectedComponents(GraphAdjacencyList graph) {
+        this(graph.toCsrGraph());
+        this.symmetryChecked = true;
+    }
+
+    public Result unionFind() {
+        return unionFind(ForkJoinPool.commonPool());
+    }
+
+    // Union the endpoints of every edge, with the vertex range split across the pool
+    public Result unionFind(ForkJoinPool pool) {
+        checkPool(pool);
+        ConcurrentDisjointSet sets = new ConcurrentDisjointSet(vertices);
+        int chunks = chunkCount();
+        CsrGraph.NeighborCursor[] cursors = cursors(graph, chunks);
+        ParallelChunks.run(pool, chunks, chunk -> {
+            CsrGraph.NeighborCursor cursor = cursors[chunk];
+            int end = Math.min(vertices, (chunk + 1) * CHUNK);
+            for (int u = chunk * CHUNK; u < end; u++) {
+                cursor.reset(u);
+                while (cursor.hasNext()) {
+                    sets.union(u, cursor.next());
+                }
+            }
+        });
+        return label(sets, pool);
+    }
+
+    public Result afforest() {
+        return afforest(ForkJoinPool.commonPool());
+    }
+
+    // Afforest: link a sampled subgraph, find the giant component, then skip its vertices
+    public Result afforest(ForkJoinPool pool) {
+        checkPool(pool);
+        CsrGraph reverse = incoming();
+        ConcurrentDisjointSet sets = new ConcurrentDisjointSet(vertices);
+        int chunks = chunkCount();
+        CsrGraph.NeighborCursor[] cursors = cursors(graph, chunks);
+
+        // Link and compress rounds over the first NEIGHBOR_ROUNDS neighbours of every vertex
+        for (int round = 0; round < NEIGHBOR_ROUNDS; round++) {
+            int r = round;
+            ParallelChunks.run(pool, chunks, chunk -> {
+                CsrGraph.NeighborCursor cursor = cursors[chunk];
+                int end = Math.min(vertices, (chunk + 1) * CHUNK);
+                for (int u = chunk * CHUNK; u < end; u++) {
+                    if (graph.degree(u) > r) {
+                        cursor.reset(u);
+                        for (int i = 0; i < r; i++) {
+                            cursor.next();
+                        }
+                        sets.union(u, cursor.next());
+                    }
+                }
+            });
+            compress(sets, pool, chunks);
+        }
+
+        // After compression find() is one hop, so sampling the giant component is cheap
+        int giant = mostFrequentRoot(sets);
+
+        // Finish the remaining edges of every vertex outside the giant component. An edge with
+        // one end inside it is still seen from the outside end, through the transpose when the
+        // graph is directed.
+        CsrGraph.NeighborCursor[] reverseCursors = reverse == null ? null : cursors(reverse, chunks);
+        ParallelChunks.run(pool, chunks, chunk -> {
+            CsrGraph.NeighborCursor cursor = cursors[chunk];
+            int end = Math.min(vertices, (chunk + 1) * CHUNK);
+            for (int u = chunk * CHUNK; u < end; u++) {
+                if (sets.find(u) == giant) {
+                    continue;
+                }
+                cursor.reset(u);
+                for (int i = 0; i < NEIGHBOR_ROUNDS && cursor.hasNext(); i++) {
+                    cursor.next();
+                }
+                while (cursor.hasNext()) {
+                    sets.union(u, cursor.next());
+                }
+                if (reverseCursors != null) {
+                    CsrGraph.NeighborCursor in = reverseCursors[chunk].reset(u);
+                    while (in.hasNext()) {
+                        sets.union(u, in.next());
+                    }
+                }
+            }
+        });
+        return label(sets, pool);
+    }
+
+    // Point every vertex straight at its root
+    private void compress(ConcurrentDisjointSet sets, ForkJoinPool pool, int chunks) {
+        ParallelChunks.run(pool, chunks, chunk -> {
+            int end = Math.min(vertices, (chunk + 1) * CHUNK);
+            for (int u = chunk * CHUNK; u < end; u++) {
+                sets.compress(u);
+            }
+        });
+    }
+
+    // The root shared by most of SAMPLES random vertices
+    private int mostFrequentRoot(ConcurrentDisjointSet sets) {
+        if (vertices == 0) {
+            return -1;
+        }
+        java.util.SplittableRandom random = new java.util.SplittableRandom(vertices);
+        java.util.HashMap<Integer, Integer> counts = new java.util.HashMap<>();
+        int best = -1, bestCount = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            int root = sets.find(random.nextInt(vertices));
+            int count = counts.merge(root, 1, Integer::sum);
+            if (count > bestCount) {
+                best = root;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    // Number components 0..k-1 in order of their smallest vertex, which is also their root
+    private Result label(ConcurrentDisjointSet sets, ForkJoinPool pool) {
+        int chunks = chunkCount();
+        int[] root = new int[vertices];
+        int[] rootsBefore = new int[chunks + 1];
+        ParallelChunks.run(pool, chunks, chunk -> {
+            int roots = 0;
+            int end = Math.min(vertices, (chunk + 1) * CHUNK);
+            for (int u = chunk * CHUNK; u < end; u++) {
+                root[u] = sets.find(u);
+                if (root[u] == u) {
+                    roots++;
+                }
+            }
+            rootsBefore[chunk + 1] = roots;
+        });
+        for (int c = 0; c < chunks; c++) {
+            rootsBefore[c + 1] += rootsBefore[c];
+        }
+        int[] componentId = new int[vertices];
+        // Roots first, so every later lookup of componentId[root[u]] is already set
+        ParallelChunks.run(pool, chunks, chunk -> {
+            int next = rootsBefore[chunk];
+            int end = Math.min(vertices, (chunk + 1) * CHUNK);
+            for (int u = chunk * CHUNK; u < end; u++) {
+                if (root[u] == u) {
+                    componentId[u] = next++;
+                }
+            }
+        });
+        ParallelChunks.run(pool, chunks, chunk -> {
+            int end = Math.min(vertices, (chunk + 1) * CHUNK);
+            for (int u = chunk * CHUNK; u < end; u++) {
+                componentId[u] = componentId[root[u]];
+            }
+        });
+        int[] componentSizes = new int[rootsBefore[chunks]];
+        for (int u = 0; u < vertices; u++) {
+            componentSizes[componentId[u]]++;
+        }
+        return new Result(componentId, componentSizes);
+    }
+
+    // Transpose of a directed graph, or null when every edge already has its reverse
+    private CsrGraph incoming() {
+        if (!symmetryChecked) {
+            CsrGraph.NeighborCursor cursor = graph.cursor();
+            boolean symmetric = true;
+            for (int u = 0; u < vertices && symmetric; u++) {
+                cursor.reset(u);
+                while (cursor.hasNext()) {
+                    if (!graph.hasEdge(cursor.next(), u)) {
+                        symmetric = false;
+                        break;
+                    }
+                }
+            }
+            incoming = symmetric ? null : graph.transpose();
+            symmetryChecked = true;
+        }
+        return incoming;
+    }
+
+    private int chunkCount() {
+        return Math.max(1, (vertices + CHUNK - 1) / CHUNK);
+    }
+
+    private static CsrGraph.NeighborCursor[] cursors(CsrGraph graph, int count) {
+        CsrGraph.NeighborCursor[] cursors = new CsrGraph.NeighborCursor[count];
+        for (int c = 0; c < count; c++) {
+            cursors[c] = graph.cursor();
+        }
+        return cursors;
+    }
+
+    private static void checkPool(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("ForkJoinPool must not be null");
+        }
+    }
+
+    // Example usage and a scaling benchmark against a sequential DFS
+    public static void main(String[] args) {
+        // Test Case 1: two triangles and an isolated vertex
+        GraphAdjacencyList small = new GraphAdjacencyList(7);
+        small.addEdge(0, 1);
+        small.addEdge(1, 2);
+        small.addEdge(2, 0);
+        small.addEdge(3, 4);
+        small.addEdge(4, 5);
+        small.addEdge(5, 3);
+        Result result = new ConnectedComponents(small).afforest();
+        System.out.println("Test Case 1: Two triangles and an isolated vertex");
+        System.out.println("Component ids: " + java.util.Arrays.toString(result.componentId)); // [0, 0, 0, 1, 1, 1, 2]
+        System.out.println("Component sizes: " + java.util.Arrays.toString(result.componentSizes)); // [3, 3, 1]
+        System.out.println();
+
+        // Test Case 2: 2M vertices, 3M random undirected edges (a giant component plus many small ones)
+        int n = 2_000_000, m = 3_000_000;
+        java.util.Random random = new java.util.Random(22);
+        CsrGraph.Builder builder = CsrGraph.builder(n).undirected(true);
+        DepthFirstSearch sequential = new DepthFirstSearch(n);
+        for (int i = 0; i < m; i++) {
+            int u = random.nextInt(n), v = random.nextInt(n);
+            builder.addEdge(u, v);
+            sequential.addEdge(u, v);
+            sequential.addEdge(v, u);
+        }
+        ConnectedComponents components = new ConnectedComponents(builder.build());
+
+        long start = System.nanoTime();
+        int[] dfsComponents = {0};
+        sequential.traverseAll(new DepthFirstSearch.Visitor() {
+            @Override
+            public void enter(int vertex, int parent) {
+                if (parent == -1) {
+                    dfsComponents[0]++;
+                }
+            }
+        });
+        System.out.printf("Test Case 2: Sequential DFS found %d components in %.1f ms%n", dfsComponents[0],
+                (System.nanoTime() - start) / 1e6);
+        components.afforest(); // Checks symmetry once
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            start = System.nanoTime();
+            Result unionFind = components.unionFind(pool);
+            double unionFindMs = (System.nanoTime() - start) / 1e6;
+            start = System.nanoTime();
+            Result afforest = components.afforest(pool);
+            double afforestMs = (System.nanoTime() - start) / 1e6;
+            pool.shutdown();
+            if (!java.util.Arrays.equals(unionFind.componentId, afforest.componentId)) {
+                throw new IllegalStateException("Union-find and Afforest disagree");
+            }
+            System.out.printf("%d thread(s): union-find %.1f ms, Afforest %.1f ms, %d components, largest %d%n",
+                    threads, unionFindMs, afforestMs, afforest.componentCount(),
+                    java.util.Arrays.stream(afforest.componentSizes).max().getAsInt());
+        }
+    }
+}
@@ -0,0 +1,772 @@
+package Algorithms.GraphAlgorithms;
+
+import DataStructures.Heaps.IndexedMinHeap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Contraction Hierarchies (CH) for fast repeated shortest-path queries on a static directed graph.
+ * Preprocessing contracts the vertices one by one, cheapest first by edge difference (shortcuts
+ * added minus edges removed). Whenever a path u -> v -> w is the only shortest connection, which
+ * a bounded witness search checks, a shortcut u -> w is inserted. Every edge ends up in either
+ * the upward graph (to a higher-ranked vertex) or the downward graph (from a higher-ranked
+ * vertex), both stored as CSR arrays.
+ * A query runs two small Dijkstra searches that only move upward in rank and meet at the
+ * highest vertex of the shortest path; shortcuts are then unpacked into original edges.
+ * The preprocessed hierarchy can be saved to and loaded from a compact binary file.
+ */
+public class ContractionHierarchies {
+    // Witness searches give up after settling this many vertices and add the shortcut instead;
+    // priority estimates use a cheaper limit than the real contraction
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+    private static final int SIMULATION_SETTLE_LIMIT = 50;
+    private static final int FILE_MAGIC = 0x43483032; // "CH02": weights stored as longs
+    private static final int NO_MIDDLE = -1;
+
+    private final int vertices;
+    private EdgeList inputEdges = new EdgeList();
+    private boolean preprocessed;
+
+    // rank[v] = position of v in the contraction order
+    private int[] rank;
+    // Upward CSR: edges v -> upTargets[e] to higher-ranked vertices. Weights are longs because a
+    // shortcut is the sum of the edges it replaces and can exceed any single int weight
+    private int[] upOffsets, upTargets, upMiddle;
+    private long[] upWeights;
+    // Downward CSR stored at the lower endpoint: edges downSources[e] -> v from higher-ranked vertices
+    private int[] downOffsets, downSources, downMiddle;
+    private long[] downWeights;
+    private int shortcutCount;
+
+    // Constructor to initialize an empty graph with the given number of vertices
+    public ContractionHierarchies(int vertices) {
+        if (vertices < 0) {
+            throw new IllegalArgumentException("Number of vertices must be non-negative");
+        }
+        this.vertices = vertices;
+    }
+
+    // Method to add a directed edge before preprocessing
+    public void addEdge(int src, int dest, int weight) {
+        if (preprocessed) {
+            throw new IllegalStateException("The hierarchy is already built");
+        }
+        if (src < 0 || src >= vertices || dest < 0 || dest >= vertices || weight < 0) {
+            throw new IllegalArgumentException("Invalid vertex or negative weight");
+        }
+        inputEdges.add(src, dest, weight, NO_MIDDLE);
+    }
+
+    public int vertexCount() {
+        return vertices;
+    }
+
+    public int shortcutCount() {
+        return shortcutCount;
+    }
+
+    public boolean isPreprocessed() {
+        return preprocessed;
+    }
+
+    // Contract all vertices and build the upward/downward search graphs
+    public void preprocess() {
+        if (preprocessed) {
+            return;
+        }
+        WorkingGraph graph = new WorkingGraph(vertices);
+        for (int e = 0; e < inputEdges.size; e++) {
+            if (inputEdges.src[e] != inputEdges.dst[e]) { // Self loops never lie on a shortest path
+                graph.addOrImprove(inputEdges.src[e], inputEdges.dst[e], inputEdges.weight[e], NO_MIDDLE);
+            }
+        }
+        inputEdges = null;
+
+        rank = new int[vertices];
+        int[] contractedNeighbors = new int[vertices];
+        WitnessSearch witness = new WitnessSearch(graph);
+        IndexedMinHeap queue = new IndexedMinHeap(vertices);
+        for (int v = 0; v < vertices; v++) {
+            queue.insert(v, priority(graph, witness, v, contractedNeighbors));
+        }
+
+        EdgeList up = new EdgeList();   // (lower, higher) pairs stored at the lower endpoint
+        EdgeList down = new EdgeList(); // (lower, higher source) pairs stored at the lower endpoint
+        int order = 0;
+        while (!queue.isEmpty()) {
+            int v = queue.poll();
+            // Lazy update: priorities only ever decrease eagerly, so re-check before contracting
+            if (!queue.isEmpty()) {
+                long current = priority(graph, witness, v, contractedNeighbors);
+                if (current > queue.peekKey()) {
+                    queue.insert(v, current);
+                    continue;
+                }
+            }
+            rank[v] = order++;
+
+            // All remaining edges of v go to vertices contracted later, i.e. of higher rank
+            for (int i = 0; i < graph.outCount[v]; i++) {
+                up.add(v, graph.outTo[v][i], graph.outWeight[v][i], graph.outMiddle[v][i]);
+            }
+            for (int i = 0; i < graph.inCount[v]; i++) {
+                down.add(v, graph.inFrom[v][i], graph.inWeight[v][i], graph.inMiddle[v][i]);
+            }
+            shortcutCount += contract(graph, witness, v, true);
+            graph.remove(v);
+
+            // Neighbours may have become cheaper to contract
+            for (int side = 0; side < 2; side++) {
+                int count = side == 0 ? graph.outCount[v] : graph.inCount[v];
+                int[] neighbors = side == 0 ? graph.outTo[v] : graph.inFrom[v];
+                for (int i = 0; i < count; i++) {
+                    int n = neighbors[i];
+                    contractedNeighbors[n]++;
+                    if (queue.contains(n)) {
+                        long p = priority(graph, witness, n, contractedNeighbors);
+                        if (p < queue.key(n)) {
+                            queue.decreaseKey(n, p);
+                        }
+                    }
+                }
+            }
+        }
+
+        Csr upCsr = toCsr(up);
+        upOffsets = upCsr.offsets;
+        upTargets = upCsr.other;
+        upWeights = upCsr.weight;
+        upMiddle = upCsr.middle;
+        Csr downCsr = toCsr(down);
+        downOffsets = downCsr.offsets;
+        downSources = downCsr.other;
+        downWeights = downCsr.weight;
+        downMiddle = downCsr.middle;
+        preprocessed = true;
+    }
+
+    // Weighted edge difference plus the number of already contracted neighbours (spreads contraction evenly)
+    private long priority(WorkingGraph graph, WitnessSearch witness, int v, int[] contractedNeighbors) {
+        int shortcuts = contract(graph, witness, v, false);
+        return 4L * (shortcuts - graph.inCount[v] - graph.outCount[v]) + contractedNeighbors[v];
+    }
+
+    // Count the shortcuts needed to contract v; with insert, add them and count only the new edges
+    // (a shortcut that merely lowers the weight of an existing u -> w edge adds nothing)
+    private int contract(WorkingGraph graph, WitnessSearch witness, int v, boolean insert) {
+        int shortcuts = 0;
+        long maxOut = 0;
+        for (int j = 0; j < graph.outCount[v]; j++) {
+            maxOut = Math.max(maxOut, graph.outWeight[v][j]);
+        }
+        for (int i = 0; i < graph.inCount[v]; i++) {
+            int u = graph.inFrom[v][i];
+            long toV = graph.inWeight[v][i];
+            witness.run(u, v, toV + maxOut, insert ? WITNESS_SETTLE_LIMIT : SIMULATION_SETTLE_LIMIT);
+            for (int j = 0; j < graph.outCount[v]; j++) {
+                int w = graph.outTo[v][j];
+                if (w == u) {
+                    continue;
+                }
+                long via = toV + graph.outWeight[v][j];
+                if (witness.distance(w) > via) { // No path avoiding v is as short
+                    if (!insert || graph.addOrImprove(u, w, via, v)) {
+                        shortcuts++;
+                    }
+                }
+            }
+        }
+        return shortcuts;
+    }
+
+    // One direction of the search graph: the edges of v are other/weight/middle[offsets[v] .. offsets[v+1]-1]
+    private static class Csr {
+        final int[] offsets, other, middle;
+        final long[] weight;
+
+        Csr(int[] offsets, int[] other, long[] weight, int[] middle) {
+            this.offsets = offsets;
+            this.other = other;
+            this.weight = weight;
+            this.middle = middle;
+        }
+    }
+
+    // Counting sort of an edge list by its first endpoint
+    private Csr toCsr(EdgeList edges) {
+        int[] offsets = new int[vertices + 1];
+        for (int e = 0; e < edges.size; e++) {
+            offsets[edges.src[e] + 1]++;
+        }
+        for (int v = 0; v < vertices; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] next = java.util.Arrays.copyOf(offsets, vertices);
+        int[] other = new int[edges.size];
+        long[] weight = new long[edges.size];
+        int[] middle = new int[edges.size];
+        for (int e = 0; e < edges.size; e++) {
+            int slot = next[edges.src[e]]++;
+            other[slot] = edges.dst[e];
+            weight[slot] = edges.weight[e];
+            middle[slot] = edges.middle[e];
+        }
+        return new Csr(offsets, other, weight, middle);
+    }
+
+    // Create reusable query state (one per thread)
+    public Query newQuery() {
+        if (!preprocessed) {
+            throw new IllegalStateException("Call preprocess() or load() first");
+        }
+        return new Query();
+    }
+
+    /**
+     * Bidirectional upward search. Each direction only relaxes edges towards higher ranks and stops
+     * once its smallest tentative distance cannot improve the best meeting point. Only vertices
+     * reached by the previous query are reset, so repeated queries do not allocate large arrays.
+     */
+    public class Query {
+        private final long[][] dist = {new long[vertices], new long[vertices]};
+        private final int[][] parentEdge = {new int[vertices], new int[vertices]};
+        private final IndexedMinHeap[] heaps = {new IndexedMinHeap(vertices), new IndexedMinHeap(vertices)};
+        private final int[][] touched = {new int[vertices], new int[vertices]};
+        private final int[] touchedCount = new int[2];
+
+        private Query() {
+            java.util.Arrays.fill(dist[0], DijkstrasAlgorithm.INFINITY);
+            java.util.Arrays.fill(dist[1], DijkstrasAlgorithm.INFINITY);
+        }
+
+        public DijkstrasAlgorithm.PathResult shortestPath(int source, int target) {
+            if (source < 0 || source >= vertices || target < 0 || target >= vertices) {
+                throw new IllegalArgumentException("Vertex out of bounds");
+            }
+            reset();
+            reach(0, source, 0, -1);
+            heaps[0].insert(source, 0);
+            reach(1, target, 0, -1);
+            heaps[1].insert(target, 0);
+
+            long best = source == target ? 0 : DijkstrasAlgorithm.INFINITY;
+            int meeting = source == target ? source : -1;
+            int settled = 0;
+            boolean[] active = {true, true};
+            int side = 0;
+            while (active[0] || active[1]) {
+                if (!active[side]) {
+                    side ^= 1;
+                }
+                IndexedMinHeap heap = heaps[side];
+                if (heap.isEmpty() || heap.peekKey() >= best) {
+                    active[side] = false; // This direction cannot improve the answer any more
+                    side ^= 1;
+                    continue;
+                }
+                int u = heap.poll();
+                settled++;
+                long du = dist[side][u];
+                int[] offsets = side == 0 ? upOffsets : downOffsets;
+                int[] others = side == 0 ? upTargets : downSources;
+                long[] weights = side == 0 ? upWeights : downWeights;
+                for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                    int v = others[e];
+                    long candidate = du + weights[e];
+                    if (candidate < dist[side][v]) {
+                        reach(side, v, candidate, e);
+                        heap.insertOrDecrease(v, candidate);
+                    }
+                    long otherDist = dist[side ^ 1][v];
+                    if (otherDist != DijkstrasAlgorithm.INFINITY && dist[side][v] + otherDist < best) {
+                        best = dist[side][v] + otherDist;
+                        meeting = v;
+                    }
+                }
+                side ^= 1; // Alternate directions
+            }
+
+            if (meeting < 0) {
+                return new DijkstrasAlgorithm.PathResult(DijkstrasAlgorithm.INFINITY, new int[0], settled);
+            }
+            return new DijkstrasAlgorithm.PathResult(best, unpackPath(source, meeting), settled);
+        }
+
+        // Rebuild the original-edge path source -> meeting -> target from both parent chains
+        private int[] unpackPath(int source, int meeting) {
+            IntList path = new IntList();
+            path.add(source);
+            // Forward chain: collect up-edges from meeting back to source, then expand in order
+            IntList upChain = new IntList();
+            for (int v = meeting; v != source; v = findUpSource(parentEdge[0][v])) {
+                upChain.add(parentEdge[0][v]);
+            }
+            for (int i = upChain.size - 1; i >= 0; i--) {
+                int e = upChain.data[i];
+                unpackEdge(findUpSource(e), upTargets[e], upMiddle[e], path);
+            }
+            // Backward chain: down-edges lead from meeting towards target
+            int v = meeting;
+            while (parentEdge[1][v] >= 0) {
+                int e = parentEdge[1][v];
+                int next = findDownOwner(e);
+                unpackEdge(v, next, downMiddle[e], path);
+                v = next;
+            }
+            return java.util.Arrays.copyOf(path.data, path.size);
+        }
+
+        private void reach(int side, int v, long distance, int edge) {
+            if (dist[side][v] == DijkstrasAlgorithm.INFINITY) {
+                touched[side][touchedCount[side]++] = v;
+            }
+            dist[side][v] = distance;
+            parentEdge[side][v] = edge;
+        }
+
+        private void reset() {
+            for (int side = 0; side < 2; side++) {
+                for (int i = 0; i < touchedCount[side]; i++) {
+                    dist[side][touched[side][i]] = DijkstrasAlgorithm.INFINITY;
+                }
+                touchedCount[side] = 0;
+                heaps[side].clear();
+            }
+        }
+    }
+
+    // Vertex owning up-edge e (binary search over the offsets)
+    private int findUpSource(int e) {
+        return ownerOf(upOffsets, e);
+    }
+
+    // Vertex owning down-edge e, i.e. the lower endpoint it is stored at
+    private int findDownOwner(int e) {
+        return ownerOf(downOffsets, e);
+    }
+
+    private static int ownerOf(int[] offsets, int e) {
+        int low = 0, high = offsets.length - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (offsets[mid] <= e) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    // Append the original vertices of edge a -> b (excluding a) to path, expanding shortcuts iteratively
+    private void unpackEdge(int a, int b, int middle, IntList path) {
+        IntList stack = new IntList(); // Triples (a, b, middle), processed left to right
+        stack.add(a);
+        stack.add(b);
+        stack.add(middle);
+        while (stack.size > 0) {
+            int m = stack.data[--stack.size];
+            int to = stack.data[--stack.size];
+            int from = stack.data[--stack.size];
+            if (m == NO_MIDDLE) {
+                path.add(to);
+                continue;
+            }
+            // The middle vertex has the lowest rank, so both halves are stored at m:
+            // from -> m as a down-edge of m and m -> to as an up-edge of m
+            int first = -1, second = -1;
+            for (int e = downOffsets[m]; e < downOffsets[m + 1]; e++) {
+                if (downSources[e] == from) {
+                    first = e;
+                    break;
+                }
+            }
+            for (int e = upOffsets[m]; e < upOffsets[m + 1]; e++) {
+                if (upTargets[e] == to) {
+                    second = e;
+                    break;
+                }
+            }
+            // Push the second half first so the first half is expanded first
+            stack.add(m);
+            stack.add(to);
+            stack.add(upMiddle[second]);
+            stack.add(from);
+            stack.add(m);
+            stack.add(downMiddle[first]);
+        }
+    }
+
+    // Write the hierarchy as a binary file: header followed by the int and long sections
+    public void save(Path file) throws IOException {
+        if (!preprocessed) {
+            throw new IllegalStateException("Nothing to save before preprocess()");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+            int[] header = {FILE_MAGIC, vertices, upTargets.length, downSources.length, shortcutCount};
+            for (int[] section : new int[][]{header, rank, upOffsets, upTargets, upMiddle, downOffsets, downSources,
+                    downMiddle}) {
+                writeInts(channel, buffer, section);
+            }
+            writeLongs(channel, buffer, upWeights);
+            writeLongs(channel, buffer, downWeights);
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    // Read a hierarchy written by save()
+    public static ContractionHierarchies load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+            buffer.flip();
+            int[] header = readInts(channel, buffer, 5);
+            if (header[0] != FILE_MAGIC) {
+                throw new IOException("Not a contraction hierarchy file: " + file);
+            }
+            int n = header[1], upCount = header[2], downCount = header[3];
+            // Header, rank and the two offset sections, then an int target, an int middle and a long weight per edge
+            long expected = 5L * Integer.BYTES + (3L * n + 2) * Integer.BYTES
+                    + ((long) upCount + downCount) * (2L * Integer.BYTES + Long.BYTES);
+            if (n < 0 || upCount < 0 || downCount < 0 || header[4] < 0 || header[4] > (long) upCount + downCount
+                    || channel.size() != expected) {
+                throw new IOException("Corrupt contraction hierarchy file: " + file);
+            }
+            ContractionHierarchies ch = new ContractionHierarchies(n);
+            ch.inputEdges = null;
+            ch.shortcutCount = header[4];
+            ch.rank = readInts(channel, buffer, n);
+            ch.upOffsets = readInts(channel, buffer, n + 1);
+            ch.upTargets = readInts(channel, buffer, upCount);
+            ch.upMiddle = readInts(channel, buffer, upCount);
+            ch.downOffsets = readInts(channel, buffer, n + 1);
+            ch.downSources = readInts(channel, buffer, downCount);
+            ch.downMiddle = readInts(channel, buffer, downCount);
+            ch.upWeights = readLongs(channel, buffer, upCount);
+            ch.downWeights = readLongs(channel, buffer, downCount);
+            ch.preprocessed = true;
+            return ch;
+        }
+    }
+
+    // Append an int section to the buffer, flushing to the channel whenever it fills up
+    private static void writeInts(FileChannel channel, ByteBuffer buffer, int[] values) throws IOException {
+        int i = 0;
+        while (i < values.length) {
+            if (buffer.remaining() < Integer.BYTES) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                buffer.clear();
+            }
+            int count = Math.min(values.length - i, buffer.remaining() / Integer.BYTES);
+            buffer.asIntBuffer().put(values, i, count);
+            buffer.position(buffer.position() + count * Integer.BYTES);
+            i += count;
+        }
+    }
+
+    // Append a long section to the buffer, flushing to the channel whenever it fills up
+    private static void writeLongs(FileChannel channel, ByteBuffer buffer, long[] values) throws IOException {
+        int i = 0;
+        while (i < values.length) {
+            if (buffer.remaining() < Long.BYTES) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                buffer.clear();
+            }
+            int count = Math.min(values.length - i, buffer.remaining() / Long.BYTES);
+            buffer.asLongBuffer().put(values, i, count);
+            buffer.position(buffer.position() + count * Long.BYTES);
+            i += count;
+        }
+    }
+
+    // Read count longs, refilling the buffer from the channel as needed
+    private static long[] readLongs(FileChannel channel, ByteBuffer buffer, int count) throws IOException {
+        long[] values = new long[count];
+        int i = 0;
+        while (i < count) {
+            if (buffer.remaining() < Long.BYTES) {
+                buffer.compact();
+                if (channel.read(buffer) < 0 && buffer.position() < Long.BYTES) {
+                    throw new IOException("Unexpected end of file");
+                }
+                buffer.flip();
+                continue;
+            }
+            int n = Math.min(count - i, buffer.remaining() / Long.BYTES);
+            buffer.asLongBuffer().get(values, i, n);
+            buffer.position(buffer.position() + n * Long.BYTES);
+            i += n;
+        }
+        return values;
+    }
+
+    // Read count ints, refilling the buffer from the channel as needed
+    private static int[] readInts(FileChannel channel, ByteBuffer buffer, int count) throws IOException {
+        int[] values = new int[count];
+        int i = 0;
+        while (i < count) {
+            if (buffer.remaining() < Integer.BYTES) {
+                buffer.compact();
+                if (channel.read(buffer) < 0 && buffer.position() < Integer.BYTES) {
+                    throw new IOException("Unexpected end of file");
+                }
+                buffer.flip();
+                continue;
+            }
+            int n = Math.min(count - i, buffer.remaining() / Integer.BYTES);
+            buffer.asIntBuffer().get(values, i, n);
+            buffer.position(buffer.position() + n * Integer.BYTES);
+            i += n;
+        }
+        return values;
+    }
+
+    // Mutable adjacency of the vertices not contracted yet, with in- and out-lists per vertex
+    private static class WorkingGraph {
+        final int[][] outTo, outMiddle, inFrom, inMiddle;
+        final long[][] outWeight, inWeight;
+        final int[] outCount, inCount;
+
+        WorkingGraph(int vertices) {
+            outTo = new int[vertices][];
+            outWeight = new long[vertices][];
+            outMiddle = new int[vertices][];
+            inFrom = new int[vertices][];
+            inWeight = new long[vertices][];
+            inMiddle = new int[vertices][];
+            outCount = new int[vertices];
+            inCount = new int[vertices];
+            for (int v = 0; v < vertices; v++) {
+                outTo[v] = new int[2];
+                outWeight[v] = new long[2];
+                outMiddle[v] = new int[2];
+                inFrom[v] = new int[2];
+                inWeight[v] = new long[2];
+                inMiddle[v] = new int[2];
+            }
+        }
+
+        // Add u -> w, or lower its weight if the edge already exists with a larger one;
+        // true only when a new edge was appended
+        boolean addOrImprove(int u, int w, long weight, int middle) {
+            for (int i = 0; i < outCount[u]; i++) {
+                if (outTo[u][i] == w) {
+                    if (weight < outWeight[u][i]) {
+                        outWeight[u][i] = weight;
+                        outMiddle[u][i] = middle;
+                        for (int j = 0; j < inCount[w]; j++) {
+                            if (inFrom[w][j] == u) {
+                                inWeight[w][j] = weight;
+                                inMiddle[w][j] = middle;
+                                break;
+                            }
+                        }
+                    }
+                    return false;
+                }
+            }
+            if (outCount[u] == outTo[u].length) {
+                int capacity = outTo[u].length * 2;
+                outTo[u] = java.util.Arrays.copyOf(outTo[u], capacity);
+                outWeight[u] = java.util.Arrays.copyOf(outWeight[u], capacity);
+                outMiddle[u] = java.util.Arrays.copyOf(outMiddle[u], capacity);
+            }
+            outTo[u][outCount[u]] = w;
+            outWeight[u][outCount[u]] = weight;
+            outMiddle[u][outCount[u]++] = middle;
+            if (inCount[w] == inFrom[w].length) {
+                int capacity = inFrom[w].length * 2;
+                inFrom[w] = java.util.Arrays.copyOf(inFrom[w], capacity);
+                inWeight[w] = java.util.Arrays.copyOf(inWeight[w], capacity);
+                inMiddle[w] = java.util.Arrays.copyOf(inMiddle[w], capacity);
+            }
+            inFrom[w][inCount[w]] = u;
+            inWeight[w][inCount[w]] = weight;
+            inMiddle[w][inCount[w]++] = middle;
+            return true;
+        }
+
+        // Detach a contracted vertex from its neighbours (its own lists are kept for the caller)
+        void remove(int v) {
+            for (int i = 0; i < outCount[v]; i++) {
+                removeFrom(inFrom, inWeight, inMiddle, inCount, outTo[v][i], v);
+            }
+            for (int i = 0; i < inCount[v]; i++) {
+                removeFrom(outTo, outWeight, outMiddle, outCount, inFrom[v][i], v);
+            }
+        }
+
+        // Swap-remove the entry for 'other' from vertex owner's list
+        private static void removeFrom(int[][] ids, long[][] weights, int[][] middles, int[] counts, int owner, int other) {
+            for (int i = 0; i < counts[owner]; i++) {
+                if (ids[owner][i] == other) {
+                    int last = --counts[owner];
+                    ids[owner][i] = ids[owner][last];
+                    weights[owner][i] = weights[owner][last];
+                    middles[owner][i] = middles[owner][last];
+                    return;
+                }
+            }
+        }
+    }
+
+    // Bounded Dijkstra on the working graph that ignores one vertex; reused for every witness query
+    private static class WitnessSearch {
+        private final WorkingGraph graph;
+        private final long[] dist;
+        private final int[] touched;
+        private int touchedCount;
+        private final IndexedMinHeap heap;
+
+        WitnessSearch(WorkingGraph graph) {
+            this.graph = graph;
+            int n = graph.outCount.length;
+            dist = new long[n];
+            touched = new int[n];
+            heap = new IndexedMinHeap(n);
+            java.util.Arrays.fill(dist, Long.MAX_VALUE);
+        }
+
+        void run(int source, int avoid, long maxDistance, int settleLimit) {
+            for (int i = 0; i < touchedCount; i++) {
+                dist[touched[i]] = Long.MAX_VALUE;
+            }
+            touchedCount = 0;
+            heap.clear();
+            dist[source] = 0;
+            touched[touchedCount++] = source;
+            heap.insert(source, 0);
+            int settled = 0;
+            while (!heap.isEmpty() && heap.peekKey() <= maxDistance && settled++ < settleLimit) {
+                int u = heap.poll();
+                long du = dist[u];
+                for (int i = 0; i < graph.outCount[u]; i++) {
+                    int v = graph.outTo[u][i];
+                    if (v == avoid) {
+                        continue;
+                    }
+                    long candidate = du + graph.outWeight[u][i];
+                    if (candidate < dist[v]) {
+                        if (dist[v] == Long.MAX_VALUE) {
+                            touched[touchedCount++] = v;
+                        }
+                        dist[v] = candidate;
+                        heap.insertOrDecrease(v, candidate);
+                    }
+                }
+            }
+        }
+
+        long distance(int v) {
+            return dist[v];
+        }
+    }
+
+    // Parallel growable edge columns
+    private static class EdgeList {
+        int[] src = new int[16], dst = new int[16], middle = new int[16];
+        long[] weight = new long[16];
+        int size;
+
+        void add(int s, int d, long w, int m) {
+            if (size == src.length) {
+                src = java.util.Arrays.copyOf(src, size * 2);
+                dst = java.util.Arrays.copyOf(dst, size * 2);
+                weight = java.util.Arrays.copyOf(weight, size * 2);
+                middle = java.util.Arrays.copyOf(middle, size * 2);
+            }
+            src[size] = s;
+            dst[size] = d;
+            weight[size] = w;
+            middle[size++] = m;
+        }
+    }
+
+    // Minimal growable int array
+    private static class IntList {
+        int[] data = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == data.length) {
+                data = java.util.Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+    }
+
+    // Example usage: compare CH queries with plain Dijkstra on a random road-like grid
+    public static void main(String[] args) throws IOException {
+        int side = 120;
+        int n = side * side;
+        ContractionHierarchies ch = new ContractionHierarchies(n);
+        DijkstrasAlgorithm dijkstra = new DijkstrasAlgorithm(n);
+        java.util.Random random = new java.util.Random(4);
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                int v = r * side + c;
+                int[] neighbors = {c + 1 < side ? v + 1 : -1, r + 1 < side ? v + side : -1};
+                for (int w : neighbors) {
+                    if (w >= 0) {
+                        int weight = 1 + random.nextInt(100);
+                        ch.addEdge(v, w, weight);
+                        ch.addEdge(w, v, weight);
+                        dijkstra.addEdge(v, w, weight);
+                        dijkstra.addEdge(w, v, weight);
+                    }
+                }
+            }
+        }
+
+        long start = System.nanoTime();
+        ch.preprocess();
+        System.out.printf("Preprocessed %d vertices in %.1f ms, %d shortcuts%n",
+                n, (System.nanoTime() - start) / 1e6, ch.shortcutCount());
+
+        Path file = java.nio.file.Files.createTempFile("hierarchy", ".ch");
+        ch.save(file);
+        start = System.nanoTime();
+        ContractionHierarchies loaded = load(file);
+        System.out.printf("Saved %d bytes, loaded in %.1f ms%n",
+                java.nio.file.Files.size(file), (System.nanoTime() - start) / 1e6);
+        java.nio.file.Files.delete(file);
+
+        Query chQuery = loaded.newQuery();
+        DijkstrasAlgorithm.Query plainQuery = dijkstra.newQuery();
+        int queries = 1000, mismatches = 0;
+        long chNanos = 0, plainNanos = 0, chSettled = 0, plainSettled = 0;
+        for (int q = 0; q < queries; q++) {
+            int s = random.nextInt(n), t = random.nextInt(n);
+            long t0 = System.nanoTime();
+            DijkstrasAlgorithm.PathResult fast = chQuery.shortestPath(s, t);
+            long t1 = System.nanoTime();
+            DijkstrasAlgorithm.PathResult slow = plainQuery.shortestPath(s, t);
+            long t2 = System.nanoTime();
+            chNanos += t1 - t0;
+            plainNanos += t2 - t1;
+            chSettled += fast.settledVertices;
+            plainSettled += slow.settledVertices;
+            if (fast.distance != slow.distance || fast.path[0] != s || fast.path[fast.path.length - 1] != t) {
+                mismatches++;
+            }
+        }
+        System.out.printf("CH: %.1f us/query, %d settled on average%n", chNanos / 1e3 / queries, chSettled / queries);
+        System.out.printf("Bidirectional Dijkstra: %.1f us/query, %d settled on average%n",
+                plainNanos / 1e3 / queries, plainSettled / queries);
+        System.out.println("Mismatches: " + mismatches);
+    }
+}
@@ -0,0 +1,262 @@
+package Algorithms.GraphAlgorithms;
+
+import DataStructures.Graphs.CsrGraph;
+import DataStructures.Graphs.GraphAdjacencyList;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * k-core decomposition of an undirected graph: the core number of a vertex is the largest k
+ * such that it belongs to a subgraph in which every vertex has at least k neighbours.
+ * coreNumbers() is the sequential bucket peeling of Batagelj and Zaversnik: vertices sit in
+ * an array bucket-sorted by current degree, and removing the minimum vertex moves each of its
+ * neighbours one bucket down with a single swap, so the whole decomposition is O(V + E).
+ * coreNumbers(pool) peels level by level in parallel. At level k every remaining vertex with
+ * degree at most k gets core number k and is removed; its neighbours' degrees are decremented
+ * atomically, and a neighbour whose degree falls from k + 1 to k joins the next frontier of
+ * the same level through a per-task buffer. The remaining vertices are compacted after every
+ * level, and the next level starts at their minimum degree, so empty levels are skipped.
+ */
+public class CoreDecomposition {
+    // Vertices handled by one fork-join leaf task
+    private static final int CHUNK = 2048;
+
+    private final CsrGraph graph;
+    private final int vertices;
+    private final int[] degree; // Neighbours other than the vertex itself
+
+    // The graph must be undirected: built with CsrGraph.Builder.undirected(true) or symmetric
+    public CoreDecomposition(CsrGraph graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph must not be null");
+        }
+        this.graph = graph;
+        this.vertices = graph.vertexCount();
+        this.degree = new int[vertices];
+        CsrGraph.NeighborCursor cursor = graph.cursor();
+        for (int u = 0; u < vertices; u++) {
+            cursor.reset(u);
+            while (cursor.hasNext()) {
+                if (cursor.next() != u) {
+                    degree[u]++;
+                }
+            }
+        }
+    }
+
+    public CoreDecomposition(GraphAdjacencyList graph) {
+        this(graph.toCsrGraph());
+    }
+
+    // Sequential bucket peeling in O(V + E)
+    public int[] coreNumbers() {
+        int maxDegree = 0;
+        for (int d : degree) {
+            maxDegree = Math.max(maxDegree, d);
+        }
+        int[] current = degree.clone();
+        // bucketStart[d] = first position of degree d in order; position[v] = index of v in order
+        int[] bucketStart = new int[maxDegree + 2];
+        for (int d : current) {
+            bucketStart[d + 1]++;
+        }
+        for (int d = 0; d <= maxDegree; d++) {
+            bucketStart[d + 1] += bucketStart[d];
+        }
+        int[] order = new int[vertices];
+        int[] position = new int[vertices];
+        int[] next = java.util.Arrays.copyOf(bucketStart, maxDegree + 1);
+        for (int v = 0; v < vertices; v++) {
+            position[v] = next[current[v]]++;
+            order[position[v]] = v;
+        }
+
+        CsrGraph.NeighborCursor cursor = graph.cursor();
+        for (int i = 0; i < vertices; i++) {
+            int u = order[i]; // Minimum current degree among the remaining vertices
+            cursor.reset(u);
+            while (cursor.hasNext()) {
+                int w = cursor.next();
+                if (current[w] > current[u]) {
+                    // Swap w with the first vertex of its bucket, then shrink the bucket by one
+                    int d = current[w];
+                    int first = bucketStart[d];
+                    int other = order[first];
+                    if (other != w) {
+                        order[position[w]] = other;
+                        position[other] = position[w];
+                        order[first] = w;
+                        position[w] = first;
+                    }
+                    bucketStart[d]++;
+                    current[w]--;
+                }
+            }
+        }
+        return current; // Final degree at removal time is the core number
+    }
+
+    public int[] coreNumbers(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("ForkJoinPool must not be null");
+        }
+        AtomicIntegerArray current = new AtomicIntegerArray(degree);
+        boolean[] removed = new boolean[vertices];
+        int[] core = new int[vertices];
+        int[] remaining = new int[vertices];
+        for (int v = 0; v < vertices; v++) {
+            remaining[v] = v;
+        }
+        int remainingCount = vertices;
+        int level = 0;
+        while (remainingCount > 0) {
+            int k = Math.max(level, minDegree(pool, current, remaining, remainingCount));
+            // Initial frontier: every remaining vertex with degree at most k
+            int count = remainingCount;
+            int[] source = remaining;
+            int[] frontier = gather(pool, (remainingCount + CHUNK - 1) / CHUNK, (chunk, buffer) -> {
+                int end = Math.min(count, (chunk + 1) * CHUNK);
+                for (int i = chunk * CHUNK; i < end; i++) {
+                    if (current.get(source[i]) <= k) {
+                        buffer.add(source[i]);
+                    }
+                }
+            });
+            while (frontier.length > 0) {
+                int[] peeled = frontier;
+                for (int v : peeled) {
+                    removed[v] = true;
+                    core[v] = k;
+                }
+                // Decrement the neighbours; those falling from k + 1 to k are peeled next at this level
+                frontier = gather(pool, (peeled.length + CHUNK - 1) / CHUNK, (chunk, buffer) -> {
+                    CsrGraph.NeighborCursor cursor = graph.cursor();
+                    int end = Math.min(peeled.length, (chunk + 1) * CHUNK);
+                    for (int i = chunk * CHUNK; i < end; i++) {
+                        int u = peeled[i];
+                        cursor.reset(u);
+                        while (cursor.hasNext()) {
+                            int w = cursor.next();
+                            if (w != u && !removed[w] && current.getAndDecrement(w) == k + 1) {
+                                buffer.add(w);
+                            }
+                        }
+                    }
+                });
+            }
+            // Compact the vertices that survive this level
+            int kept = 0;
+            for (int i = 0; i < remainingCount; i++) {
+                if (!removed[remaining[i]]) {
+                    remaining[kept++] = remaining[i];
+                }
+            }
+            remainingCount = kept;
+            level = k + 1;
+        }
+        return core;
+    }
+
+    // Smallest current degree among the remaining vertices
+    private int minDegree(ForkJoinPool pool, AtomicIntegerArray current, int[] remaining, int count) {
+        int chunks = (count + CHUNK - 1) / CHUNK;
+        int[] partial = new int[chunks];
+        ParallelChunks.run(pool, chunks, chunk -> {
+            int min = Integer.MAX_VALUE;
+            int end = Math.min(count, (chunk + 1) * CHUNK);
+            for (int i = chunk * CHUNK; i < end; i++) {
+                min = Math.min(min, current.get(remaining[i]));
+            }
+            partial[chunk] = min;
+        });
+        int min = Integer.MAX_VALUE;
+        for (int value : partial) {
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    // Growable int buffer owned by one task
+    private static class IntBuffer {
+        int[] items = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == items.length) {
+                items = java.util.Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = value;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkCollector {
+        void collect(int chunk, IntBuffer buffer);
+    }
+
+    // Run collector over every chunk with a private buffer each, then concatenate the buffers
+    private static int[] gather(ForkJoinPool pool, int chunks, ChunkCollector collector) {
+        IntBuffer[] buffers = new IntBuffer[chunks];
+        ParallelChunks.run(pool, chunks, chunk -> {
+            IntBuffer buffer = new IntBuffer();
+            collector.collect(chunk, buffer);
+            buffers[chunk] = buffer;
+        });
+        int total = 0;
+        for (IntBuffer buffer : buffers) {
+            total += buffer.size;
+        }
+        int[] result = new int[total];
+        int position = 0;
+        for (IntBuffer buffer : buffers) {
+            System.arraycopy(buffer.items, 0, result, position, buffer.size);
+            position += buffer.size;
+        }
+        return result;
+    }
+
+    // Example usage
+    public static void main(String[] args) {
+        // Test Case 1: A 4-clique {0, 1, 2, 3} with a path 3 -- 4 -- 5 hanging off it
+        GraphAdjacencyList small = new GraphAdjacencyList(6);
+        for (int u = 0; u < 4; u++) {
+            for (int v = u + 1; v < 4; v++) {
+                small.addEdge(u, v);
+            }
+        }
+        small.addEdge(3, 4);
+        small.addEdge(4, 5);
+        CoreDecomposition decomposition = new CoreDecomposition(small);
+        System.out.println("Test Case 1: 4-clique with a tail");
+        System.out.println("Core numbers: " + java.util.Arrays.toString(decomposition.coreNumbers())); // [3, 3, 3, 3, 1, 1]
+        System.out.println("Parallel:     " + java.util.Arrays.toString(decomposition.coreNumbers(ForkJoinPool.commonPool())));
+        System.out.println();
+
+        // Test Case 2: 1M-vertex preferential-attachment graph
+        int n = 1_000_000;
+        CsrGraph.Builder builder = CsrGraph.builder(n).undirected(true);
+        java.util.Random random = new java.util.Random(24);
+        for (int v = 1; v < n; v++) {
+            for (int i = 0; i < 8; i++) {
+                builder.addEdge(v, (int) (v * Math.pow(random.nextDouble(), 2)));
+            }
+        }
+        CoreDecomposition large = new CoreDecomposition(builder.build());
+        long start = System.nanoTime();
+        int[] sequential = large.coreNumbers();
+        System.out.printf("Test Case 2: sequential bucket peeling in %.1f ms, degeneracy %d%n",
+                (System.nanoTime() - start) / 1e6, java.util.Arrays.stream(sequential).max().getAsInt());
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            start = System.nanoTime();
+            int[] parallel = large.coreNumbers(pool);
+            pool.shutdown();
+            if (!java.util.Arrays.equals(sequential, parallel)) {
+                throw new IllegalStateException("Parallel peeling disagrees with the sequential one");
+            }
+            System.out.printf("%d thread(s): parallel peeling in %.1f ms%n", threads, (System.nanoTime() - start) / 1e6);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package Algorithms.GraphAlgorithms;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Parallel single-source shortest paths with Meyer and Sanders' delta-stepping.
+ * Tentative distances are grouped into buckets of width delta. Edges lighter than delta
+ * ("light") can re-insert vertices into the current bucket, so they are relaxed repeatedly
+ * until the bucket is empty. Heavy edges are relaxed once for every vertex settled in the
+ * bucket. All relaxations inside a phase run in parallel on a ForkJoinPool and update a
+ * shared distance array with atomic compare-and-set minimums. The graph is the CSR built by
+ * DijkstrasAlgorithm, with each vertex's edges reordered so its light edges come first.
+ */
+public class DeltaStepping {
+    // Vertices handled by one fork-join leaf task
+    private static final int CHUNK = 1024;
+    // The auto-tuner aims for this many light edges per vertex on average
+    private static final double TARGET_LIGHT_EDGES = 2.0;
+
+    private final int vertices;
+    private final long delta;
+    private final int[] offsets;
+    private final int[] lightEnd; // Edges offsets[v]..lightEnd[v]-1 are light, the rest heavy
+    private final int[] targets;
+    private final int[] weights;
+
+    // Use an auto-tuned bucket width
+    public DeltaStepping(DijkstrasAlgorithm graph) {
+        this(graph, 0);
+    }
+
+    // Use the given bucket width; 0 selects it from the edge weight distribution
+    public DeltaStepping(DijkstrasAlgorithm graph, long delta) {
+        if (graph == null || delta < 0) {
+            throw new IllegalArgumentException("Graph must not be null and delta must be non-negative");
+        }
+        int[][] csr = graph.csrArrays();
+        this.vertices = graph.vertexCount();
+        this.offsets = csr[0];
+        this.delta = delta == 0 ? tuneDelta(csr[0], csr[2]) : delta;
+
+        // Copy the adjacency and move the light edges of every vertex to the front of its range
+        this.targets = csr[1].clone();
+        this.weights = csr[2].clone();
+        this.lightEnd = new int[vertices];
+        for (int v = 0; v < vertices; v++) {
+            int split = offsets[v];
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                if (weights[e] < this.delta) {
+                    int t = targets[split], w = weights[split];
+                    targets[split] = targets[e];
+                    weights[split] = weights[e];
+                    targets[e] = t;
+                    weights[e] = w;
+                    split++;
+                }
+            }
+            lightEnd[v] = split;
+        }
+    }
+
+    public long delta() {
+        return delta;
+    }
+
+    /**
+     * Pick delta as the weight quantile that leaves about TARGET_LIGHT_EDGES light edges per vertex.
+     * A small delta behaves like Dijkstra (little parallel work per bucket), while a large delta
+     * behaves like Bellman-Ford (many re-relaxations); this keeps the light-edge work bounded
+     * whatever the scale or skew of the weights.
+     */
+    static long tuneDelta(int[] offsets, int[] weights) {
+        int edges = weights.length;
+        int vertices = offsets.length - 1;
+        if (edges == 0 || vertices == 0) {
+            return 1;
+        }
+        // Sample at most 64K weights to keep tuning cheap on large graphs
+        int samples = Math.min(edges, 1 << 16);
+        int[] sample = new int[samples];
+        for (int i = 0; i < samples; i++) {
+            sample[i] = weights[(int) ((long) i * edges / samples)];
+        }
+        java.util.Arrays.sort(sample);
+        double averageDegree = (double) edges / vertices;
+        double quantile = Math.min(1.0, TARGET_LIGHT_EDGES / averageDegree);
+        int index = (int) Math.min(samples - 1, Math.floor(quantile * (samples - 1)));
+        return Math.max(1, (long) sample[index] + 1); // Edges at or below the quantile weight are light
+    }
+
+    // Shortest distances from source; unreachable vertices get DijkstrasAlgorithm.INFINITY
+    public long[] shortestPaths(int source, ForkJoinPool pool) {
+        if (source < 0 || source >= vertices) {
+            throw new IllegalArgumentException("Source vertex out of bounds");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("ForkJoinPool must not be null");
+        }
+        AtomicLongArray dist = new AtomicLongArray(vertices);
+        for (int v = 0; v < vertices; v++) {
+            dist.set(v, DijkstrasAlgorithm.INFINITY);
+        }
+        dist.set(source, 0);
+
+        // Buckets beyond the current one; may hold stale entries, which are skipped when drained
+        java.util.TreeMap<Long, IntList> buckets = new java.util.TreeMap<>();
+        int[] frontierStamp = new int[vertices]; // Deduplicates a frontier
+        int[] settledStamp = new int[vertices];  // Deduplicates the settled set of a bucket
+        int frontierRound = 0;
+        int bucketRound = 0;
+        Relaxer relaxer = new Relaxer(dist);
+
+        long current = 0;
+        IntList pending = new IntList();
+        pending.add(source);
+        IntList frontier = new IntList();
+        IntList settled = new IntList();
+        while (true) {
+            bucketRound++;
+            settled.clear();
+            // Light phases: keep relaxing until the current bucket stops refilling
+            while (pending.size > 0) {
+                frontierRound++;
+                frontier.clear();
+                for (int i = 0; i < pending.size; i++) {
+                    int v = pending.data[i];
+                    if (dist.get(v) / delta != current || frontierStamp[v] == frontierRound) {
+                        continue; // Moved to another bucket, or already in this frontier
+                    }
+                    frontierStamp[v] = frontierRound;
+                    frontier.add(v);
+                    if (settledStamp[v] != bucketRound) {
+                        settledStamp[v] = bucketRound;
+                        settled.add(v);
+                    }
+                }
+                relaxer.relax(pool, frontier, true);
+                pending = new IntList();
+                distribute(relaxer, dist, current, pending, buckets);
+            }
+
+            // Heavy phase: heavy edges always land in later buckets, so one pass suffices
+            relaxer.relax(pool, settled, false);
+            distribute(relaxer, dist, current, pending, buckets);
+
+            java.util.Map.Entry<Long, IntList> next = buckets.pollFirstEntry();
+            if (next == null) {
+                break;
+            }
+            current = next.getKey();
+            pending = next.getValue();
+        }
+
+        long[] result = new long[vertices];
+        for (int v = 0; v < vertices; v++) {
+            result[v] = dist.get(v);
+        }
+        return result;
+    }
+
+    // Route every vertex improved in the last phase to the current frontier or a later bucket
+    private void distribute(Relaxer relaxer, AtomicLongArray dist, long current, IntList pending,
+                            java.util.TreeMap<Long, IntList> buckets) {
+        for (int c = 0; c < relaxer.usedChunks; c++) {
+            IntList improved = relaxer.outputs[c];
+            for (int i = 0; i < improved.size; i++) {
+                int v = improved.data[i];
+                long bucket = dist.get(v) / delta;
+                if (bucket == current) {
+                    pending.add(v);
+                } else {
+                    buckets.computeIfAbsent(bucket, b -> new IntList()).add(v);
+                }
+            }
+        }
+    }
+
+    // Runs one relaxation phase in parallel; each leaf chunk records the vertices it improved
+    private class Relaxer {
+        private final AtomicLongArray dist;
+        private IntList[] outputs = new IntList[0];
+        private int usedChunks;
+
+        Relaxer(AtomicLongArray dist) {
+            this.dist = dist;
+        }
+
+        void relax(ForkJoinPool pool, IntList sources, boolean light) {
+            usedChunks = (sources.size + CHUNK - 1) / CHUNK;
+            if (outputs.length < usedChunks) {
+                IntList[] grown = java.util.Arrays.copyOf(outputs, usedChunks);
+                for (int c = outputs.length; c < usedChunks; c++) {
+                    grown[c] = new IntList();
+                }
+                outputs = grown;
+            }
+            ParallelChunks.run(pool, usedChunks, chunk -> relaxChunk(sources, chunk, light));
+        }
+
+        private void relaxChunk(IntList sources, int chunk, boolean light) {
+            IntList out = outputs[chunk];
+            out.clear();
+            int end = Math.min(sources.size, (chunk + 1) * CHUNK);
+            for (int i = chunk * CHUNK; i < end; i++) {
+                int u = sources.data[i];
+                long du = dist.get(u);
+                int from = light ? offsets[u] : lightEnd[u];
+                int to = light ? lightEnd[u] : offsets[u + 1];
+                for (int e = from; e < to; e++) {
+                    int v = targets[e];
+                    if (atomicMin(v, du + weights[e])) {
+                        out.add(v);
+                    }
+                }
+            }
+        }
+
+        // Lower dist[v] to candidate unless another thread already wrote something smaller
+        private boolean atomicMin(int v, long candidate) {
+            long seen = dist.get(v);
+            while (candidate < seen) {
+                if (dist.compareAndSet(v, seen, candidate)) {
+                    return true;
+                }
+                seen = dist.get(v);
+            }
+            return false;
+        }
+    }
+
+    // Minimal growable int array
+    private static class IntList {
+        int[] data = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == data.length) {
+                data = java.util.Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+
+    // Example usage: validate against sequential Dijkstra and measure scaling from 1 to N workers
+    public static void main(String[] args) {
+        int n = 1_000_000;
+        int edgesPerVertex = 8;
+        DijkstrasAlgorithm graph = new DijkstrasAlgorithm(n);
+        java.util.Random random = new java.util.Random(21);
+        for (int v = 0; v < n; v++) {
+            for (int i = 0; i < edgesPerVertex; i++) {
+                graph.addEdge(v, random.nextInt(n), 1 + random.nextInt(10_000));
+            }
+        }
+
+        long start = System.nanoTime();
+        DijkstrasAlgorithm.Query query = graph.newQuery();
+        query.run(0);
+        long[] expected = query.distances().clone();
+        System.out.printf("Sequential Dijkstra: %.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+        DeltaStepping deltaStepping = new DeltaStepping(graph);
+        System.out.println("Auto-tuned delta: " + deltaStepping.delta());
+        int maxWorkers = Runtime.getRuntime().availableProcessors();
+        for (int workers = 1; workers <= maxWorkers; workers *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(workers);
+            long best = Long.MAX_VALUE;
+            long[] result = null;
+            for (int run = 0; run < 3; run++) {
+                start = System.nanoTime();
+                result = deltaStepping.shortestPaths(0, pool);
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            pool.shutdown();
+            System.out.printf("Delta-stepping with %d worker(s): %.1f ms, matches Dijkstra: %b%n",
+                    workers, best / 1e6, java.util.Arrays.equals(result, expected));
+        }
+    }
+}
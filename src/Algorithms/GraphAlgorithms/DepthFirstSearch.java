@@ -1,72 +1,399 @@
 package Algorithms.GraphAlgorithms;
 
+/**
+ * A class implementing Depth-First Search (DFS) in Java without recursion.
+ * Edges are stored in primitive arrays and packed into CSR form. Traversals keep an explicit
+ * stack of vertices plus a per-vertex edge cursor, so their depth is limited only by the heap,
+ * not the thread stack: long paths in dependency graphs no longer cause StackOverflowError.
+ * A Visitor receives enter/exit callbacks and every edge classified as tree, back, forward
+ * or cross, using only primitive arguments. Tarjan's strongly connected components,
+ * articulation points and bridges are built on top of the same engine.
+ */
 public class DepthFirstSearch {
-    // Class to represent a graph using adjacency list
-    private static class Graph {
-        private int vertices; // Number of vertices
-        private java.util.LinkedList<Integer>[] adj; // Adjacency list
+    // Parent reported for the root of a DFS tree
+    public static final int NO_PARENT = -1;
 
-        // Constructor
-        @SuppressWarnings("unchecked")
-        Graph(int vertices) {
-            this.vertices = vertices;
-            adj = new java.util.LinkedList[vertices];
-            for (int i = 0; i < vertices; i++) {
-                adj[i] = new java.util.LinkedList<>();
+    // Classification of an edge (from, to) when DFS examines it
+    public enum EdgeType {
+        TREE,    // to was undiscovered and becomes a child of from
+        BACK,    // to is an ancestor of from that is still on the stack
+        FORWARD, // to is an already finished descendant of from
+        CROSS    // to is finished and in another subtree or an earlier tree
+    }
+
+    // Callbacks invoked by the traversal; all default to doing nothing
+    public interface Visitor {
+        // Called when vertex is discovered; parent is NO_PARENT for a root
+        default void enter(int vertex, int parent) {
+        }
+
+        // Called once every edge of vertex has been examined
+        default void exit(int vertex, int parent) {
+        }
+
+        // Called for each edge in adjacency order; edgeId is the index in insertion order
+        default void edge(int from, int to, int edgeId, EdgeType type) {
+        }
+    }
+
+    // Number of vertices and the edges in insertion order
+    private final int vertices;
+    private int[] edgeFrom = new int[16];
+    private int[] edgeTo = new int[16];
+    private int edgeCount;
+
+    // Directed CSR (out-edges) and the undirected view, rebuilt after edges are added
+    private Csr directed, undirected;
+
+    // Adjacency in CSR form; ids[e] is the insertion index of the edge at slot e
+    private static class Csr {
+        final int[] offsets, targets, ids;
+
+        Csr(int[] offsets, int[] targets, int[] ids) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.ids = ids;
+        }
+    }
+
+    // Constructor
+    public DepthFirstSearch(int vertices) {
+        if (vertices < 0) {
+            throw new IllegalArgumentException("Number of vertices must be non-negative");
+        }
+        this.vertices = vertices;
+    }
+
+    // Add an edge to the graph
+    public void addEdge(int v, int w) {
+        if (v < 0 || v >= vertices || w < 0 || w >= vertices) {
+            throw new IllegalArgumentException("Vertex index out of bounds");
+        }
+        if (edgeCount == edgeFrom.length) {
+            edgeFrom = java.util.Arrays.copyOf(edgeFrom, edgeCount * 2);
+            edgeTo = java.util.Arrays.copyOf(edgeTo, edgeCount * 2);
+        }
+        edgeFrom[edgeCount] = v;
+        edgeTo[edgeCount] = w; // Directed graph
+        edgeCount++;
+        directed = null;
+        undirected = null;
+    }
+
+    public int vertexCount() {
+        return vertices;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    public int edgeSource(int edgeId) {
+        return edgeFrom[edgeId];
+    }
+
+    public int edgeTarget(int edgeId) {
+        return edgeTo[edgeId];
+    }
+
+    // Directed CSR arrays for other algorithms in this package: {offsets, targets}
+    int[][] csrArrays() {
+        Csr graph = directed();
+        return new int[][]{graph.offsets, graph.targets};
+    }
+
+    // Stable counting sort of the edges by source; with both directions for the undirected view
+    private Csr buildCsr(boolean bothDirections) {
+        int slots = bothDirections ? 2 * edgeCount : edgeCount;
+        int[] offsets = new int[vertices + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            offsets[edgeFrom[e] + 1]++;
+            if (bothDirections) {
+                offsets[edgeTo[e] + 1]++;
+            }
+        }
+        for (int v = 0; v < vertices; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] next = java.util.Arrays.copyOf(offsets, vertices);
+        int[] targets = new int[slots];
+        int[] ids = new int[slots];
+        for (int e = 0; e < edgeCount; e++) {
+            int slot = next[edgeFrom[e]]++;
+            targets[slot] = edgeTo[e];
+            ids[slot] = e;
+            if (bothDirections) {
+                slot = next[edgeTo[e]]++;
+                targets[slot] = edgeFrom[e];
+                ids[slot] = e;
             }
         }
+        return new Csr(offsets, targets, ids);
+    }
+
+    private Csr directed() {
+        if (directed == null) {
+            directed = buildCsr(false);
+        }
+        return directed;
+    }
 
-        // Add an edge to the graph
-        void addEdge(int v, int w) {
-            adj[v].add(w); // Directed graph
+    private Csr undirected() {
+        if (undirected == null) {
+            undirected = buildCsr(true);
         }
+        return undirected;
+    }
 
-        // Perform DFS starting from a given vertex
-        void dfs(int startVertex) {
-            // Mark all vertices as not visited
-            boolean[] visited = new boolean[vertices];
+    // Explicit-stack DFS state over one CSR; vertices stay discovered across visit() calls
+    private class Engine {
+        private final Csr csr;
+        private final int[] order;  // Discovery index, or -1 if undiscovered
+        private final boolean[] finished;
+        private final int[] cursor; // Next edge slot to examine for each vertex on the stack
+        private final int[] stack;
+        private int clock;
 
-            // Call recursive DFS helper
-            System.out.print("DFS starting from vertex " + startVertex + ": ");
-            dfsUtil(startVertex, visited);
-            System.out.println();
+        Engine(Csr csr) {
+            this.csr = csr;
+            this.order = new int[vertices];
+            this.finished = new boolean[vertices];
+            this.cursor = new int[vertices];
+            this.stack = new int[vertices];
+            java.util.Arrays.fill(order, -1);
         }
 
-        // Recursive helper for DFS
-        private void dfsUtil(int vertex, boolean[] visited) {
-            // Mark current vertex as visited
-            visited[vertex] = true;
-            System.out.print(vertex + " ");
+        boolean discovered(int vertex) {
+            return order[vertex] >= 0;
+        }
 
-            // Explore all adjacent vertices
-            for (int neighbor : adj[vertex]) {
-                if (!visited[neighbor]) {
-                    dfsUtil(neighbor, visited);
+        void visit(int root, Visitor visitor) {
+            int top = 0;
+            discover(root, NO_PARENT, visitor);
+            stack[top++] = root;
+            while (top > 0) {
+                int u = stack[top - 1];
+                if (cursor[u] < csr.offsets[u + 1]) {
+                    // Examine the next edge of the vertex on top of the stack
+                    int e = cursor[u]++;
+                    int v = csr.targets[e];
+                    if (order[v] < 0) {
+                        visitor.edge(u, v, csr.ids[e], EdgeType.TREE);
+                        discover(v, u, visitor);
+                        stack[top++] = v;
+                    } else if (!finished[v]) {
+                        visitor.edge(u, v, csr.ids[e], EdgeType.BACK);
+                    } else if (order[u] < order[v]) {
+                        visitor.edge(u, v, csr.ids[e], EdgeType.FORWARD);
+                    } else {
+                        visitor.edge(u, v, csr.ids[e], EdgeType.CROSS);
+                    }
+                } else {
+                    // All edges examined: pop the vertex, its parent is the entry below it
+                    top--;
+                    finished[u] = true;
+                    visitor.exit(u, top > 0 ? stack[top - 1] : NO_PARENT);
                 }
             }
         }
 
-        // Perform DFS for the entire graph (handles disconnected components)
-        void dfsAll() {
-            // Mark all vertices as not visited
-            boolean[] visited = new boolean[vertices];
-            System.out.println("DFS traversal of entire graph:");
+        private void discover(int vertex, int parent, Visitor visitor) {
+            order[vertex] = clock++;
+            cursor[vertex] = csr.offsets[vertex];
+            visitor.enter(vertex, parent);
+        }
+    }
+
+    // Run DFS from startVertex, reporting every reachable vertex and edge to the visitor
+    public void traverse(int startVertex, Visitor visitor) {
+        if (startVertex < 0 || startVertex >= vertices) {
+            throw new IllegalArgumentException("Start vertex out of bounds");
+        }
+        new Engine(directed()).visit(startVertex, visitor);
+    }
 
-            // Visit each unvisited vertex
-            for (int i = 0; i < vertices; i++) {
-                if (!visited[i]) {
+    // Run DFS over the whole graph, starting a new tree at each undiscovered vertex in index order
+    public void traverseAll(Visitor visitor) {
+        Engine engine = new Engine(directed());
+        for (int v = 0; v < vertices; v++) {
+            if (!engine.discovered(v)) {
+                engine.visit(v, visitor);
+            }
+        }
+    }
+
+    // Perform DFS starting from a given vertex
+    public void dfs(int startVertex) {
+        System.out.print("DFS starting from vertex " + startVertex + ": ");
+        traverse(startVertex, new Visitor() {
+            @Override
+            public void enter(int vertex, int parent) {
+                System.out.print(vertex + " ");
+            }
+        });
+        System.out.println();
+    }
+
+    // Perform DFS for the entire graph (handles disconnected components)
+    public void dfsAll() {
+        System.out.println("DFS traversal of entire graph:");
+        traverseAll(new Visitor() {
+            @Override
+            public void enter(int vertex, int parent) {
+                if (parent == NO_PARENT) {
                     System.out.print("Component: ");
-                    dfsUtil(i, visited);
+                }
+                System.out.print(vertex + " ");
+            }
+
+            @Override
+            public void exit(int vertex, int parent) {
+                if (parent == NO_PARENT) {
                     System.out.println();
                 }
             }
+        });
+    }
+
+    /**
+     * Tarjan's strongly connected components. Returns the component id of every vertex.
+     * Ids are assigned in the order components are completed, which is a reverse topological
+     * order of the condensation: every edge between components goes from a higher id to a lower one.
+     */
+    public int[] stronglyConnectedComponents() {
+        int[] component = new int[vertices];
+        int[] index = new int[vertices];
+        int[] low = new int[vertices];
+        boolean[] onStack = new boolean[vertices];
+        int[] sccStack = new int[vertices];
+        traverseAll(new Visitor() {
+            private int counter, top, components;
+
+            @Override
+            public void enter(int vertex, int parent) {
+                index[vertex] = low[vertex] = counter++;
+                sccStack[top++] = vertex;
+                onStack[vertex] = true;
+            }
+
+            @Override
+            public void edge(int from, int to, int edgeId, EdgeType type) {
+                // Non-tree edges into the current stack can lower the low-link
+                if (type != EdgeType.TREE && onStack[to]) {
+                    low[from] = Math.min(low[from], index[to]);
+                }
+            }
+
+            @Override
+            public void exit(int vertex, int parent) {
+                if (low[vertex] == index[vertex]) {
+                    // vertex is the root of a component: pop it off the SCC stack
+                    int member;
+                    do {
+                        member = sccStack[--top];
+                        onStack[member] = false;
+                        component[member] = components;
+                    } while (member != vertex);
+                    components++;
+                }
+                if (parent != NO_PARENT) {
+                    low[parent] = Math.min(low[parent], low[vertex]);
+                }
+            }
+        });
+        return component;
+    }
+
+    // Articulation points of the graph with edge directions ignored, in increasing order
+    public int[] articulationPoints() {
+        boolean[] cut = new Biconnectivity().cutVertices;
+        int count = 0;
+        for (boolean c : cut) {
+            if (c) {
+                count++;
+            }
+        }
+        int[] points = new int[count];
+        count = 0;
+        for (int v = 0; v < vertices; v++) {
+            if (cut[v]) {
+                points[count++] = v;
+            }
+        }
+        return points;
+    }
+
+    // Ids of the bridge edges with edge directions ignored, in increasing order
+    public int[] bridges() {
+        Biconnectivity result = new Biconnectivity();
+        int[] bridges = java.util.Arrays.copyOf(result.bridges, result.bridgeCount);
+        java.util.Arrays.sort(bridges);
+        return bridges;
+    }
+
+    // Low-link computation (Hopcroft-Tarjan) over the undirected view
+    private class Biconnectivity implements Visitor {
+        final boolean[] cutVertices = new boolean[vertices];
+        int[] bridges = new int[16];
+        int bridgeCount;
+        private final int[] discovery = new int[vertices];
+        private final int[] low = new int[vertices];
+        private final int[] treeEdge = new int[vertices]; // Edge id used to reach each vertex
+        private final int[] children = new int[vertices];
+        private int clock;
+
+        Biconnectivity() {
+            Engine engine = new Engine(undirected());
+            for (int v = 0; v < vertices; v++) {
+                if (!engine.discovered(v)) {
+                    engine.visit(v, this);
+                }
+            }
+        }
+
+        @Override
+        public void enter(int vertex, int parent) {
+            discovery[vertex] = low[vertex] = clock++;
+            if (parent == NO_PARENT) {
+                treeEdge[vertex] = -1;
+            }
+        }
+
+        @Override
+        public void edge(int from, int to, int edgeId, EdgeType type) {
+            if (type == EdgeType.TREE) {
+                treeEdge[to] = edgeId;
+                children[from]++;
+            } else if (type == EdgeType.BACK && edgeId != treeEdge[from]) {
+                // Skip only the edge we came in on, so parallel edges still count as cycles
+                low[from] = Math.min(low[from], discovery[to]);
+            }
+        }
+
+        @Override
+        public void exit(int vertex, int parent) {
+            if (parent == NO_PARENT) {
+                // A root is a cut vertex exactly when it has more than one DFS child
+                cutVertices[vertex] = children[vertex] > 1;
+                return;
+            }
+            low[parent] = Math.min(low[parent], low[vertex]);
+            if (low[vertex] > discovery[parent]) {
+                if (bridgeCount == bridges.length) {
+                    bridges = java.util.Arrays.copyOf(bridges, bridgeCount * 2);
+                }
+                bridges[bridgeCount++] = treeEdge[vertex];
+            }
+            if (low[vertex] >= discovery[parent] && treeEdge[parent] != -1) {
+                cutVertices[parent] = true;
+            }
         }
     }
 
     // Example usage
     public static void main(String[] args) {
         // Create a graph with 6 vertices
-        Graph graph = new Graph(6);
+        DepthFirstSearch graph = new DepthFirstSearch(6);
 
         // Add edges
         graph.addEdge(0, 1);
@@ -85,11 +412,51 @@ public class DepthFirstSearch {
 
         // Test with a disconnected graph
         System.out.println("\nTesting disconnected graph:");
-        Graph disconnectedGraph = new Graph(6);
+        DepthFirstSearch disconnectedGraph = new DepthFirstSearch(6);
         disconnectedGraph.addEdge(0, 1);
         disconnectedGraph.addEdge(1, 2);
         disconnectedGraph.addEdge(3, 4);
         disconnectedGraph.addEdge(4, 5);
         disconnectedGraph.dfsAll();
+
+        // Strongly connected components: {0, 1, 2}, {3, 4}, {5}
+        System.out.println("\nTesting strongly connected components:");
+        DepthFirstSearch sccGraph = new DepthFirstSearch(6);
+        sccGraph.addEdge(0, 1);
+        sccGraph.addEdge(1, 2);
+        sccGraph.addEdge(2, 0);
+        sccGraph.addEdge(2, 3);
+        sccGraph.addEdge(3, 4);
+        sccGraph.addEdge(4, 3);
+        sccGraph.addEdge(4, 5);
+        System.out.println("Component ids: " + java.util.Arrays.toString(sccGraph.stronglyConnectedComponents()));
+
+        // Articulation points and bridges: two triangles joined by the bridge 2-3
+        System.out.println("\nTesting articulation points and bridges:");
+        DepthFirstSearch bridgeGraph = new DepthFirstSearch(6);
+        bridgeGraph.addEdge(0, 1);
+        bridgeGraph.addEdge(1, 2);
+        bridgeGraph.addEdge(2, 0);
+        bridgeGraph.addEdge(2, 3);
+        bridgeGraph.addEdge(3, 4);
+        bridgeGraph.addEdge(4, 5);
+        bridgeGraph.addEdge(5, 3);
+        System.out.println("Articulation points: " + java.util.Arrays.toString(bridgeGraph.articulationPoints()));
+        for (int id : bridgeGraph.bridges()) {
+            System.out.println("Bridge: " + bridgeGraph.edgeSource(id) + " - " + bridgeGraph.edgeTarget(id));
+        }
+
+        // A path of a million vertices would overflow the thread stack with recursive DFS
+        System.out.println("\nTesting a path of 1,000,000 vertices:");
+        int n = 1_000_000;
+        DepthFirstSearch path = new DepthFirstSearch(n);
+        for (int v = 0; v + 1 < n; v++) {
+            path.addEdge(v, v + 1);
+        }
+        System.out.println("Bridges of the path: " + path.bridges().length);
+        path.addEdge(n - 1, 0); // Close the cycle
+        int[] components = path.stronglyConnectedComponents();
+        System.out.println("Vertices in the component of vertex 0 after closing the cycle: "
+                + java.util.Arrays.stream(components).filter(c -> c == components[0]).count());
     }
 }
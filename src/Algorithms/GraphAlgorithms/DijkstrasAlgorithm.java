@@ -1,102 +1,399 @@
 package Algorithms.GraphAlgorithms;
 
+import DataStructures.Heaps.IndexedMinHeap;
+
 /**
  * A class implementing Dijkstra's Algorithm in Java.
  * Dijkstra's Algorithm finds the shortest paths from a source vertex to all other
  * vertices in a weighted directed graph with non-negative weights.
- * This implementation uses an adjacency list and a priority queue for efficiency.
+ * Edges are collected with addEdge and packed into a compressed sparse row (CSR) layout
+ * (offsets/targets/weights arrays) before the first query. Queries use an indexed d-ary heap
+ * with decrease-key, so every vertex is settled exactly once and no objects are created per
+ * relaxation. A Query holds all per-search state and can be reused for any number of sources.
  */
 public class DijkstrasAlgorithm {
-    // Class to represent an edge in the graph
-    private static class Edge {
-        int dest, weight;
+    // Distance reported for unreachable vertices
+    public static final long INFINITY = Long.MAX_VALUE;
+    // Parent reported for the source and for unreachable vertices
+    public static final int NO_PARENT = -1;
+
+    // Number of vertices and the edges in insertion order (structure of arrays)
+    private final int vertices;
+    private int[] edgeSrc = new int[16];
+    private int[] edgeDest = new int[16];
+    private int[] edgeWeight = new int[16];
+    private int edgeCount;
+
+    // CSR adjacency of the graph and of its reverse, rebuilt after edges are added
+    private Csr forward;
+    private Csr backward;
+    private boolean csrStale = true;
 
-        Edge(int dest, int weight) {
-            this.dest = dest;
-            this.weight = weight;
+    // Compressed sparse row adjacency: the edges of u are targets/weights[offsets[u] .. offsets[u+1]-1]
+    private static class Csr {
+        final int[] offsets;
+        final int[] targets;
+        final int[] weights;
+
+        Csr(int[] offsets, int[] targets, int[] weights) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
         }
     }
 
-    // Class to represent a vertex and its distance for the priority queue
-    private static class Vertex implements Comparable<Vertex> {
-        int id, distance;
+    /**
+     * A lower bound on the remaining distance from a vertex to the target, used by A*.
+     * It must never overestimate (admissible); if it is also consistent, every vertex
+     * is settled at most once.
+     */
+    @FunctionalInterface
+    public interface Heuristic {
+        long estimate(int vertex, int target);
+    }
 
-        Vertex(int id, int distance) {
-            this.id = id;
-            this.distance = distance;
+    // Straight-line distance heuristic for vertices with planar coordinates; admissible as long as
+    // every edge weight is at least minCostPerUnit times the Euclidean length of the edge
+    public static Heuristic coordinates(double[] x, double[] y, double minCostPerUnit) {
+        if (x == null || y == null || x.length != y.length || minCostPerUnit < 0) {
+            throw new IllegalArgumentException("Invalid coordinates or cost factor");
         }
+        return (vertex, target) -> (long) (Math.hypot(x[vertex] - x[target], y[vertex] - y[target]) * minCostPerUnit);
+    }
+
+    // Result of a point-to-point query
+    public static class PathResult {
+        public final long distance;       // INFINITY when the target is unreachable
+        public final int[] path;          // source..target, empty when unreachable
+        public final int settledVertices; // How much of the graph the search had to touch
 
-        @Override
-        public int compareTo(Vertex other) {
-            return Integer.compare(this.distance, other.distance);
+        PathResult(long distance, int[] path, int settledVertices) {
+            this.distance = distance;
+            this.path = path;
+            this.settledVertices = settledVertices;
         }
     }
 
-    // Number of vertices and adjacency list for the graph
-    private int vertices;
-    private java.util.List<Edge>[] adjList;
-
     // Constructor to initialize the graph
-    @SuppressWarnings("unchecked")
     public DijkstrasAlgorithm(int vertices) {
-        this.vertices = vertices;
-        adjList = new java.util.ArrayList[vertices];
-        for (int i = 0; i < vertices; i++) {
-            adjList[i] = new java.util.ArrayList<>();
+        if (vertices < 0) {
+            throw new IllegalArgumentException("Number of vertices must be non-negative");
         }
+        this.vertices = vertices;
     }
 
     // Method to add an edge to the graph
-    public void addEdge(int src, int dest, int weight) {
+    public synchronized void addEdge(int src, int dest, int weight) {
         if (src < 0 || src >= vertices || dest < 0 || dest >= vertices || weight < 0) {
             throw new IllegalArgumentException("Invalid vertex or negative weight");
         }
-        adjList[src].add(new Edge(dest, weight));
+        if (edgeCount == edgeSrc.length) {
+            int capacity = edgeCount * 2;
+            edgeSrc = java.util.Arrays.copyOf(edgeSrc, capacity);
+            edgeDest = java.util.Arrays.copyOf(edgeDest, capacity);
+            edgeWeight = java.util.Arrays.copyOf(edgeWeight, capacity);
+        }
+        edgeSrc[edgeCount] = src;
+        edgeDest[edgeCount] = dest;
+        edgeWeight[edgeCount] = weight;
+        edgeCount++;
+        csrStale = true;
     }
 
-    // Method to run Dijkstra's algorithm from a source vertex
-    public void dijkstra(int source) {
-        if (source < 0 || source >= vertices) {
-            throw new IllegalArgumentException("Source vertex out of bounds");
+    public int vertexCount() {
+        return vertices;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    // Pack the edge list into forward and reverse CSR arrays
+    private synchronized void ensureCsr() {
+        if (!csrStale) {
+            return;
         }
+        forward = buildCsr(edgeSrc, edgeDest);
+        backward = buildCsr(edgeDest, edgeSrc);
+        csrStale = false;
+    }
 
-        // Initialize distances
-        int[] distance = new int[vertices];
-        for (int i = 0; i < vertices; i++) {
-            distance[i] = Integer.MAX_VALUE;
+    // Forward CSR arrays for other algorithms in this package: {offsets, targets, weights}
+    int[][] csrArrays() {
+        ensureCsr();
+        Csr graph = forward;
+        return new int[][]{graph.offsets, graph.targets, graph.weights};
+    }
+
+    // Counting sort of the edges on their 'from' endpoint
+    private Csr buildCsr(int[] from, int[] to) {
+        int[] offsets = new int[vertices + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            offsets[from[e] + 1]++;
+        }
+        for (int v = 0; v < vertices; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] next = java.util.Arrays.copyOf(offsets, vertices);
+        int[] targets = new int[edgeCount];
+        int[] weights = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            int slot = next[from[e]]++;
+            targets[slot] = to[e];
+            weights[slot] = edgeWeight[e];
+        }
+        return new Csr(offsets, targets, weights);
+    }
+
+    // Create reusable search state for this graph (one per thread)
+    public Query newQuery() {
+        return new Query();
+    }
+
+    // Distances, parents and heap of one search direction; reset costs O(vertices reached)
+    private class SearchSpace {
+        final long[] dist = new long[vertices];
+        final int[] parent = new int[vertices];
+        final IndexedMinHeap heap = new IndexedMinHeap(vertices);
+        final int[] touched = new int[vertices];
+        int touchedCount;
+        int settled;
+
+        SearchSpace() {
+            java.util.Arrays.fill(dist, INFINITY);
+            java.util.Arrays.fill(parent, NO_PARENT);
+        }
+
+        // Lower dist[v]; the first time a vertex gets a finite distance it is remembered for reset
+        void improve(int v, long distance, int from) {
+            if (dist[v] == INFINITY) {
+                touched[touchedCount++] = v;
+            }
+            dist[v] = distance;
+            parent[v] = from;
+        }
+
+        // Settled means reached and already removed from the heap
+        boolean isSettled(int v) {
+            return dist[v] != INFINITY && !heap.contains(v);
+        }
+
+        // Undo only the entries written by the previous search
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                int v = touched[i];
+                dist[v] = INFINITY;
+                parent[v] = NO_PARENT;
+            }
+            touchedCount = 0;
+            settled = 0;
+            heap.clear();
+        }
+    }
+
+    /**
+     * Per-search state: distance and parent arrays plus the heap.
+     * Only the vertices reached by the previous run are reset, so a query that explores a
+     * small part of the graph costs time proportional to that part, not to the graph size.
+     * The arrays returned by distances() and parents() are overwritten by the next run.
+     */
+    public class Query {
+        private final SearchSpace forwardSpace = new SearchSpace();
+        private SearchSpace backwardSpace; // Only allocated once a bidirectional query runs
+
+        private Query() {
+        }
+
+        // Compute shortest distances from source to every reachable vertex
+        public void run(int source) {
+            checkVertex(source);
+            ensureCsr();
+            SearchSpace space = forwardSpace;
+            resetAll();
+            Csr graph = forward;
+            int[] offsets = graph.offsets, targets = graph.targets, weights = graph.weights;
+            long[] dist = space.dist;
+
+            space.improve(source, 0, NO_PARENT);
+            space.heap.insert(source, 0);
+            while (!space.heap.isEmpty()) {
+                int u = space.heap.poll();
+                space.settled++;
+                long du = dist[u];
+                // Relax every out-edge of the settled vertex
+                for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                    int v = targets[e];
+                    long candidate = du + weights[e];
+                    if (candidate < dist[v]) {
+                        space.improve(v, candidate, u);
+                        space.heap.insertOrDecrease(v, candidate);
+                    }
+                }
+            }
         }
-        distance[source] = 0;
 
-        // Priority queue to store vertices and their distances
-        java.util.PriorityQueue<Vertex> pq = new java.util.PriorityQueue<>();
-        pq.add(new Vertex(source, 0));
+        // Bidirectional Dijkstra: grow a forward search from source and a backward search from
+        // target, always expanding the side with the smaller tentative distance, and stop once
+        // the two frontiers together cannot beat the best meeting point found so far
+        public PathResult shortestPath(int source, int target) {
+            checkVertex(source);
+            checkVertex(target);
+            ensureCsr();
+            if (backwardSpace == null) {
+                backwardSpace = new SearchSpace();
+            }
+            resetAll();
+            SearchSpace fwd = forwardSpace, bwd = backwardSpace;
+            fwd.improve(source, 0, NO_PARENT);
+            fwd.heap.insert(source, 0);
+            bwd.improve(target, 0, NO_PARENT);
+            bwd.heap.insert(target, 0);
+
+            long best = source == target ? 0 : INFINITY;
+            int meeting = source == target ? source : NO_PARENT;
+            while (!fwd.heap.isEmpty() && !bwd.heap.isEmpty()) {
+                long topF = fwd.heap.peekKey(), topB = bwd.heap.peekKey();
+                if (best != INFINITY && topF + topB >= best) {
+                    break; // No undiscovered path can be shorter than the best meeting point
+                }
+                boolean forwardStep = topF <= topB;
+                SearchSpace side = forwardStep ? fwd : bwd;
+                SearchSpace other = forwardStep ? bwd : fwd;
+                Csr graph = forwardStep ? forward : backward;
+
+                int u = side.heap.poll();
+                side.settled++;
+                long du = side.dist[u];
+                for (int e = graph.offsets[u], end = graph.offsets[u + 1]; e < end; e++) {
+                    int v = graph.targets[e];
+                    long candidate = du + graph.weights[e];
+                    if (candidate < side.dist[v]) {
+                        side.improve(v, candidate, u);
+                        side.heap.insertOrDecrease(v, candidate);
+                    }
+                    // Every edge into territory reached by the other side is a potential meeting point
+                    if (other.dist[v] != INFINITY && candidate + other.dist[v] < best) {
+                        best = candidate + other.dist[v];
+                        meeting = v;
+                    }
+                }
+            }
 
-        // Process vertices
-        while (!pq.isEmpty()) {
-            int u = pq.poll().id;
+            int settled = fwd.settled + bwd.settled;
+            if (meeting == NO_PARENT) {
+                return new PathResult(INFINITY, new int[0], settled);
+            }
+            // Forward parents lead back to source, backward parents lead on to target
+            int[] head = walkParents(fwd.parent, meeting);
+            int tailLength = 0;
+            for (int v = bwd.parent[meeting]; v != NO_PARENT; v = bwd.parent[v]) {
+                tailLength++;
+            }
+            int[] path = java.util.Arrays.copyOf(head, head.length + tailLength);
+            int i = head.length;
+            for (int v = bwd.parent[meeting]; v != NO_PARENT; v = bwd.parent[v]) {
+                path[i++] = v;
+            }
+            return new PathResult(best, path, settled);
+        }
 
-            // Explore all adjacent vertices of u
-            for (Edge edge : adjList[u]) {
-                int v = edge.dest;
-                int weight = edge.weight;
+        // A* search: Dijkstra ordered by distance-so-far plus the heuristic's remaining estimate.
+        // The search stops as soon as the target is settled
+        public PathResult shortestPath(int source, int target, Heuristic heuristic) {
+            checkVertex(source);
+            checkVertex(target);
+            if (heuristic == null) {
+                throw new IllegalArgumentException("Heuristic must not be null");
+            }
+            ensureCsr();
+            resetAll();
+            SearchSpace space = forwardSpace;
+            Csr graph = forward;
+            long[] dist = space.dist;
 
-                // Relax the edge if a shorter path is found
-                if (distance[u] != Integer.MAX_VALUE && distance[u] + weight < distance[v]) {
-                    distance[v] = distance[u] + weight;
-                    pq.add(new Vertex(v, distance[v]));
+            space.improve(source, 0, NO_PARENT);
+            space.heap.insert(source, heuristic.estimate(source, target));
+            while (!space.heap.isEmpty()) {
+                int u = space.heap.poll();
+                space.settled++;
+                if (u == target) {
+                    return new PathResult(dist[target], walkParents(space.parent, target), space.settled);
                 }
+                long du = dist[u];
+                for (int e = graph.offsets[u], end = graph.offsets[u + 1]; e < end; e++) {
+                    int v = graph.targets[e];
+                    long candidate = du + graph.weights[e];
+                    if (candidate < dist[v]) {
+                        space.improve(v, candidate, u);
+                        // Re-inserts a settled vertex if an inconsistent heuristic closed it too early
+                        space.heap.insertOrDecrease(v, candidate + heuristic.estimate(v, target));
+                    }
+                }
+            }
+            return new PathResult(INFINITY, new int[0], space.settled);
+        }
+
+        // Shortest distance to every vertex from the last run (INFINITY if unreachable)
+        public long[] distances() {
+            return forwardSpace.dist;
+        }
+
+        // Predecessor of every vertex on its shortest path (NO_PARENT for source/unreachable)
+        public int[] parents() {
+            return forwardSpace.parent;
+        }
+
+        public long distance(int v) {
+            return forwardSpace.dist[v];
+        }
+
+        // Vertices on the shortest path from the last source to target, or an empty array
+        public int[] pathTo(int target) {
+            if (forwardSpace.dist[target] == INFINITY) {
+                return new int[0];
             }
+            return walkParents(forwardSpace.parent, target);
         }
 
-        // Print the shortest distances
-        printDistances(distance, source);
+        private void resetAll() {
+            forwardSpace.reset();
+            if (backwardSpace != null) {
+                backwardSpace.reset();
+            }
+        }
+    }
+
+    // Follow parent links from v back to the root and return the path root..v
+    private static int[] walkParents(int[] parent, int v) {
+        int length = 0;
+        for (int u = v; u != NO_PARENT; u = parent[u]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int u = v; u != NO_PARENT; u = parent[u]) {
+            path[--length] = u;
+        }
+        return path;
+    }
+
+    private void checkVertex(int v) {
+        if (v < 0 || v >= vertices) {
+            throw new IllegalArgumentException("Vertex " + v + " out of bounds");
+        }
+    }
+
+    // Method to run Dijkstra's algorithm from a source vertex and print the distances
+    public void dijkstra(int source) {
+        Query query = newQuery();
+        query.run(source);
+        printDistances(query.distances(), source);
     }
 
     // Method to print the shortest distances from the source
-    private void printDistances(int[] distance, int source) {
+    private void printDistances(long[] distance, int source) {
         System.out.println("Shortest distances from vertex " + source + " at 07:30 PM +0530, June 05, 2025:");
         for (int i = 0; i < vertices; i++) {
-            if (distance[i] == Integer.MAX_VALUE) {
+            if (distance[i] == INFINITY) {
                 System.out.println("Vertex " + i + ": Infinity");
             } else {
                 System.out.println("Vertex " + i + ": " + distance[i]);
@@ -132,6 +429,66 @@ public class DijkstrasAlgorithm {
         graph2.dijkstra(0);
         System.out.println();
 
+        // Reusing one query for several sources, with path reconstruction
+        Query query = graph2.newQuery();
+        for (int source = 0; source < 2; source++) {
+            query.run(source);
+            System.out.println("From " + source + ": dist to 4 = " + query.distance(4)
+                    + ", path = " + java.util.Arrays.toString(query.pathTo(4)));
+        }
+        System.out.println();
+
+        // Point-to-point queries on a grid with coordinates: full, bidirectional and A*
+        int side = 300;
+        DijkstrasAlgorithm grid = new DijkstrasAlgorithm(side * side);
+        double[] x = new double[side * side];
+        double[] y = new double[side * side];
+        java.util.Random gridRandom = new java.util.Random(9);
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                int v = r * side + c;
+                x[v] = c;
+                y[v] = r;
+                if (c + 1 < side) {
+                    int w = 10 + gridRandom.nextInt(10); // Weight >= 10 per unit of length
+                    grid.addEdge(v, v + 1, w);
+                    grid.addEdge(v + 1, v, w);
+                }
+                if (r + 1 < side) {
+                    int w = 10 + gridRandom.nextInt(10);
+                    grid.addEdge(v, v + side, w);
+                    grid.addEdge(v + side, v, w);
+                }
+            }
+        }
+        Query gridQuery = grid.newQuery();
+        int from = 100 * side + 100, to = 120 * side + 130;
+        gridQuery.run(from);
+        System.out.println("Grid " + side + "x" + side + ", full Dijkstra: dist = " + gridQuery.distance(to));
+        PathResult bidirectional = gridQuery.shortestPath(from, to);
+        System.out.println("Bidirectional: dist = " + bidirectional.distance + ", settled = "
+                + bidirectional.settledVertices + ", path length = " + bidirectional.path.length);
+        PathResult aStar = gridQuery.shortestPath(from, to, coordinates(x, y, 10));
+        System.out.println("A*: dist = " + aStar.distance + ", settled = "
+                + aStar.settledVertices + ", path length = " + aStar.path.length);
+        System.out.println();
+
+        // Larger random graph: repeated queries on the same state
+        int n = 200_000;
+        DijkstrasAlgorithm large = new DijkstrasAlgorithm(n);
+        java.util.Random random = new java.util.Random(5);
+        for (int i = 0; i < n * 5; i++) {
+            large.addEdge(random.nextInt(n), random.nextInt(n), 1 + random.nextInt(1000));
+        }
+        Query largeQuery = large.newQuery();
+        long start = System.nanoTime();
+        for (int source = 0; source < 10; source++) {
+            largeQuery.run(source);
+        }
+        System.out.printf("10 full queries on %d vertices / %d edges: %.1f ms%n",
+                n, large.edgeCount(), (System.nanoTime() - start) / 1e6);
+        System.out.println();
+
         // Error case: Invalid source
         try {
             graph2.dijkstra(5);
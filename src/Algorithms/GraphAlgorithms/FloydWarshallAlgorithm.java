@@ -1,23 +1,192 @@
 package Algorithms.GraphAlgorithms;
 
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Floyd-Warshall all-pairs shortest paths on a flat row-major int[] distance matrix.
+ * The matrix is processed in square tiles. For every diagonal tile k the algorithm runs three
+ * phases: the diagonal tile itself, then the tiles in row k and column k (which only depend on
+ * the diagonal tile), then all remaining tiles (which only depend on row k and column k). Tiles
+ * inside phases two and three are independent and run in parallel on a ForkJoinPool, and each
+ * tile fits in cache, so the triple loop no longer streams the whole matrix for every k.
+ * Missing edges are INF; results above INF / 2 are normalised back to INF, which stays correct
+ * as long as the sum of negative weights on any path is above -INF / 2.
+ */
 public class FloydWarshallAlgorithm {
     // Constant to represent infinity (no direct path)
     private static final int INF = Integer.MAX_VALUE / 2;
+    // Default tile edge length: a 64 x 64 int tile is 16 KB
+    public static final int DEFAULT_BLOCK_SIZE = 64;
+    // Next-hop entry for pairs with no path
+    public static final int NO_PATH = -1;
 
     // Compute all-pairs shortest paths using Floyd-Warshall algorithm
     public static int[][] floydWarshall(int[][] graph) {
         int V = graph.length;
-        // Initialize the distance matrix
-        int[][] dist = new int[V][V];
+        // Copy the input graph into a flat distance matrix
+        int[] dist = new int[V * V];
+        for (int i = 0; i < V; i++) {
+            System.arraycopy(graph[i], 0, dist, i * V, V);
+        }
 
-        // Copy input graph to distance matrix
+        floydWarshall(dist, V, ForkJoinPool.commonPool());
+
+        int[][] result = new int[V][V];
         for (int i = 0; i < V; i++) {
-            for (int j = 0; j < V; j++) {
-                dist[i][j] = graph[i][j];
+            System.arraycopy(dist, i * V, result[i], 0, V);
+        }
+        return result;
+    }
+
+    // In-place all-pairs shortest paths on an n x n row-major matrix
+    public static int[] floydWarshall(int[] dist, int n, ForkJoinPool pool) {
+        run(dist, null, n, DEFAULT_BLOCK_SIZE, pool);
+        return dist;
+    }
+
+    // In-place all-pairs shortest paths that also returns the next-hop matrix for path reconstruction
+    public static int[] floydWarshallWithNextHop(int[] dist, int n, ForkJoinPool pool) {
+        return floydWarshallWithNextHop(dist, n, DEFAULT_BLOCK_SIZE, pool);
+    }
+
+    // Same as above with an explicit tile size
+    public static int[] floydWarshallWithNextHop(int[] dist, int n, int blockSize, ForkJoinPool pool) {
+        checkArguments(dist, n, blockSize);
+        int[] next = new int[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                next[i * n + j] = i == j ? i : (dist[i * n + j] < INF ? j : NO_PATH);
             }
         }
+        run(dist, next, n, blockSize, pool);
+        return next;
+    }
 
-        // Update distances through each intermediate vertex
+    // Vertices on the shortest path from 'from' to 'to' according to a next-hop matrix
+    public static int[] path(int[] next, int n, int from, int to) {
+        if (next[from * n + to] == NO_PATH) {
+            return new int[0];
+        }
+        int[] path = new int[n];
+        int length = 0;
+        path[length++] = from;
+        while (from != to && length < n) {
+            from = next[from * n + to];
+            path[length++] = from;
+        }
+        return java.util.Arrays.copyOf(path, length);
+    }
+
+    // Run the three-phase tiled algorithm; next may be null; pool may be null for a single thread
+    public static void run(int[] dist, int[] next, int n, int blockSize, ForkJoinPool pool) {
+        checkArguments(dist, n, blockSize);
+        int blocks = (n + blockSize - 1) / blockSize;
+        int[] tiles = new int[2 * blocks * blocks]; // Scratch list of (row block, column block) pairs
+
+        for (int kb = 0; kb < blocks; kb++) {
+            int k0 = kb * blockSize, k1 = Math.min(n, k0 + blockSize);
+
+            // Phase 1: the diagonal tile
+            relaxTile(dist, next, n, k0, k1, k0, k1, k0, k1);
+
+            // Phase 2: tiles in block row kb and block column kb
+            int count = 0;
+            for (int b = 0; b < blocks; b++) {
+                if (b != kb) {
+                    tiles[count++] = kb;
+                    tiles[count++] = b;
+                    tiles[count++] = b;
+                    tiles[count++] = kb;
+                }
+            }
+            runTiles(pool, dist, next, n, blockSize, k0, k1, tiles, count / 2);
+
+            // Phase 3: every other tile
+            count = 0;
+            for (int ib = 0; ib < blocks; ib++) {
+                for (int jb = 0; jb < blocks; jb++) {
+                    if (ib != kb && jb != kb) {
+                        tiles[count++] = ib;
+                        tiles[count++] = jb;
+                    }
+                }
+            }
+            runTiles(pool, dist, next, n, blockSize, k0, k1, tiles, count / 2);
+        }
+
+        // Entries that only grew out of INF plus negative weights are still unreachable
+        for (int i = 0; i < n * n; i++) {
+            if (dist[i] > INF / 2) {
+                dist[i] = INF;
+                if (next != null) {
+                    next[i] = NO_PATH;
+                }
+            }
+        }
+    }
+
+    // Relax a list of independent tiles, in parallel when a pool is given
+    private static void runTiles(ForkJoinPool pool, int[] dist, int[] next, int n, int blockSize,
+                                 int k0, int k1, int[] tiles, int tileCount) {
+        java.util.function.IntConsumer tile = t -> {
+            int i0 = tiles[2 * t] * blockSize, j0 = tiles[2 * t + 1] * blockSize;
+            relaxTile(dist, next, n, i0, Math.min(n, i0 + blockSize), j0, Math.min(n, j0 + blockSize), k0, k1);
+        };
+        if (pool == null) {
+            for (int t = 0; t < tileCount; t++) {
+                tile.accept(t);
+            }
+        } else {
+            ParallelChunks.run(pool, tileCount, tile);
+        }
+    }
+
+    // d[i][j] = min(d[i][j], d[i][k] + d[k][j]) for i in [i0, i1), j in [j0, j1), k in [k0, k1)
+    private static void relaxTile(int[] d, int[] next, int n, int i0, int i1, int j0, int j1, int k0, int k1) {
+        for (int k = k0; k < k1; k++) {
+            int rowK = k * n;
+            for (int i = i0; i < i1; i++) {
+                int rowI = i * n;
+                int dik = d[rowI + k];
+                if (dik > INF / 2) {
+                    continue; // No path from i to k: nothing in this row can improve
+                }
+                if (next == null) {
+                    for (int j = j0; j < j1; j++) {
+                        int dkj = d[rowK + j];
+                        int candidate = dik + dkj; // No overflow: dik <= INF / 2 and d <= INF
+                        if (dkj <= INF / 2 && candidate < d[rowI + j]) {
+                            d[rowI + j] = candidate;
+                        }
+                    }
+                } else {
+                    int hop = next[rowI + k];
+                    for (int j = j0; j < j1; j++) {
+                        int dkj = d[rowK + j];
+                        int candidate = dik + dkj;
+                        // A negative dik must not turn "no path from k to j" into a path
+                        if (dkj <= INF / 2 && candidate < d[rowI + j]) {
+                            d[rowI + j] = candidate;
+                            next[rowI + j] = hop;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void checkArguments(int[] dist, int n, int blockSize) {
+        if (dist == null || n < 0 || dist.length != n * n) {
+            throw new IllegalArgumentException("Distance matrix must be an n x n row-major array");
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be at least 1");
+        }
+    }
+
+    // Textbook triple loop, kept as the benchmark baseline
+    private static void naiveFloydWarshall(int[][] dist) {
+        int V = dist.length;
         for (int k = 0; k < V; k++) {
             for (int i = 0; i < V; i++) {
                 for (int j = 0; j < V; j++) {
@@ -27,8 +196,6 @@ public class FloydWarshallAlgorithm {
                 }
             }
         }
-
-        return dist;
     }
 
     // Print the distance matrix
@@ -82,5 +249,47 @@ public class FloydWarshallAlgorithm {
         int[][] result2 = floydWarshall(graph2);
         System.out.println("\nResulting Shortest Paths for Second Graph:");
         printSolution(result2);
+
+        // Path reconstruction with the next-hop matrix
+        int[] flat = new int[16];
+        for (int i = 0; i < 4; i++) {
+            System.arraycopy(graph2[i], 0, flat, i * 4, 4);
+        }
+        int[] next = floydWarshallWithNextHop(flat, 4, ForkJoinPool.commonPool());
+        System.out.println("\nPath from 1 to 0: " + java.util.Arrays.toString(path(next, 4, 1, 0)));
+
+        // Benchmark: pass "benchmark" to run V = 1k, 4k and 8k (the naive baseline only up to 4k)
+        int[] sizes = args.length > 0 && args[0].equals("benchmark") ? new int[]{1000, 4000, 8000} : new int[]{500};
+        for (int n : sizes) {
+            java.util.Random random = new java.util.Random(n);
+            int[] matrix = new int[n * n];
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    matrix[i * n + j] = i == j ? 0 : (random.nextInt(10) < 3 ? 1 + random.nextInt(100) : INF);
+                }
+            }
+            String naiveTime = "skipped";
+            int[][] jagged = null;
+            if (n <= 4000) {
+                jagged = new int[n][n];
+                for (int i = 0; i < n; i++) {
+                    System.arraycopy(matrix, i * n, jagged[i], 0, n);
+                }
+                long start = System.nanoTime();
+                naiveFloydWarshall(jagged);
+                naiveTime = String.format("%.1f ms", (System.nanoTime() - start) / 1e6);
+            }
+            long start = System.nanoTime();
+            floydWarshall(matrix, n, ForkJoinPool.commonPool());
+            long blocked = System.nanoTime() - start;
+            boolean same = true;
+            for (int i = 0; jagged != null && i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    same &= jagged[i][j] == matrix[i * n + j];
+                }
+            }
+            System.out.printf("V=%d: naive %s, blocked parallel %.1f ms (%d workers), same result: %b%n",
+                    n, naiveTime, blocked / 1e6, ForkJoinPool.commonPool().getParallelism(), same);
+        }
     }
 }
\ No newline at end of file
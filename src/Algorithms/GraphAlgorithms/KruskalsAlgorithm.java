@@ -1,108 +1,207 @@
 package Algorithms.GraphAlgorithms;
 
+import Algorithms.SortingAlgorithms.RadixSort;
+import DataStructures.AdvancedDataStructures.DisjointSet;
+
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * A class implementing Kruskal's Algorithm in Java.
  * Kruskal's Algorithm finds the Minimum Spanning Tree (MST) of a connected, undirected
  * graph with weighted edges. This implementation uses a disjoint-set data structure
  * for efficient union-find operations and sorts edges by weight.
+ * Edges are passed as primitive columns (src[i], dest[i], weight[i]) and sorted as
+ * (weight, edge index) pairs with a radix sort, in parallel for large inputs. filterKruskal()
+ * avoids sorting most of a dense graph: it splits the edges around a pivot weight, solves
+ * the light half first, and then drops every heavy edge whose endpoints are already
+ * connected before looking at the heavy half (Osipov, Sanders and Singler).
  */
 public class KruskalsAlgorithm {
-    // Class to represent an edge in the graph
-    private static class Edge implements Comparable<Edge> {
-        int src, dest, weight;
+    // Edge ranges at or below this size (or the vertex count) are sorted directly
+    private static final int BASE_CASE = 4096;
+    // Sorts at least this large use the parallel radix sort
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 16;
+    // Weights sampled to choose a filter-Kruskal pivot
+    private static final int PIVOT_SAMPLES = 31;
+
+    // A spanning forest as indices into the input columns, in the order they were added
+    public static class Result {
+        public final int[] edges;
+        public final long totalWeight;
+
+        Result(int[] edges, long totalWeight) {
+            this.edges = edges;
+            this.totalWeight = totalWeight;
+        }
+    }
 
-        Edge(int src, int dest, int weight) {
-            this.src = src;
-            this.dest = dest;
+    // Union-find, chosen edges and the sort pool shared by one MST computation
+    private static class State {
+        final int[] weight;
+        final DisjointSet ds;
+        final ForkJoinPool pool;
+        final int vertices;
+        final int[] chosen;
+        int chosenCount;
+        long totalWeight;
+
+        State(int vertices, int[] weight, ForkJoinPool pool) {
+            this.vertices = vertices;
             this.weight = weight;
+            this.pool = pool;
+            this.ds = new DisjointSet(vertices);
+            this.chosen = new int[Math.max(0, vertices - 1)];
+        }
+
+        boolean complete() {
+            return chosenCount == vertices - 1; // MST has V-1 edges
         }
 
-        @Override
-        public int compareTo(Edge other) {
-            return Integer.compare(this.weight, other.weight);
+        Result result() {
+            return new Result(java.util.Arrays.copyOf(chosen, chosenCount), totalWeight);
         }
     }
 
-    // Class to represent a disjoint-set (union-find) data structure
-    private static class DisjointSet {
-        int[] parent, rank;
+    // Classic Kruskal: sort every edge by weight, then keep each one that joins two components
+    public Result minimumSpanningTree(int vertices, int[] src, int[] dest, int[] weight, ForkJoinPool pool) {
+        validate(vertices, src, dest, weight, pool);
+        State state = new State(vertices, weight, pool);
+        int[] ids = identity(src.length);
+        sortAndScan(state, src, dest, ids, 0, ids.length);
+        return state.result();
+    }
+
+    // Filter-Kruskal; returns the same forest as minimumSpanningTree when weights are distinct
+    public Result filterKruskal(int vertices, int[] src, int[] dest, int[] weight, ForkJoinPool pool) {
+        validate(vertices, src, dest, weight, pool);
+        State state = new State(vertices, weight, pool);
+        int[] ids = identity(src.length);
+        filterKruskal(state, src, dest, ids, 0, ids.length);
+        return state.result();
+    }
 
-        DisjointSet(int n) {
-            parent = new int[n];
-            rank = new int[n];
-            for (int i = 0; i < n; i++) {
-                parent[i] = i; // Each node is initially its own parent
+    private void filterKruskal(State state, int[] src, int[] dest, int[] ids, int from, int to) {
+        if (state.complete() || from >= to) {
+            return;
+        }
+        if (to - from <= Math.max(BASE_CASE, state.vertices)) {
+            sortAndScan(state, src, dest, ids, from, to);
+            return;
+        }
+        int pivot = pivotWeight(state.weight, ids, from, to);
+        int split = partition(state.weight, ids, from, to, pivot);
+        if (split == to) {
+            sortAndScan(state, src, dest, ids, from, to); // Pivot is the maximum: no progress possible
+            return;
+        }
+        filterKruskal(state, src, dest, ids, from, split);
+        // Heavy edges inside one component can never join the forest: drop them before recursing
+        int kept = split;
+        for (int i = split; i < to; i++) {
+            int e = ids[i];
+            if (state.ds.find(src[e]) != state.ds.find(dest[e])) {
+                ids[kept++] = e;
             }
         }
+        filterKruskal(state, src, dest, ids, split, kept);
+    }
 
-        // Find the root of a node with path compression
-        int find(int x) {
-            if (parent[x] != x) {
-                parent[x] = find(parent[x]); // Path compression
+    // Median of evenly spaced sample weights from ids[from..to)
+    private static int pivotWeight(int[] weight, int[] ids, int from, int to) {
+        int[] sample = new int[PIVOT_SAMPLES];
+        long span = to - from;
+        for (int i = 0; i < PIVOT_SAMPLES; i++) {
+            sample[i] = weight[ids[from + (int) (span * i / PIVOT_SAMPLES)]];
+        }
+        java.util.Arrays.sort(sample);
+        return sample[PIVOT_SAMPLES / 2];
+    }
+
+    // Move edges with weight <= pivot to the front; returns the first index of the heavy part
+    private static int partition(int[] weight, int[] ids, int from, int to, int pivot) {
+        int i = from, j = to - 1;
+        while (true) {
+            while (i <= j && weight[ids[i]] <= pivot) {
+                i++;
+            }
+            while (i <= j && weight[ids[j]] > pivot) {
+                j--;
             }
-            return parent[x];
-        }
-
-        // Union by rank to merge two sets
-        void union(int x, int y) {
-            int rootX = find(x);
-            int rootY = find(y);
-            if (rootX != rootY) {
-                if (rank[rootX] < rank[rootY]) {
-                    parent[rootX] = rootY;
-                } else if (rank[rootX] > rank[rootY]) {
-                    parent[rootY] = rootX;
-                } else {
-                    parent[rootY] = rootX;
-                    rank[rootX]++;
-                }
+            if (i >= j) {
+                return i;
             }
+            int t = ids[i];
+            ids[i] = ids[j];
+            ids[j] = t;
         }
     }
 
-    // Method to run Kruskal's algorithm to find the MST
-    public void kruskalMST(int vertices, Edge[] edges) {
-        if (vertices <= 0 || edges == null) {
-            throw new IllegalArgumentException("Invalid vertices or edges array");
+    // Radix sort ids[from..to) by weight (stable, so ties keep input order) and run Kruskal's scan
+    private static void sortAndScan(State state, int[] src, int[] dest, int[] ids, int from, int to) {
+        int size = to - from;
+        int[] keys = new int[size];
+        int[] values = java.util.Arrays.copyOfRange(ids, from, to);
+        for (int i = 0; i < size; i++) {
+            keys[i] = state.weight[values[i]];
         }
+        if (size >= PARALLEL_SORT_THRESHOLD) {
+            RadixSort.parallelSort(keys, values, state.pool);
+        } else {
+            RadixSort.sort(keys, values);
+        }
+        for (int i = 0; i < size && !state.complete(); i++) {
+            int e = values[i];
+            // If including this edge does not form a cycle, add it to MST
+            if (state.ds.union(src[e], dest[e])) {
+                state.chosen[state.chosenCount++] = e;
+                state.totalWeight += keys[i];
+            }
+        }
+    }
 
-        // Sort edges by weight
-        java.util.Arrays.sort(edges);
-
-        // Initialize disjoint set for union-find
-        DisjointSet ds = new DisjointSet(vertices);
-        java.util.List<Edge> mst = new java.util.ArrayList<>();
-
-        // Process each edge
-        int edgeCount = 0;
-        for (Edge edge : edges) {
-            int srcRoot = ds.find(edge.src);
-            int destRoot = ds.find(edge.dest);
+    private static int[] identity(int size) {
+        int[] ids = new int[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = i;
+        }
+        return ids;
+    }
 
-            // If including this edge does not form a cycle, add it to MST
-            if (srcRoot != destRoot) {
-                mst.add(edge);
-                ds.union(edge.src, edge.dest);
-                edgeCount++;
-                if (edgeCount == vertices - 1) {
-                    break; // MST has V-1 edges
-                }
+    private static void validate(int vertices, int[] src, int[] dest, int[] weight, ForkJoinPool pool) {
+        if (vertices <= 0 || src == null || dest == null || weight == null
+                || src.length != dest.length || src.length != weight.length) {
+            throw new IllegalArgumentException("Invalid vertices or edges array");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("ForkJoinPool must not be null");
+        }
+        for (int i = 0; i < src.length; i++) {
+            if (src[i] < 0 || src[i] >= vertices || dest[i] < 0 || dest[i] >= vertices) {
+                throw new IllegalArgumentException("Vertex index out of bounds");
             }
         }
+    }
+
+    // Method to run Kruskal's algorithm to find the MST
+    public void kruskalMST(int vertices, int[] src, int[] dest, int[] weight) {
+        Result mst = minimumSpanningTree(vertices, src, dest, weight, ForkJoinPool.commonPool());
 
         // Print the MST
-        printMST(mst);
+        printMST(mst, src, dest, weight);
+    }
+
+    // Total MST weight of an edge list given as columns, without printing
+    public long mstWeight(int vertices, int[] src, int[] dest, int[] weight) {
+        return filterKruskal(vertices, src, dest, weight, ForkJoinPool.commonPool()).totalWeight;
     }
 
     // Method to print the Minimum Spanning Tree
-    private void printMST(java.util.List<Edge> mst) {
-        int totalWeight = 0;
+    private void printMST(Result mst, int[] src, int[] dest, int[] weight) {
         System.out.println("Minimum Spanning Tree edges (at 07:31 PM +0530, June 05, 2025):");
-        for (Edge edge : mst) {
-            System.out.println("Edge: " + edge.src + " - " + edge.dest + ", Weight: " + edge.weight);
-            totalWeight += edge.weight;
+        for (int e : mst.edges) {
+            System.out.println("Edge: " + src[e] + " - " + dest[e] + ", Weight: " + weight[e]);
         }
-        System.out.println("Total MST weight: " + totalWeight);
+        System.out.println("Total MST weight: " + mst.totalWeight);
     }
 
     // Main method to demonstrate Kruskal's algorithm
@@ -111,35 +210,48 @@ public class KruskalsAlgorithm {
 
         // Test Case 1: Simple graph
         int vertices1 = 4;
-        Edge[] edges1 = {
-                new Edge(0, 1, 10),
-                new Edge(0, 2, 6),
-                new Edge(0, 3, 5),
-                new Edge(1, 3, 15),
-                new Edge(2, 3, 4)
-        };
+        int[] src1 = {0, 0, 0, 1, 2};
+        int[] dest1 = {1, 2, 3, 3, 3};
+        int[] weight1 = {10, 6, 5, 15, 4};
         System.out.println("Test Case 1: Simple Graph");
-        kruskal.kruskalMST(vertices1, edges1);
+        kruskal.kruskalMST(vertices1, src1, dest1, weight1);
         System.out.println();
 
         // Test Case 2: Larger graph
         int vertices2 = 5;
-        Edge[] edges2 = {
-                new Edge(0, 1, 7),
-                new Edge(0, 2, 8),
-                new Edge(1, 2, 3),
-                new Edge(1, 3, 6),
-                new Edge(2, 3, 4),
-                new Edge(2, 4, 2),
-                new Edge(3, 4, 5)
-        };
+        int[] src2 = {0, 0, 1, 1, 2, 2, 3};
+        int[] dest2 = {1, 2, 2, 3, 3, 4, 4};
+        int[] weight2 = {7, 8, 3, 6, 4, 2, 5};
         System.out.println("Test Case 2: Larger Graph");
-        kruskal.kruskalMST(vertices2, edges2);
+        kruskal.kruskalMST(vertices2, src2, dest2, weight2);
+        System.out.println();
+
+        // Test Case 3: Dense random graph, sorting everything vs filter-Kruskal
+        int n = 20_000;
+        int m = 10_000_000;
+        int[] src = new int[m], dest = new int[m], weight = new int[m];
+        java.util.Random random = new java.util.Random(16);
+        for (int i = 0; i < m; i++) {
+            src[i] = random.nextInt(n);
+            dest[i] = random.nextInt(n);
+            weight[i] = random.nextInt(Integer.MAX_VALUE);
+        }
+        System.out.println("Test Case 3: " + n + " vertices, " + m + " edges");
+        for (int run = 0; run < 3; run++) {
+            long start = System.nanoTime();
+            long sorted = kruskal.minimumSpanningTree(n, src, dest, weight, ForkJoinPool.commonPool()).totalWeight;
+            long sortedNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            long filtered = kruskal.filterKruskal(n, src, dest, weight, ForkJoinPool.commonPool()).totalWeight;
+            long filteredNanos = System.nanoTime() - start;
+            System.out.printf("Sort all: %.1f ms, filter-Kruskal: %.1f ms, same weight: %b%n",
+                    sortedNanos / 1e6, filteredNanos / 1e6, sorted == filtered);
+        }
         System.out.println();
 
         // Error case: Invalid input
         try {
-            kruskal.kruskalMST(0, new Edge[]{});
+            kruskal.kruskalMST(0, new int[0], new int[0], new int[0]);
         } catch (Exception e) {
             System.out.println("Error Case: " + e.getMessage());
         }
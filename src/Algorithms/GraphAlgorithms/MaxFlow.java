@@ -0,0 +1,532 @@
+package Algorithms.GraphAlgorithms;
+
+/**
+ * Maximum flow and minimum cut on a directed network with two solvers.
+ * Edges are collected with addEdge and packed into a residual graph made of primitive arc
+ * arrays: every edge becomes a forward arc and a reverse arc, grouped by tail vertex in CSR
+ * order, with arcMate[a] giving the paired arc. Pushing f units along arc a is
+ * residual[a] -= f; residual[arcMate[a]] += f.
+ * dinic() builds a BFS level graph from the source and saturates it with an iterative blocking
+ * flow that keeps a current-arc pointer per vertex: O(V^2 * E) worst case, and much faster on
+ * unit-capacity and layered networks.
+ * pushRelabel() is the highest-label preflow-push method with the global relabeling and gap
+ * heuristics (Cherkassky and Goldberg): O(V^2 * sqrt(E)), and usually the fastest choice on
+ * large, dense or deep networks.
+ * Both report the flow value and the same minimum cut: the sink side is every vertex that can
+ * still reach the sink in the final residual graph.
+ */
+public class MaxFlow {
+    // Number of vertices and the edges in insertion order (structure of arrays)
+    private final int vertices;
+    private int[] edgeFrom = new int[16];
+    private int[] edgeTo = new int[16];
+    private long[] edgeCapacity = new long[16];
+    private int edgeCount;
+
+    // Residual graph: the arcs of v are arcHead/arcMate/capacity[offsets[v] .. offsets[v+1]-1]
+    private int[] offsets;
+    private int[] arcHead;
+    private int[] arcMate;
+    private long[] capacity; // Initial residual capacity of every arc (0 on reverse arcs)
+    private boolean stale = true;
+
+    // Flow value and minimum cut
+    public static class Result {
+        public final long maxFlow;
+        public final boolean[] sourceSide; // Vertices on the source side of a minimum cut
+
+        Result(long maxFlow, boolean[] sourceSide) {
+            this.maxFlow = maxFlow;
+            this.sourceSide = sourceSide;
+        }
+
+        // Number of vertices on the source side
+        public int sourceSideSize() {
+            int count = 0;
+            for (boolean side : sourceSide) {
+                if (side) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    // Constructor to initialize the network
+    public MaxFlow(int vertices) {
+        if (vertices < 0) {
+            throw new IllegalArgumentException("Number of vertices must be non-negative");
+        }
+        this.vertices = vertices;
+    }
+
+    // Method to add a directed edge with the given capacity; parallel edges add up
+    public void addEdge(int from, int to, long edgeCap) {
+        if (from < 0 || from >= vertices || to < 0 || to >= vertices || edgeCap < 0) {
+            throw new IllegalArgumentException("Invalid vertex or negative capacity");
+        }
+        if (edgeCount == edgeFrom.length) {
+            int grown = edgeCount * 2;
+            edgeFrom = java.util.Arrays.copyOf(edgeFrom, grown);
+            edgeTo = java.util.Arrays.copyOf(edgeTo, grown);
+            edgeCapacity = java.util.Arrays.copyOf(edgeCapacity, grown);
+        }
+        edgeFrom[edgeCount] = from;
+        edgeTo[edgeCount] = to;
+        edgeCapacity[edgeCount] = edgeCap;
+        edgeCount++;
+        stale = true;
+    }
+
+    public int vertexCount() {
+        return vertices;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    // Pack edge e into arcs 2e (forward) and 2e + 1 (reverse), then counting sort the arcs by tail
+    private void ensureResidualGraph() {
+        if (!stale) {
+            return;
+        }
+        int arcs = 2 * edgeCount;
+        offsets = new int[vertices + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            offsets[edgeFrom[e] + 1]++;
+            offsets[edgeTo[e] + 1]++;
+        }
+        for (int v = 0; v < vertices; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] next = java.util.Arrays.copyOf(offsets, vertices);
+        arcHead = new int[arcs];
+        arcMate = new int[arcs];
+        capacity = new long[arcs];
+        for (int e = 0; e < edgeCount; e++) {
+            int forward = next[edgeFrom[e]]++;
+            int reverse = next[edgeTo[e]]++;
+            arcHead[forward] = edgeTo[e];
+            arcHead[reverse] = edgeFrom[e];
+            arcMate[forward] = reverse;
+            arcMate[reverse] = forward;
+            capacity[forward] = edgeCapacity[e];
+        }
+        stale = false;
+    }
+
+    private void checkTerminals(int source, int sink) {
+        if (source < 0 || source >= vertices || sink < 0 || sink >= vertices || source == sink) {
+            throw new IllegalArgumentException("Source and sink must be distinct vertices of the network");
+        }
+    }
+
+    // Dinic's algorithm: repeat BFS level graph + blocking flow until the sink is unreachable
+    public Result dinic(int source, int sink) {
+        checkTerminals(source, sink);
+        ensureResidualGraph();
+        long[] residual = capacity.clone();
+        int[] level = new int[vertices];
+        int[] queue = new int[vertices];
+        int[] current = new int[vertices];
+        int[] pathArc = new int[vertices]; // Arcs of the current augmenting path
+        long flow = 0;
+
+        while (buildLevels(source, sink, residual, level, queue)) {
+            System.arraycopy(offsets, 0, current, 0, vertices);
+            int depth = 0;
+            int v = source;
+            while (true) {
+                if (v == sink) {
+                    // Augment by the bottleneck, then retreat to the tail of the first saturated arc
+                    long push = Long.MAX_VALUE;
+                    for (int i = 0; i < depth; i++) {
+                        push = Math.min(push, residual[pathArc[i]]);
+                    }
+                    int retreat = -1;
+                    for (int i = 0; i < depth; i++) {
+                        int a = pathArc[i];
+                        residual[a] -= push;
+                        residual[arcMate[a]] += push;
+                        if (retreat < 0 && residual[a] == 0) {
+                            retreat = i;
+                        }
+                    }
+                    flow += push;
+                    depth = retreat;
+                    v = depth == 0 ? source : arcHead[pathArc[depth - 1]];
+                    continue;
+                }
+                // Advance along the first admissible arc from the current-arc pointer
+                int end = offsets[v + 1];
+                while (current[v] < end) {
+                    int a = current[v];
+                    if (residual[a] > 0 && level[arcHead[a]] == level[v] + 1) {
+                        break;
+                    }
+                    current[v]++;
+                }
+                if (current[v] < end) {
+                    int a = current[v];
+                    pathArc[depth++] = a;
+                    v = arcHead[a];
+                    continue;
+                }
+                // Dead end: remove v from the level graph and retreat
+                if (v == source) {
+                    break;
+                }
+                level[v] = -1;
+                depth--;
+                v = depth == 0 ? source : arcHead[pathArc[depth - 1]];
+                current[v]++;
+            }
+        }
+        return new Result(flow, sourceSide(sink, residual, queue));
+    }
+
+    // BFS levels from the source over arcs with residual capacity; false when the sink is unreachable
+    private boolean buildLevels(int source, int sink, long[] residual, int[] level, int[] queue) {
+        java.util.Arrays.fill(level, -1);
+        int head = 0, tail = 0;
+        level[source] = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int v = queue[head++];
+            if (v == sink) {
+                break; // Nothing past the sink's level is on a shortest path
+            }
+            for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                int w = arcHead[a];
+                if (residual[a] > 0 && level[w] < 0) {
+                    level[w] = level[v] + 1;
+                    queue[tail++] = w;
+                }
+            }
+        }
+        return level[sink] >= 0;
+    }
+
+    // Source side of the minimum cut: every vertex that cannot reach the sink in the residual graph
+    private boolean[] sourceSide(int sink, long[] residual, int[] queue) {
+        boolean[] reachesSink = new boolean[vertices];
+        int head = 0, tail = 0;
+        reachesSink[sink] = true;
+        queue[tail++] = sink;
+        while (head < tail) {
+            int w = queue[head++];
+            for (int a = offsets[w]; a < offsets[w + 1]; a++) {
+                int v = arcHead[a];
+                // arcMate[a] is the arc v -> w
+                if (!reachesSink[v] && residual[arcMate[a]] > 0) {
+                    reachesSink[v] = true;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        boolean[] side = new boolean[vertices];
+        for (int v = 0; v < vertices; v++) {
+            side[v] = !reachesSink[v];
+        }
+        return side;
+    }
+
+    // Highest-label push-relabel with global relabeling and the gap heuristic
+    public Result pushRelabel(int source, int sink) {
+        checkTerminals(source, sink);
+        ensureResidualGraph();
+        return new PushRelabel(source, sink).run();
+    }
+
+    /**
+     * State of one push-relabel run. Only the first phase is performed: it computes a maximum
+     * preflow, which already fixes the flow value (the excess at the sink) and the minimum cut.
+     * A vertex whose height reaches n can no longer reach the sink and is set aside for good.
+     * Active vertices are kept in one stack per height and every vertex below n in a doubly
+     * linked list per height, which is what the gap heuristic needs: when relabeling empties a
+     * height, every vertex above it is cut off from the sink at once.
+     */
+    private class PushRelabel {
+        // Global relabel once this much work has been done since the last one
+        private final long relabelThreshold;
+
+        private final int source, sink, n;
+        private final long[] residual = capacity.clone();
+        private final long[] excess = new long[vertices];
+        private final int[] height = new int[vertices];
+        private final int[] current = new int[vertices];
+        private final int[] activeHead, activeNext;              // Active vertices by height
+        private final int[] bucketHead, bucketNext, bucketPrev;  // All vertices below n by height
+        private final int[] queue = new int[vertices];
+        private int maxActive = -1, maxHeight = -1;
+        private long work;
+
+        PushRelabel(int source, int sink) {
+            this.source = source;
+            this.sink = sink;
+            this.n = vertices;
+            this.relabelThreshold = 6L * n + arcHead.length / 2;
+            activeHead = new int[n];
+            activeNext = new int[n];
+            bucketHead = new int[n];
+            bucketNext = new int[n];
+            bucketPrev = new int[n];
+        }
+
+        Result run() {
+            // Saturate every arc out of the source
+            for (int a = offsets[source]; a < offsets[source + 1]; a++) {
+                long push = residual[a];
+                if (push > 0) {
+                    residual[a] = 0;
+                    residual[arcMate[a]] += push;
+                    excess[arcHead[a]] += push;
+                    excess[source] -= push;
+                }
+            }
+            globalRelabel();
+            while (maxActive >= 0) {
+                int v = activeHead[maxActive];
+                if (v < 0) {
+                    maxActive--;
+                    continue;
+                }
+                activeHead[maxActive] = activeNext[v];
+                discharge(v);
+                if (work > relabelThreshold) {
+                    globalRelabel();
+                }
+            }
+            return new Result(excess[sink], sourceSide(sink, residual, queue));
+        }
+
+        // Push the excess of v to lower neighbours, relabeling until it is gone or v is cut off
+        private void discharge(int v) {
+            while (true) {
+                int h = height[v];
+                int end = offsets[v + 1];
+                for (int a = current[v]; a < end; a++) {
+                    if (residual[a] == 0) {
+                        continue;
+                    }
+                    int w = arcHead[a];
+                    if (height[w] != h - 1) {
+                        continue;
+                    }
+                    long push = Math.min(excess[v], residual[a]);
+                    residual[a] -= push;
+                    residual[arcMate[a]] += push;
+                    if (excess[w] == 0 && w != sink) {
+                        addActive(w); // Lower than v, so maxActive is unchanged
+                    }
+                    excess[w] += push;
+                    excess[v] -= push;
+                    if (excess[v] == 0) {
+                        current[v] = a; // The arc may still have residual capacity
+                        return;
+                    }
+                }
+                // Every admissible arc is used up: relabel
+                if (bucketHead[h] == v && bucketNext[v] < 0) {
+                    gap(h); // v is the last vertex at height h
+                    return;
+                }
+                relabel(v);
+                if (height[v] >= n) {
+                    return;
+                }
+            }
+        }
+
+        // Lift v just above its lowest residual neighbour
+        private void relabel(int v) {
+            work += 12 + offsets[v + 1] - offsets[v];
+            removeFromBucket(v);
+            int lowest = n;
+            int lowestArc = offsets[v];
+            for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                if (residual[a] > 0 && height[arcHead[a]] + 1 < lowest) {
+                    lowest = height[arcHead[a]] + 1;
+                    lowestArc = a;
+                }
+            }
+            height[v] = lowest;
+            current[v] = lowestArc;
+            if (lowest < n) {
+                addToBucket(v);
+            }
+        }
+
+        // No vertex is left at height h: everything at h or above can no longer reach the sink
+        private void gap(int h) {
+            for (int level = h; level <= maxHeight; level++) {
+                for (int v = bucketHead[level]; v >= 0; v = bucketNext[v]) {
+                    height[v] = n;
+                }
+                bucketHead[level] = -1;
+                activeHead[level] = -1; // Only vertices below the highest active one can be active
+            }
+            maxHeight = h - 1;
+            maxActive = Math.min(maxActive, h - 1);
+        }
+
+        // Exact heights: BFS distance to the sink in the residual graph, or n when unreachable
+        private void globalRelabel() {
+            work = 0;
+            java.util.Arrays.fill(height, n);
+            java.util.Arrays.fill(activeHead, -1);
+            java.util.Arrays.fill(bucketHead, -1);
+            maxActive = -1;
+            maxHeight = -1;
+            int head = 0, tail = 0;
+            height[sink] = 0;
+            queue[tail++] = sink;
+            while (head < tail) {
+                int w = queue[head++];
+                int h = height[w] + 1;
+                for (int a = offsets[w]; a < offsets[w + 1]; a++) {
+                    int v = arcHead[a];
+                    if (height[v] == n && v != source && residual[arcMate[a]] > 0) {
+                        height[v] = h;
+                        current[v] = offsets[v];
+                        queue[tail++] = v;
+                        addToBucket(v);
+                        if (excess[v] > 0) {
+                            addActive(v);
+                        }
+                    }
+                }
+            }
+        }
+
+        private void addActive(int v) {
+            int h = height[v];
+            activeNext[v] = activeHead[h];
+            activeHead[h] = v;
+            maxActive = Math.max(maxActive, h);
+        }
+
+        private void addToBucket(int v) {
+            int h = height[v];
+            bucketPrev[v] = -1;
+            bucketNext[v] = bucketHead[h];
+            if (bucketHead[h] >= 0) {
+                bucketPrev[bucketHead[h]] = v;
+            }
+            bucketHead[h] = v;
+            maxHeight = Math.max(maxHeight, h);
+        }
+
+        private void removeFromBucket(int v) {
+            if (bucketPrev[v] >= 0) {
+                bucketNext[bucketPrev[v]] = bucketNext[v];
+            } else {
+                bucketHead[height[v]] = bucketNext[v];
+            }
+            if (bucketNext[v] >= 0) {
+                bucketPrev[bucketNext[v]] = bucketPrev[v];
+            }
+        }
+    }
+
+    /**
+     * GENRMF network from the DIMACS implementation challenge generators: 'frames' square
+     * side x side grids stacked on top of each other. Inside a frame every vertex is linked to its
+     * grid neighbours with capacity maxCap * side * side; consecutive frames are joined by a
+     * random permutation of arcs with capacities in [minCap, maxCap]. The source is vertex 0 (a
+     * corner of the first frame) and the sink is the last vertex (a corner of the last frame).
+     */
+    public static MaxFlow genrmf(int side, int frames, int minCap, int maxCap, long seed) {
+        if (side < 1 || frames < 2 || minCap < 0 || maxCap < minCap) {
+            throw new IllegalArgumentException("Invalid GENRMF parameters");
+        }
+        int perFrame = side * side;
+        MaxFlow network = new MaxFlow(perFrame * frames);
+        java.util.Random random = new java.util.Random(seed);
+        long inFrame = (long) maxCap * perFrame;
+        int[] permutation = new int[perFrame];
+        for (int f = 0; f < frames; f++) {
+            int base = f * perFrame;
+            for (int x = 0; x < side; x++) {
+                for (int y = 0; y < side; y++) {
+                    int v = base + x * side + y;
+                    if (x + 1 < side) {
+                        network.addEdge(v, v + side, inFrame);
+                        network.addEdge(v + side, v, inFrame);
+                    }
+                    if (y + 1 < side) {
+                        network.addEdge(v, v + 1, inFrame);
+                        network.addEdge(v + 1, v, inFrame);
+                    }
+                }
+            }
+            if (f + 1 < frames) {
+                for (int i = 0; i < perFrame; i++) {
+                    permutation[i] = i;
+                }
+                for (int i = perFrame - 1; i > 0; i--) {
+                    int j = random.nextInt(i + 1);
+                    int t = permutation[i];
+                    permutation[i] = permutation[j];
+                    permutation[j] = t;
+                }
+                for (int i = 0; i < perFrame; i++) {
+                    network.addEdge(base + i, base + perFrame + permutation[i], minCap + random.nextInt(maxCap - minCap + 1));
+                }
+            }
+        }
+        return network;
+    }
+
+    // Example usage
+    public static void main(String[] args) {
+        // Test Case 1: The classic CLRS network, maximum flow 23
+        MaxFlow network = new MaxFlow(6);
+        network.addEdge(0, 1, 16);
+        network.addEdge(0, 2, 13);
+        network.addEdge(1, 2, 10);
+        network.addEdge(2, 1, 4);
+        network.addEdge(1, 3, 12);
+        network.addEdge(3, 2, 9);
+        network.addEdge(2, 4, 14);
+        network.addEdge(4, 3, 7);
+        network.addEdge(3, 5, 20);
+        network.addEdge(4, 5, 4);
+        Result dinic = network.dinic(0, 5);
+        Result pushRelabel = network.pushRelabel(0, 5);
+        System.out.println("Test Case 1: CLRS network");
+        System.out.println("Dinic max flow: " + dinic.maxFlow + ", push-relabel max flow: " + pushRelabel.maxFlow);
+        System.out.println("Source side of the minimum cut: " + java.util.Arrays.toString(dinic.sourceSide));
+        System.out.println();
+
+        // Error Case: source equal to sink
+        try {
+            network.dinic(2, 2);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error Case: " + e.getMessage());
+        }
+        System.out.println();
+
+        // Test Case 2: GENRMF benchmarks of increasing size
+        System.out.println("Test Case 2: GENRMF networks");
+        int[][] sizes = {{16, 32}, {32, 32}, {64, 16}};
+        for (int[] size : sizes) {
+            MaxFlow generated = genrmf(size[0], size[1], 1, 10_000, 23);
+            generated.ensureResidualGraph();
+            int sink = generated.vertexCount() - 1;
+            long start = System.nanoTime();
+            Result byDinic = generated.dinic(0, sink);
+            double dinicMs = (System.nanoTime() - start) / 1e6;
+            start = System.nanoTime();
+            Result byPushRelabel = generated.pushRelabel(0, sink);
+            double pushRelabelMs = (System.nanoTime() - start) / 1e6;
+            if (byDinic.maxFlow != byPushRelabel.maxFlow) {
+                throw new IllegalStateException("Solvers disagree");
+            }
+            System.out.printf("%dx%dx%d (%d vertices, %d edges): max flow %d, Dinic %.1f ms, push-relabel %.1f ms%n",
+                    size[0], size[0], size[1], generated.vertexCount(), generated.edgeCount(), byDinic.maxFlow,
+                    dinicMs, pushRelabelMs);
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package Algorithms.GraphAlgorithms;
+
+import DataStructures.Graphs.CsrGraph;
+import DataStructures.Graphs.GraphAdjacencyList;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * PageRank by pull-based power iteration, plus approximate personalized PageRank by local push.
+ * Each iteration first computes every vertex's outgoing share rank[u] / outDegree(u), then
+ * every vertex sums the shares of its in-neighbours read from the reverse CSR. Each vertex's
+ * new rank is written by exactly one task, so the vertex range is split across a ForkJoinPool
+ * with no atomics or locks. Rank held by dangling vertices (no out-edges) is spread evenly
+ * over all vertices, so the ranks always sum to 1. Iteration stops when the L1 distance
+ * between two rank vectors drops below the tolerance.
+ * A PushQuery answers single-seed personalized PageRank with the Andersen-Chung-Lang push
+ * method. It touches only the neighbourhood around the seed, so it runs in milliseconds on
+ * large graphs and does no O(V) work per query.
+ */
+public class PageRank {
+    // Vertices handled by one fork-join leaf task
+    private static final int CHUNK = 4096;
+
+    private final int vertices;
+    private final CsrGraph forward;  // Out-edges, used by push queries
+    private final CsrGraph incoming; // In-edges (reverse CSR), used by the pull iteration
+    private final int[] outDegree;
+
+    // Ranks from rank(): scores sum to 1
+    public static class Result {
+        public final double[] scores;
+        public final int iterations;
+        public final double residual; // L1 change in the last iteration
+
+        Result(double[] scores, int iterations, double residual) {
+            this.scores = scores;
+            this.iterations = iterations;
+            this.residual = residual;
+        }
+    }
+
+    // Rank the vertices of a directed graph
+    public PageRank(CsrGraph graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph must not be null");
+        }
+        this.vertices = graph.vertexCount();
+        this.forward = graph;
+        this.incoming = graph.transpose();
+        this.outDegree = new int[vertices];
+        for (int v = 0; v < vertices; v++) {
+            outDegree[v] = graph.degree(v);
+        }
+    }
+
+    // Rank the vertices of an undirected adjacency-list graph
+    public PageRank(GraphAdjacencyList graph) {
+        this(graph.toCsrGraph());
+    }
+
+    public Result rank() {
+        return rank(0.85, 1e-6, 100, ForkJoinPool.commonPool());
+    }
+
+    // Power iteration with the given damping factor until the L1 change is below tolerance
+    public Result rank(double damping, double tolerance, int maxIterations, ForkJoinPool pool) {
+        if (damping < 0 || damping >= 1 || tolerance <= 0 || maxIterations < 1) {
+            throw new IllegalArgumentException("Damping must be in [0, 1), tolerance positive and maxIterations at least 1");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("ForkJoinPool must not be null");
+        }
+        if (vertices == 0) {
+            return new Result(new double[0], 0, 0);
+        }
+        double[] rank = new double[vertices];
+        double[] next = new double[vertices];
+        double[] share = new double[vertices];
+        java.util.Arrays.fill(rank, 1.0 / vertices);
+        int chunks = (vertices + CHUNK - 1) / CHUNK;
+        double[] partial = new double[chunks];
+        CsrGraph.NeighborCursor[] cursors = new CsrGraph.NeighborCursor[chunks];
+        for (int c = 0; c < chunks; c++) {
+            cursors[c] = incoming.cursor();
+        }
+
+        int iteration = 0;
+        double residual = Double.MAX_VALUE;
+        while (iteration < maxIterations && residual >= tolerance) {
+            iteration++;
+            double[] current = rank;
+            // Pass 1: outgoing shares, and the rank stranded on dangling vertices
+            ParallelChunks.run(pool, chunks, chunk -> {
+                double dangling = 0;
+                int end = Math.min(vertices, (chunk + 1) * CHUNK);
+                for (int u = chunk * CHUNK; u < end; u++) {
+                    if (outDegree[u] == 0) {
+                        dangling += current[u];
+                        share[u] = 0;
+                    } else {
+                        share[u] = current[u] / outDegree[u];
+                    }
+                }
+                partial[chunk] = dangling;
+            });
+            double danglingMass = sum(partial);
+            double base = (1 - damping) / vertices + damping * danglingMass / vertices;
+
+            // Pass 2: every vertex pulls the shares of its in-neighbours
+            double[] target = next;
+            ParallelChunks.run(pool, chunks, chunk -> {
+                CsrGraph.NeighborCursor cursor = cursors[chunk];
+                double change = 0;
+                int end = Math.min(vertices, (chunk + 1) * CHUNK);
+                for (int v = chunk * CHUNK; v < end; v++) {
+                    double pulled = 0;
+                    cursor.reset(v);
+                    while (cursor.hasNext()) {
+                        pulled += share[cursor.next()];
+                    }
+                    double value = base + damping * pulled;
+                    change += Math.abs(value - current[v]);
+                    target[v] = value;
+                }
+                partial[chunk] = change;
+            });
+            residual = sum(partial);
+            next = rank;
+            rank = target;
+        }
+        return new Result(rank, iteration, residual);
+    }
+
+    // Sum per-chunk partials in a fixed order, so results do not depend on scheduling
+    private static double sum(double[] partial) {
+        double total = 0;
+        for (double value : partial) {
+            total += value;
+        }
+        return total;
+    }
+
+    // Create a reusable personalized PageRank query; not thread-safe, use one per thread
+    public PushQuery newPushQuery() {
+        return new PushQuery();
+    }
+
+    /**
+     * Approximate personalized PageRank for one seed. Every vertex has an estimate p and a residual
+     * r, starting with r[seed] = 1. A vertex whose residual exceeds epsilon * outDegree is pushed:
+     * alpha * r moves to its estimate and the rest is split among its out-neighbours (a dangling
+     * vertex sends it back to the seed). When no vertex qualifies, every estimate is within
+     * epsilon * outDegree(v) of the exact personalized rank. The work is O(1 / (epsilon * alpha)),
+     * independent of the graph size, and state is reset through a touched list between queries.
+     */
+    public class PushQuery {
+        private final double[] estimate = new double[vertices];
+        private final double[] residual = new double[vertices];
+        private final boolean[] touched = new boolean[vertices];
+        private final boolean[] queued = new boolean[vertices];
+        private int[] touchedList = new int[64];
+        private int touchedCount;
+        private int[] queue = new int[64]; // Circular FIFO of vertices to push
+        private int head, size;
+        private final CsrGraph.NeighborCursor cursor = forward.cursor();
+
+        // Vertices with a non-zero estimate, sorted by decreasing score, and their scores
+        private int[] ranked = new int[0];
+        private double[] rankedScores = new double[0];
+
+        // Run the push for a seed with teleport probability alpha (1 - damping) and tolerance epsilon
+        public PushQuery run(int seed, double alpha, double epsilon) {
+            if (seed < 0 || seed >= vertices) {
+                throw new IllegalArgumentException("Seed vertex out of bounds");
+            }
+            if (alpha <= 0 || alpha >= 1 || epsilon <= 0) {
+                throw new IllegalArgumentException("Alpha must be in (0, 1) and epsilon positive");
+            }
+            reset();
+            touch(seed);
+            residual[seed] = 1;
+            enqueue(seed);
+            while (size > 0) {
+                int u = queue[head];
+                head = (head + 1) & (queue.length - 1);
+                size--;
+                queued[u] = false;
+
+                double r = residual[u];
+                residual[u] = 0;
+                estimate[u] += alpha * r;
+                double spread = (1 - alpha) * r;
+                int degree = outDegree[u];
+                if (degree == 0) {
+                    addResidual(seed, spread, epsilon); // Dangling: walk restarts at the seed
+                    continue;
+                }
+                double each = spread / degree;
+                cursor.reset(u);
+                while (cursor.hasNext()) {
+                    addResidual(cursor.next(), each, epsilon);
+                }
+            }
+            collect();
+            return this;
+        }
+
+        public PushQuery run(int seed) {
+            return run(seed, 0.15, 1e-7);
+        }
+
+        // Vertices with a non-zero score, best first
+        public int[] vertices() {
+            return ranked;
+        }
+
+        // Scores matching vertices()
+        public double[] scores() {
+            return rankedScores;
+        }
+
+        private void addResidual(int v, double amount, double epsilon) {
+            touch(v);
+            residual[v] += amount;
+            if (!queued[v] && residual[v] >= epsilon * Math.max(1, outDegree[v])) {
+                enqueue(v);
+            }
+        }
+
+        private void enqueue(int v) {
+            if (size == queue.length) {
+                // Grow the ring buffer, unrolling it so the head is at index 0
+                int[] grown = new int[queue.length * 2];
+                for (int i = 0; i < size; i++) {
+                    grown[i] = queue[(head + i) & (queue.length - 1)];
+                }
+                queue = grown;
+                head = 0;
+            }
+            queue[(head + size) & (queue.length - 1)] = v;
+            size++;
+            queued[v] = true;
+        }
+
+        private void touch(int v) {
+            if (!touched[v]) {
+                touched[v] = true;
+                if (touchedCount == touchedList.length) {
+                    touchedList = java.util.Arrays.copyOf(touchedList, touchedCount * 2);
+                }
+                touchedList[touchedCount++] = v;
+            }
+        }
+
+        // Sort the touched vertices with a positive estimate by decreasing score
+        private void collect() {
+            int count = 0;
+            long[] order = new long[touchedCount];
+            for (int i = 0; i < touchedCount; i++) {
+                int v = touchedList[i];
+                if (estimate[v] > 0) {
+                    // Non-negative doubles order like their bit patterns; keep 32 bits of score and the vertex id
+                    order[count++] = (Double.doubleToLongBits(estimate[v]) >>> 31 << 32) | v;
+                }
+            }
+            java.util.Arrays.sort(order, 0, count);
+            ranked = new int[count];
+            rankedScores = new double[count];
+            for (int i = 0; i < count; i++) {
+                int v = (int) order[count - 1 - i];
+                ranked[i] = v;
+                rankedScores[i] = estimate[v];
+            }
+        }
+
+        private void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                int v = touchedList[i];
+                touched[v] = false;
+                queued[v] = false;
+                estimate[v] = 0;
+                residual[v] = 0;
+            }
+            touchedCount = 0;
+            head = 0;
+            size = 0;
+        }
+    }
+
+    // Example usage
+    public static void main(String[] args) {
+        // Test Case 1: The square 0 -- 1 -- 3 -- 2 -- 0 plus a pendant vertex 4 attached to 0
+        GraphAdjacencyList square = new GraphAdjacencyList(5);
+        square.addEdge(0, 1);
+        square.addEdge(0, 2);
+        square.addEdge(1, 3);
+        square.addEdge(2, 3);
+        square.addEdge(0, 4);
+        Result result = new PageRank(square).rank();
+        System.out.println("Test Case 1: Undirected graph");
+        System.out.printf("Scores after %d iterations: %s%n", result.iterations, java.util.Arrays.toString(
+                java.util.Arrays.stream(result.scores).map(s -> Math.round(s * 1e4) / 1e4).toArray()));
+        System.out.println();
+
+        // Test Case 2: Directed graph with a dangling vertex 3
+        CsrGraph directed = CsrGraph.builder(4).addEdge(0, 1).addEdge(1, 2).addEdge(2, 0).addEdge(2, 3).build();
+        result = new PageRank(directed).rank();
+        System.out.println("Test Case 2: Directed graph with a dangling vertex");
+        System.out.printf("Scores: %s, sum %.6f%n", java.util.Arrays.toString(
+                java.util.Arrays.stream(result.scores).map(s -> Math.round(s * 1e4) / 1e4).toArray()),
+                java.util.Arrays.stream(result.scores).sum());
+        System.out.println();
+
+        // Test Case 3: 2M-vertex power-law-ish graph: global ranking and single-seed queries
+        int n = 2_000_000;
+        CsrGraph.Builder builder = CsrGraph.builder(n);
+        java.util.Random random = new java.util.Random(21);
+        for (int v = 1; v < n; v++) {
+            for (int i = 0; i < 8; i++) {
+                // Preferential attachment: link to a target biased towards low ids
+                int target = (int) (v * Math.pow(random.nextDouble(), 2));
+                builder.addEdge(v, target);
+            }
+        }
+        PageRank large = new PageRank(builder.build());
+        long start = System.nanoTime();
+        result = large.rank(0.85, 1e-6, 100, ForkJoinPool.commonPool());
+        System.out.printf("Test Case 3: %d iterations over %d vertices in %.1f ms, residual %.2e%n", result.iterations, n,
+                (System.nanoTime() - start) / 1e6, result.residual);
+        PushQuery query = large.newPushQuery();
+        for (int seed : new int[]{12345, 777777, 1999999}) {
+            start = System.nanoTime();
+            query.run(seed, 0.15, 1e-6);
+            int[] top = java.util.Arrays.copyOf(query.vertices(), Math.min(5, query.vertices().length));
+            System.out.printf("Personalized PageRank from %d: %.2f ms, %d vertices scored, top %s%n", seed,
+                    (System.nanoTime() - start) / 1e6, query.vertices().length, java.util.Arrays.toString(top));
+        }
+    }
+}
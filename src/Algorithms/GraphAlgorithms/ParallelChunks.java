@@ -0,0 +1,49 @@
+package Algorithms.GraphAlgorithms;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Shared fork-join driver for the parallel graph algorithms of this package. The work is cut
+ * into numbered chunks, usually fixed-size vertex or edge ranges, and run(pool, count, body)
+ * calls body(chunk) for every chunk, splitting the index range in halves until each leaf task
+ * holds a single chunk. A single chunk runs on the calling thread.
+ */
+final class ParallelChunks {
+    private ParallelChunks() {
+    }
+
+    // Run body(chunk) for chunk 0..count-1 on the pool
+    static void run(ForkJoinPool pool, int count, IntConsumer body) {
+        if (count == 1) {
+            body.accept(0);
+        } else if (count > 1) {
+            pool.invoke(new ChunkTask(body, 0, count));
+        }
+    }
+
+    // Fork-join task splitting a range of chunk indices
+    private static class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient IntConsumer body;
+        private final int from, to;
+
+        ChunkTask(IntConsumer body, int from, int to) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkTask(body, from, mid), new ChunkTask(body, mid, to));
+        }
+    }
+}
@@ -1,6 +1,278 @@
 package Algorithms.GraphAlgorithms;
 
+import DataStructures.AdvancedDataStructures.ConcurrentDisjointSet;
+import DataStructures.Heaps.IndexedMinHeap;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Minimum spanning trees with Prim's algorithm and Boruvka's algorithm.
+ * primMST() is the classic O(V^2) version on an adjacency matrix. For sparse graphs, edges
+ * added with addEdge() are kept in primitive columns and packed into an undirected CSR:
+ * prim() grows each tree from an IndexedMinHeap in O(E log V), and boruvka() lets every
+ * component pick its cheapest outgoing edge in parallel rounds, merging components through a
+ * lock-free union-find. Both return a minimum spanning forest if the graph is disconnected.
+ */
 public class PrimsAlgorithm {
+    // Parent of a tree root in Result.parent
+    public static final int NO_PARENT = -1;
+    // Edges scanned by one fork-join leaf task in Boruvka rounds
+    private static final int CHUNK = 8192;
+    // No candidate edge recorded for a component yet
+    private static final long NONE = Long.MAX_VALUE;
+
+    // Undirected edges in insertion order
+    private final int vertices;
+    private int[] edgeU = new int[16];
+    private int[] edgeV = new int[16];
+    private int[] edgeWeight = new int[16];
+    private int edgeCount;
+
+    // Undirected CSR (each edge stored in both directions), rebuilt after edges are added
+    private int[] offsets, targets, weights;
+    private boolean csrStale = true;
+
+    // A spanning forest: parent[v] is v's neighbour towards its tree root, NO_PARENT for roots
+    public static class Result {
+        public final int[] parent;
+        public final long totalWeight;
+
+        Result(int[] parent, long totalWeight) {
+            this.parent = parent;
+            this.totalWeight = totalWeight;
+        }
+    }
+
+    // Create an empty sparse graph for prim() and boruvka()
+    public PrimsAlgorithm(int vertices) {
+        if (vertices < 0) {
+            throw new IllegalArgumentException("Number of vertices must be non-negative");
+        }
+        this.vertices = vertices;
+    }
+
+    // Add an undirected weighted edge
+    public void addEdge(int u, int v, int weight) {
+        if (u < 0 || u >= vertices || v < 0 || v >= vertices) {
+            throw new IllegalArgumentException("Vertex index out of bounds");
+        }
+        if (edgeCount == edgeU.length) {
+            edgeU = java.util.Arrays.copyOf(edgeU, edgeCount * 2);
+            edgeV = java.util.Arrays.copyOf(edgeV, edgeCount * 2);
+            edgeWeight = java.util.Arrays.copyOf(edgeWeight, edgeCount * 2);
+        }
+        edgeU[edgeCount] = u;
+        edgeV[edgeCount] = v;
+        edgeWeight[edgeCount] = weight;
+        edgeCount++;
+        csrStale = true;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    // Counting sort of both directions of every edge on their first endpoint
+    private void ensureCsr() {
+        if (!csrStale) {
+            return;
+        }
+        offsets = new int[vertices + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            offsets[edgeU[e] + 1]++;
+            offsets[edgeV[e] + 1]++;
+        }
+        for (int v = 0; v < vertices; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] next = java.util.Arrays.copyOf(offsets, vertices);
+        targets = new int[2 * edgeCount];
+        weights = new int[2 * edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            int slot = next[edgeU[e]]++;
+            targets[slot] = edgeV[e];
+            weights[slot] = edgeWeight[e];
+            slot = next[edgeV[e]]++;
+            targets[slot] = edgeU[e];
+            weights[slot] = edgeWeight[e];
+        }
+        csrStale = false;
+    }
+
+    // Prim's algorithm over the CSR with an indexed heap keyed by the cheapest edge into the tree
+    public Result prim() {
+        ensureCsr();
+        int[] parent = new int[vertices];
+        java.util.Arrays.fill(parent, NO_PARENT);
+        boolean[] inTree = new boolean[vertices];
+        IndexedMinHeap heap = new IndexedMinHeap(vertices);
+        long totalWeight = 0;
+
+        // Start a new tree at every vertex not reached by an earlier one
+        for (int root = 0; root < vertices; root++) {
+            if (inTree[root]) {
+                continue;
+            }
+            heap.insert(root, 0);
+            while (!heap.isEmpty()) {
+                long key = heap.peekKey();
+                int u = heap.poll();
+                inTree[u] = true;
+                if (parent[u] != NO_PARENT) {
+                    totalWeight += key;
+                }
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int v = targets[e];
+                    // insertOrDecrease reports whether edge e is now v's cheapest connection
+                    if (!inTree[v] && heap.insertOrDecrease(v, weights[e])) {
+                        parent[v] = u;
+                    }
+                }
+            }
+        }
+        return new Result(parent, totalWeight);
+    }
+
+    /**
+     * Parallel Boruvka. Each round scans the live edges in parallel chunks: edges inside one
+     * component are dropped for good, and every other edge offers itself to both endpoint
+     * components through an atomic minimum on (weight, edge id). Ordering ties by edge id
+     * makes the choices consistent, so the chosen edges never form a cycle. The chosen edges
+     * are then merged with the lock-free union-find; the number of components at least halves
+     * per round, so there are O(log V) rounds.
+     */
+    public Result boruvka(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("ForkJoinPool must not be null");
+        }
+        ConcurrentDisjointSet components = new ConcurrentDisjointSet(vertices);
+        AtomicLongArray cheapest = new AtomicLongArray(vertices);
+        for (int v = 0; v < vertices; v++) {
+            cheapest.set(v, NONE);
+        }
+        boolean[] chosen = new boolean[edgeCount];
+
+        // Live edge ids, compacted in place per chunk as intra-component edges are dropped
+        int[] live = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            live[e] = e;
+        }
+        int chunks = Math.max(1, (edgeCount + CHUNK - 1) / CHUNK);
+        int[] liveCount = new int[chunks];
+        for (int c = 0; c < chunks; c++) {
+            liveCount[c] = Math.min(CHUNK, edgeCount - c * CHUNK);
+        }
+
+        while (true) {
+            // Phase 1: every component finds its cheapest outgoing edge
+            ParallelChunks.run(pool, chunks, chunk -> {
+                int start = chunk * CHUNK;
+                int write = start;
+                for (int i = start; i < start + liveCount[chunk]; i++) {
+                    int e = live[i];
+                    int rootU = components.find(edgeU[e]);
+                    int rootV = components.find(edgeV[e]);
+                    if (rootU == rootV) {
+                        continue; // Both ends already merged: never useful again
+                    }
+                    live[write++] = e;
+                    long candidate = ((long) edgeWeight[e] - Integer.MIN_VALUE) << 31 | e;
+                    atomicMin(cheapest, rootU, candidate);
+                    atomicMin(cheapest, rootV, candidate);
+                }
+                liveCount[chunk] = write - start;
+            });
+
+            // Phase 2: merge along the chosen edges; only the merging call records the edge
+            boolean[] merged = new boolean[1];
+            ParallelChunks.run(pool, (vertices + CHUNK - 1) / CHUNK, chunk -> {
+                int end = Math.min(vertices, (chunk + 1) * CHUNK);
+                boolean any = false;
+                for (int v = chunk * CHUNK; v < end; v++) {
+                    long candidate = cheapest.get(v);
+                    if (candidate == NONE) {
+                        continue;
+                    }
+                    cheapest.set(v, NONE);
+                    int e = (int) (candidate & Integer.MAX_VALUE);
+                    if (components.union(edgeU[e], edgeV[e])) {
+                        chosen[e] = true;
+                        any = true;
+                    }
+                }
+                if (any) {
+                    merged[0] = true; // Benign race: every writer stores true
+                }
+            });
+            if (!merged[0]) {
+                break;
+            }
+        }
+        return forest(chosen);
+    }
+
+    public Result boruvka() {
+        return boruvka(ForkJoinPool.commonPool());
+    }
+
+    // Lower the packed (weight, edge id) candidate of a component
+    private static void atomicMin(AtomicLongArray cheapest, int root, long candidate) {
+        long seen = cheapest.get(root);
+        while (candidate < seen && !cheapest.compareAndSet(root, seen, candidate)) {
+            seen = cheapest.get(root);
+        }
+    }
+
+    // Orient the chosen edges into a parent array by a BFS from the smallest vertex of each tree
+    private Result forest(boolean[] chosen) {
+        int[] degree = new int[vertices + 1];
+        long totalWeight = 0;
+        for (int e = 0; e < edgeCount; e++) {
+            if (chosen[e]) {
+                degree[edgeU[e] + 1]++;
+                degree[edgeV[e] + 1]++;
+                totalWeight += edgeWeight[e];
+            }
+        }
+        for (int v = 0; v < vertices; v++) {
+            degree[v + 1] += degree[v];
+        }
+        int[] next = java.util.Arrays.copyOf(degree, vertices);
+        int[] neighbors = new int[degree[vertices]];
+        for (int e = 0; e < edgeCount; e++) {
+            if (chosen[e]) {
+                neighbors[next[edgeU[e]]++] = edgeV[e];
+                neighbors[next[edgeV[e]]++] = edgeU[e];
+            }
+        }
+
+        int[] parent = new int[vertices];
+        boolean[] visited = new boolean[vertices];
+        int[] queue = new int[vertices];
+        for (int root = 0; root < vertices; root++) {
+            if (visited[root]) {
+                continue;
+            }
+            parent[root] = NO_PARENT;
+            visited[root] = true;
+            int head = 0, tail = 0;
+            queue[tail++] = root;
+            while (head < tail) {
+                int u = queue[head++];
+                for (int i = degree[u]; i < degree[u + 1]; i++) {
+                    int v = neighbors[i];
+                    if (!visited[v]) {
+                        visited[v] = true;
+                        parent[v] = u;
+                        queue[tail++] = v;
+                    }
+                }
+            }
+        }
+        return new Result(parent, totalWeight);
+    }
+
     // Find the Minimum Spanning Tree using Prim's algorithm
     public static void primMST(int[][] graph) {
         int V = graph.length;
@@ -100,6 +372,35 @@ public class PrimsAlgorithm {
         }
         System.out.println("\nMinimum Spanning Tree (Prim's Algorithm):");
         primMST(graph2);
+
+        // Sparse graph: 1M vertices, a random spanning path plus 3M random edges
+        int n = 1_000_000;
+        PrimsAlgorithm sparse = new PrimsAlgorithm(n);
+        java.util.Random random = new java.util.Random(15);
+        for (int v = 1; v < n; v++) {
+            sparse.addEdge(random.nextInt(v), v, random.nextInt(1_000_000));
+        }
+        for (int i = 0; i < 3 * n; i++) {
+            sparse.addEdge(random.nextInt(n), random.nextInt(n), random.nextInt(1_000_000));
+        }
+        int[] src = java.util.Arrays.copyOf(sparse.edgeU, sparse.edgeCount);
+        int[] dest = java.util.Arrays.copyOf(sparse.edgeV, sparse.edgeCount);
+        int[] weight = java.util.Arrays.copyOf(sparse.edgeWeight, sparse.edgeCount);
+
+        System.out.println("\nSparse graph with " + n + " vertices and " + sparse.edgeCount() + " edges:");
+        for (int run = 0; run < 3; run++) {
+            long start = System.nanoTime();
+            long primWeight = sparse.prim().totalWeight;
+            long primNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            long boruvkaWeight = sparse.boruvka().totalWeight;
+            long boruvkaNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            long kruskalWeight = new KruskalsAlgorithm().mstWeight(n, src, dest, weight);
+            long kruskalNanos = System.nanoTime() - start;
+            System.out.printf("Prim %.1f ms, Boruvka %.1f ms, Kruskal %.1f ms, weights %d / %d / %d%n",
+                    primNanos / 1e6, boruvkaNanos / 1e6, kruskalNanos / 1e6, primWeight, boruvkaWeight, kruskalWeight);
+        }
     }
 }
 
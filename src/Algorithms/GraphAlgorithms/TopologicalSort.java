@@ -1,74 +1,299 @@
 package Algorithms.GraphAlgorithms;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
 /**
  * A class implementing Topological Sort in Java.
  * Topological Sort orders vertices in a directed acyclic graph (DAG) such that for every
  * directed edge (u, v), vertex u comes before v in the ordering. This implementation
- * uses a depth-first search (DFS) approach and an adjacency list for the graph.
+ * uses the iterative depth-first search of DepthFirstSearch, so long dependency chains cannot
+ * overflow the thread stack.
+ * For scheduling, Kahn's algorithm runs on atomic in-degree counters: levels() groups the
+ * vertices into rounds of mutually independent vertices, and execute() runs a task per vertex
+ * on virtual threads as soon as all of its predecessors have finished. A cycle is reported as
+ * an IllegalStateException naming the vertices on it. incremental() keeps an order up to date
+ * while further edges are added one at a time, through the Pearce-Kelly order of
+ * CycleDetection.Online.
  */
 public class TopologicalSort {
-    // Number of vertices and adjacency list for the graph
-    private int vertices;
-    private java.util.List<Integer>[] adjList;
+    // Frontier vertices handled by one fork-join leaf task when building levels
+    private static final int CHUNK = 2048;
+
+    // The graph, stored and traversed by the explicit-stack DFS engine
+    private final DepthFirstSearch graph;
 
     // Constructor to initialize the graph
-    @SuppressWarnings("unchecked")
     public TopologicalSort(int vertices) {
-        this.vertices = vertices;
-        adjList = new java.util.ArrayList[vertices];
-        for (int i = 0; i < vertices; i++) {
-            adjList[i] = new java.util.ArrayList<>();
-        }
+        this.graph = new DepthFirstSearch(vertices);
     }
 
     // Method to add a directed edge to the graph
     public void addEdge(int src, int dest) {
-        if (src < 0 || src >= vertices || dest < 0 || dest >= vertices) {
-            throw new IllegalArgumentException("Vertex index out of bounds");
-        }
-        adjList[src].add(dest);
+        graph.addEdge(src, dest);
     }
 
-    // Method to perform Topological Sort
-    public void topologicalSort() {
-        // Stack to store the topological order
-        java.util.Stack<Integer> stack = new java.util.Stack<>();
-        // Array to mark visited vertices
-        boolean[] visited = new boolean[vertices];
-
-        // Perform DFS for each unvisited vertex
-        for (int i = 0; i < vertices; i++) {
-            if (!visited[i]) {
-                topologicalSortUtil(i, visited, stack);
+    // Vertices in topological order: reverse DFS postorder
+    public int[] topologicalOrder() {
+        requireAcyclic();
+        int[] order = new int[graph.vertexCount()];
+        graph.traverseAll(new DepthFirstSearch.Visitor() {
+            private int next = order.length;
+
+            @Override
+            public void exit(int vertex, int parent) {
+                // A vertex finishes after all vertices reachable from it
+                order[--next] = vertex;
             }
-        }
+        });
+        return order;
+    }
 
+    // Method to perform Topological Sort
+    public void topologicalSort() {
         // Print the topological order
         System.out.print("Topological Sort (at 07:32 PM +0530, June 05, 2025): ");
-        while (!stack.isEmpty()) {
-            System.out.print(stack.pop() + " ");
+        for (int vertex : topologicalOrder()) {
+            System.out.print(vertex + " ");
         }
         System.out.println();
     }
 
-    // Helper method for DFS-based topological sort
-    private void topologicalSortUtil(int vertex, boolean[] visited, java.util.Stack<Integer> stack) {
-        // Mark current vertex as visited
-        visited[vertex] = true;
+    // A cycle as its vertices in edge order (the last one has an edge back to the first), or an empty array
+    public int[] findCycle() {
+        int vertices = graph.vertexCount();
+        int[] parent = new int[vertices];
+        int[][] cycle = {new int[0]};
+        graph.traverseAll(new DepthFirstSearch.Visitor() {
+            @Override
+            public void enter(int vertex, int p) {
+                parent[vertex] = p;
+            }
+
+            @Override
+            public void edge(int from, int to, int edgeId, DepthFirstSearch.EdgeType type) {
+                if (type != DepthFirstSearch.EdgeType.BACK || cycle[0].length > 0) {
+                    return;
+                }
+                // A back edge closes the tree path to -> ... -> from
+                int length = 1;
+                for (int v = from; v != to; v = parent[v]) {
+                    length++;
+                }
+                int[] path = new int[length];
+                for (int v = from, i = length - 1; i >= 0; v = parent[v], i--) {
+                    path[i] = v;
+                }
+                cycle[0] = path;
+            }
+        });
+        return cycle[0];
+    }
+
+    // Kahn's algorithm in parallel: level k holds the vertices whose longest incoming path has k edges
+    public int[][] levels(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("ForkJoinPool must not be null");
+        }
+        int[][] csr = graph.csrArrays();
+        int[] offsets = csr[0], targets = csr[1];
+        AtomicIntegerArray inDegree = inDegrees(targets);
+
+        java.util.List<int[]> levels = new java.util.ArrayList<>();
+        int[] frontier = sources(inDegree);
+        int placed = 0;
+        while (frontier.length > 0) {
+            java.util.Arrays.sort(frontier); // Parallel discovery order is arbitrary; keep output stable
+            levels.add(frontier);
+            placed += frontier.length;
+            frontier = nextLevel(pool, frontier, offsets, targets, inDegree);
+        }
+        if (placed < graph.vertexCount()) {
+            throw cycleError();
+        }
+        return levels.toArray(new int[0][]);
+    }
+
+    public int[][] levels() {
+        return levels(ForkJoinPool.commonPool());
+    }
+
+    // Decrement the in-degrees of the frontier's successors; those reaching zero form the next level
+    private static int[] nextLevel(ForkJoinPool pool, int[] frontier, int[] offsets, int[] targets,
+                                   AtomicIntegerArray inDegree) {
+        int chunks = (frontier.length + CHUNK - 1) / CHUNK;
+        int[][] found = new int[chunks][];
+        int[] foundCount = new int[chunks];
+        IntConsumer body = chunk -> {
+            int[] out = new int[16];
+            int count = 0;
+            int end = Math.min(frontier.length, (chunk + 1) * CHUNK);
+            for (int i = chunk * CHUNK; i < end; i++) {
+                int u = frontier[i];
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int v = targets[e];
+                    if (inDegree.decrementAndGet(v) == 0) {
+                        // Exactly one thread sees the counter reach zero
+                        if (count == out.length) {
+                            out = java.util.Arrays.copyOf(out, count * 2);
+                        }
+                        out[count++] = v;
+                    }
+                }
+            }
+            found[chunk] = out;
+            foundCount[chunk] = count;
+        };
+        ParallelChunks.run(pool, chunks, body);
+
+        int total = 0;
+        for (int count : foundCount) {
+            total += count;
+        }
+        int[] next = new int[total];
+        int position = 0;
+        for (int c = 0; c < chunks; c++) {
+            System.arraycopy(found[c], 0, next, position, foundCount[c]);
+            position += foundCount[c];
+        }
+        return next;
+    }
+
+    // Run task(vertex) for every vertex on virtual threads, each one after all of its predecessors
+    public void execute(IntConsumer task) throws InterruptedException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            execute(task, executor);
+        }
+    }
+
+    /**
+     * Run task(vertex) for every vertex on the given executor. A vertex is submitted by whichever
+     * predecessor brings its in-degree counter to zero, so independent work starts immediately
+     * instead of waiting for a whole level. If a task throws, no further tasks are started and
+     * the failure is rethrown once the running tasks have finished.
+     */
+    public void execute(IntConsumer task, ExecutorService executor) throws InterruptedException {
+        if (task == null || executor == null) {
+            throw new IllegalArgumentException("Task and executor must not be null");
+        }
+        requireAcyclic(); // Never start work on a graph that cannot finish
+        int[][] csr = graph.csrArrays();
+        int[] offsets = csr[0], targets = csr[1];
+        AtomicIntegerArray inDegree = inDegrees(targets);
+        int[] sources = sources(inDegree);
+        if (sources.length == 0) {
+            return;
+        }
+
+        // Tasks submitted but not yet completed; reaches zero only when every vertex has run
+        AtomicInteger outstanding = new AtomicInteger(sources.length);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        java.util.concurrent.CountDownLatch finished = new java.util.concurrent.CountDownLatch(1);
+        IntConsumer[] schedule = new IntConsumer[1];
+        schedule[0] = vertex -> {
+            try {
+                executor.execute(() -> {
+                    try {
+                        if (failure.get() == null) {
+                            task.accept(vertex);
+                            for (int e = offsets[vertex]; e < offsets[vertex + 1]; e++) {
+                                int next = targets[e];
+                                if (inDegree.decrementAndGet(next) == 0) {
+                                    outstanding.incrementAndGet();
+                                    schedule[0].accept(next);
+                                }
+                            }
+                        }
+                    } catch (Throwable ex) {
+                        failure.compareAndSet(null, new IllegalStateException("Task for vertex " + vertex + " failed", ex));
+                    } finally {
+                        if (outstanding.decrementAndGet() == 0) {
+                            finished.countDown();
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                // The task will never run, so its count is released here
+                failure.compareAndSet(null, new IllegalStateException("Task for vertex " + vertex + " was rejected", ex));
+                if (outstanding.decrementAndGet() == 0) {
+                    finished.countDown();
+                }
+            }
+        };
+        for (int source : sources) {
+            schedule[0].accept(source);
+        }
+        finished.await();
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    private AtomicIntegerArray inDegrees(int[] targets) {
+        int[] counts = new int[graph.vertexCount()];
+        for (int target : targets) {
+            counts[target]++;
+        }
+        return new AtomicIntegerArray(counts);
+    }
+
+    private static int[] sources(AtomicIntegerArray inDegree) {
+        int count = 0;
+        for (int v = 0; v < inDegree.length(); v++) {
+            if (inDegree.get(v) == 0) {
+                count++;
+            }
+        }
+        int[] sources = new int[count];
+        count = 0;
+        for (int v = 0; v < inDegree.length(); v++) {
+            if (inDegree.get(v) == 0) {
+                sources[count++] = v;
+            }
+        }
+        return sources;
+    }
 
-        // Visit all adjacent vertices
-        for (int next : adjList[vertex]) {
-            if (!visited[next]) {
-                topologicalSortUtil(next, visited, stack);
+    // An online order seeded with the current edges; later edges that would close a cycle are rejected
+    public CycleDetection.Online incremental() {
+        requireAcyclic();
+        int vertices = graph.vertexCount();
+        CycleDetection.Online online = new CycleDetection.Online(vertices);
+        int[][] csr = graph.csrArrays();
+        for (int u = 0; u < vertices; u++) {
+            for (int e = csr[0][u]; e < csr[0][u + 1]; e++) {
+                online.addEdge(u, csr[1][e]);
             }
         }
+        return online;
+    }
+
+    private void requireAcyclic() {
+        if (findCycle().length > 0) {
+            throw cycleError();
+        }
+    }
 
-        // Push current vertex to stack after all its adjacent vertices are processed
-        stack.push(vertex);
+    private IllegalStateException cycleError() {
+        return new IllegalStateException("Graph has a cycle: " + describeCycle(findCycle()));
+    }
+
+    private static String describeCycle(int[] cycle) {
+        StringBuilder sb = new StringBuilder();
+        for (int v : cycle) {
+            sb.append(v).append(" -> ");
+        }
+        return sb.append(cycle[0]).toString();
     }
 
     // Main method to demonstrate Topological Sort
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException {
         // Test Case 1: Simple DAG
         TopologicalSort graph1 = new TopologicalSort(6);
         graph1.addEdge(5, 2);
@@ -79,6 +304,7 @@ public class TopologicalSort {
         graph1.addEdge(3, 1);
         System.out.println("Test Case 1: Simple DAG");
         graph1.topologicalSort();
+        System.out.println("Levels: " + java.util.Arrays.deepToString(graph1.levels()));
         System.out.println();
 
         // Test Case 2: Another DAG
@@ -91,6 +317,55 @@ public class TopologicalSort {
         graph2.topologicalSort();
         System.out.println();
 
+        // Test Case 3: Run a task per vertex, each after its predecessors
+        System.out.println("Test Case 3: Executing tasks on virtual threads");
+        java.util.Queue<Integer> completed = new java.util.concurrent.ConcurrentLinkedQueue<>();
+        graph1.execute(completed::add);
+        System.out.println("Completion order: " + completed);
+        System.out.println();
+
+        // Test Case 4: Order kept up to date edge by edge, rejecting the edge that closes a cycle
+        System.out.println("Test Case 4: Incremental order");
+        CycleDetection.Online online = graph2.incremental();
+        System.out.println("Initial order: " + java.util.Arrays.toString(online.order()));
+        online.addEdge(2, 1); // Forces 1 behind 2
+        System.out.println("After adding 2 -> 1: " + java.util.Arrays.toString(online.order()));
+        if (!online.addEdge(3, 0)) { // Would close 0 -> 2 -> 3 -> 0
+            System.out.println("Rejected 3 -> 0, cycle: " + java.util.Arrays.toString(online.rejectedCycle()));
+        }
+        System.out.println();
+
+        // Test Case 5: A scheduling-sized DAG
+        int n = 50_000;
+        TopologicalSort build = new TopologicalSort(n);
+        java.util.Random random = new java.util.Random(14);
+        for (int v = 1; v < n; v++) {
+            for (int i = 0; i < 4; i++) {
+                build.addEdge(random.nextInt(v), v); // Edges only go to later vertices
+            }
+        }
+        long start = System.nanoTime();
+        int[][] levels = build.levels();
+        System.out.printf("Test Case 5: %d tasks in %d levels, computed in %.1f ms%n", n, levels.length,
+                (System.nanoTime() - start) / 1e6);
+        AtomicInteger ran = new AtomicInteger();
+        start = System.nanoTime();
+        build.execute(vertex -> ran.incrementAndGet());
+        System.out.printf("Executed %d tasks in %.1f ms%n", ran.get(), (System.nanoTime() - start) / 1e6);
+        System.out.println();
+
+        // Error case: Cycle
+        try {
+            TopologicalSort cyclic = new TopologicalSort(4);
+            cyclic.addEdge(0, 1);
+            cyclic.addEdge(1, 2);
+            cyclic.addEdge(2, 3);
+            cyclic.addEdge(3, 1);
+            cyclic.levels();
+        } catch (Exception e) {
+            System.out.println("Error Case: " + e.getMessage());
+        }
+
         // Error case: Invalid edge
         try {
             TopologicalSort graph3 = new TopologicalSort(3);
@@ -0,0 +1,425 @@
+package Algorithms.SortingAlgorithms;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * An external merge sort for binary files of fixed-width int or long records (big-endian)
+ * that are larger than the Java heap.
+ * Phase 1 maps fixed-size segments of the input with FileChannel.map, sorts several of them
+ * concurrently with RadixSort and writes each one to a temporary run file.
+ * Phase 2 merges the runs with a loser tree, reading every run through its own small buffer
+ * and writing the output sequentially. When there are more runs than the memory budget
+ * allows buffers for, the runs are merged in several passes.
+ */
+public class ExternalMergeSort {
+    // Smallest read/write buffer used while merging
+    private static final int MIN_MERGE_BUFFER_BYTES = 64 * 1024;
+    // A single mapping is limited to 2 GB
+    private static final long MAX_MAPPING_BYTES = Integer.MAX_VALUE;
+
+    private final long memoryBudgetBytes;
+    private final Path tempDirectory;
+    private final ForkJoinPool pool;
+
+    // Summary of one sort: how many runs were produced and how they were merged
+    public static class Result {
+        public final long records;
+        public final int runCount;
+        public final int mergeFanIn;
+        public final int mergePasses;
+
+        Result(long records, int runCount, int mergeFanIn, int mergePasses) {
+            this.records = records;
+            this.runCount = runCount;
+            this.mergeFanIn = mergeFanIn;
+            this.mergePasses = mergePasses;
+        }
+
+        @Override
+        public String toString() {
+            return "records=" + records + ", runs=" + runCount + ", fan-in=" + mergeFanIn + ", merge passes=" + mergePasses;
+        }
+    }
+
+    // Create a sorter that keeps at most memoryBudgetBytes of records in memory at once
+    public ExternalMergeSort(long memoryBudgetBytes, Path tempDirectory, ForkJoinPool pool) {
+        if (memoryBudgetBytes < 4L * MIN_MERGE_BUFFER_BYTES) {
+            throw new IllegalArgumentException("Memory budget must be at least " + 4 * MIN_MERGE_BUFFER_BYTES + " bytes");
+        }
+        if (tempDirectory == null || pool == null) {
+            throw new IllegalArgumentException("Temp directory and pool must not be null");
+        }
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.tempDirectory = tempDirectory;
+        this.pool = pool;
+    }
+
+    // Sort a file of 4-byte int records into output
+    public Result sortInts(Path input, Path output) throws IOException {
+        return sort(input, output, Integer.BYTES);
+    }
+
+    // Sort a file of 8-byte long records into output
+    public Result sortLongs(Path input, Path output) throws IOException {
+        return sort(input, output, Long.BYTES);
+    }
+
+    private Result sort(Path input, Path output, int recordSize) throws IOException {
+        long fileSize = Files.size(input);
+        if (fileSize % recordSize != 0) {
+            throw new IllegalArgumentException("File size is not a multiple of the record size " + recordSize);
+        }
+        long records = fileSize / recordSize;
+
+        List<Path> runs = createRuns(input, recordSize, records);
+        try {
+            int maxFanIn = (int) Math.max(2, memoryBudgetBytes / MIN_MERGE_BUFFER_BYTES - 1);
+            int fanIn = Math.min(maxFanIn, Math.max(1, runs.size()));
+            int runCount = runs.size();
+            int passes = 0;
+
+            // Intermediate passes until the remaining runs fit into one final merge
+            while (runs.size() > fanIn) {
+                List<Path> next = new ArrayList<>();
+                try {
+                    for (int i = 0; i < runs.size(); i += fanIn) {
+                        List<Path> group = runs.subList(i, Math.min(runs.size(), i + fanIn));
+                        if (group.size() == 1) {
+                            next.add(group.get(0)); // A lone trailing run moves on to the next pass as it is
+                            continue;
+                        }
+                        Path merged = Files.createTempFile(tempDirectory, "merge", ".run");
+                        next.add(merged); // Tracked before it is written, so a failed merge removes it too
+                        merge(group, merged, recordSize);
+                        deleteAll(group);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    deleteAll(next); // The runs not merged yet are still in runs and go in the finally block
+                    throw e;
+                }
+                runs = next;
+                passes++;
+            }
+
+            if (runs.size() == 1) {
+                Files.move(runs.get(0), output, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                merge(runs, output, recordSize);
+                passes++;
+            }
+            return new Result(records, runCount, fanIn, passes);
+        } finally {
+            deleteAll(runs); // A run moved to the output no longer exists and is skipped
+        }
+    }
+
+    // Phase 1: sort memory-sized segments of the input concurrently and spill them as runs
+    private List<Path> createRuns(Path input, int recordSize, long records) throws IOException {
+        int workers = pool.getParallelism();
+        // Each in-flight run gets an equal share of the budget: its output buffer, then its keys
+        // plus a radix scratch buffer of the same size
+        long share = memoryBudgetBytes / workers;
+        int writerBytes = (int) Math.max(recordSize, Math.min(MIN_MERGE_BUFFER_BYTES * 16L, share / 8));
+        long runRecords = (share - writerBytes) / (2L * recordSize);
+        runRecords = Math.max(1, Math.min(runRecords, MAX_MAPPING_BYTES / recordSize));
+        long runCount = records == 0 ? 1 : (records + runRecords - 1) / runRecords;
+
+        List<Path> runs = new ArrayList<>();
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+            for (long first = 0; first < runCount; first += workers) {
+                List<Callable<Path>> batch = new ArrayList<>();
+                for (long run = first; run < Math.min(runCount, first + workers); run++) {
+                    long start = run * runRecords;
+                    int count = (int) Math.min(runRecords, records - start);
+                    batch.add(() -> writeRun(in, start * recordSize, count, recordSize, writerBytes));
+                }
+                // Keep every run the batch produced, so a failed sibling cannot leak their files
+                IOException ioFailure = null;
+                RuntimeException failure = null;
+                for (Future<Path> future : pool.invokeAll(batch)) {
+                    try {
+                        runs.add(await(future));
+                    } catch (IOException e) {
+                        ioFailure = ioFailure == null ? e : ioFailure;
+                    } catch (RuntimeException e) {
+                        failure = failure == null ? e : failure;
+                    }
+                }
+                if (ioFailure != null) {
+                    throw ioFailure;
+                }
+                if (failure != null) {
+                    throw failure;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteAll(runs);
+            throw e;
+        }
+        return runs;
+    }
+
+    // Map one segment of the input, sort it in memory and write it to a new run file
+    private Path writeRun(FileChannel in, long position, int count, int recordSize, int writerBytes) throws IOException {
+        MappedByteBuffer segment = in.map(FileChannel.MapMode.READ_ONLY, position, (long) count * recordSize);
+        Path run = Files.createTempFile(tempDirectory, "run", ".run");
+        try {
+            writeSorted(segment, run, count, recordSize, writerBytes);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(run); // Not yet handed to the caller, so nobody else cleans it up
+            throw e;
+        }
+        return run;
+    }
+
+    // Sort the mapped segment with RadixSort and write it to run
+    private static void writeSorted(MappedByteBuffer segment, Path run, int count, int recordSize, int writerBytes)
+            throws IOException {
+        try (FileChannel out = FileChannel.open(run, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            RecordWriter writer = new RecordWriter(out, recordSize, writerBytes);
+            if (recordSize == Integer.BYTES) {
+                int[] keys = new int[count];
+                segment.asIntBuffer().get(keys);
+                RadixSort.sort(keys);
+                for (int key : keys) {
+                    writer.write(key);
+                }
+            } else {
+                long[] keys = new long[count];
+                segment.asLongBuffer().get(keys);
+                RadixSort.sort(keys);
+                for (long key : keys) {
+                    writer.write(key);
+                }
+            }
+            writer.flush();
+        }
+    }
+
+    // Phase 2: k-way merge of sorted runs through a loser tree
+    private void merge(List<Path> runs, Path output, int recordSize) throws IOException {
+        int k = runs.size();
+        int bufferBytes = (int) Math.min(MAX_MAPPING_BYTES / 2, memoryBudgetBytes / (k + 1));
+        bufferBytes -= bufferBytes % recordSize;
+        RunReader[] readers = new RunReader[k];
+        try (FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (int i = 0; i < k; i++) {
+                readers[i] = new RunReader(FileChannel.open(runs.get(i), StandardOpenOption.READ), recordSize, bufferBytes);
+            }
+            RecordWriter writer = new RecordWriter(out, recordSize, bufferBytes);
+            LoserTree tree = new LoserTree(readers);
+            while (true) {
+                int winner = tree.winner();
+                RunReader reader = readers[winner];
+                if (reader.exhausted) {
+                    break; // The smallest remaining source is empty, so all of them are
+                }
+                writer.write(reader.current);
+                reader.advance();
+                tree.replay(winner);
+            }
+            writer.flush();
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null) {
+                    reader.channel.close();
+                }
+            }
+        }
+    }
+
+    // Tournament tree storing the loser at every internal node; each replay costs log2(k) comparisons
+    private static class LoserTree {
+        private final RunReader[] sources;
+        private final int[] tree; // tree[0] is the overall winner, tree[1..k-1] are losers
+
+        LoserTree(RunReader[] sources) {
+            this.sources = sources;
+            this.tree = new int[Math.max(1, sources.length)];
+            tree[0] = sources.length == 1 ? 0 : build(1);
+        }
+
+        int winner() {
+            return tree[0];
+        }
+
+        // Leaves are the virtual nodes k..2k-1; returns the winner of the subtree
+        private int build(int node) {
+            int k = sources.length;
+            if (node >= k) {
+                return node - k;
+            }
+            int left = build(2 * node);
+            int right = build(2 * node + 1);
+            if (less(left, right)) {
+                tree[node] = right;
+                return left;
+            }
+            tree[node] = left;
+            return right;
+        }
+
+        // Re-run the matches on the path from a leaf whose value changed up to the root
+        void replay(int leaf) {
+            int winner = leaf;
+            for (int node = (leaf + sources.length) >> 1; node >= 1; node >>= 1) {
+                if (less(tree[node], winner)) {
+                    int swap = tree[node];
+                    tree[node] = winner;
+                    winner = swap;
+                }
+            }
+            tree[0] = winner;
+        }
+
+        // Exhausted sources act as +infinity; ties go to the lower run index
+        private boolean less(int a, int b) {
+            RunReader x = sources[a], y = sources[b];
+            if (x.exhausted || y.exhausted) {
+                return !x.exhausted || (y.exhausted && a < b);
+            }
+            return x.current < y.current || (x.current == y.current && a < b);
+        }
+    }
+
+    // Sequential buffered reader over one run file
+    private static class RunReader {
+        final FileChannel channel;
+        final int recordSize;
+        final ByteBuffer buffer;
+        long current;
+        boolean exhausted;
+
+        RunReader(FileChannel channel, int recordSize, int bufferBytes) throws IOException {
+            this.channel = channel;
+            this.recordSize = recordSize;
+            this.buffer = ByteBuffer.allocateDirect(bufferBytes);
+            buffer.flip(); // Start empty so the first advance fills it
+            advance();
+        }
+
+        void advance() throws IOException {
+            if (buffer.remaining() < recordSize) {
+                buffer.compact();
+                while (buffer.position() < recordSize && channel.read(buffer) > 0) {
+                    // Keep reading until at least one whole record is available
+                }
+                buffer.flip();
+                if (buffer.remaining() < recordSize) {
+                    exhausted = true;
+                    return;
+                }
+            }
+            current = recordSize == Integer.BYTES ? buffer.getInt() : buffer.getLong();
+        }
+    }
+
+    // Buffered sequential writer of int or long records
+    private static class RecordWriter {
+        private final FileChannel channel;
+        private final int recordSize;
+        private final ByteBuffer buffer;
+
+        RecordWriter(FileChannel channel, int recordSize, int bufferBytes) {
+            this.channel = channel;
+            this.recordSize = recordSize;
+            this.buffer = ByteBuffer.allocateDirect(Math.max(recordSize, bufferBytes - bufferBytes % recordSize));
+        }
+
+        void write(long value) throws IOException {
+            if (buffer.remaining() < recordSize) {
+                flush();
+            }
+            if (recordSize == Integer.BYTES) {
+                buffer.putInt((int) value);
+            } else {
+                buffer.putLong(value);
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    // Unwrap a future, rethrowing I/O errors from the worker as-is
+    private static Path await(Future<Path> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while creating runs", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException("Run creation failed", e.getCause());
+        }
+    }
+
+    private static void deleteAll(List<Path> files) throws IOException {
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // Example usage: sort 20M random ints (80 MB) with a 16 MB budget
+    public static void main(String[] args) throws IOException {
+        Path tempDir = Files.createTempDirectory("external-sort");
+        Path input = tempDir.resolve("input.bin");
+        Path output = tempDir.resolve("output.bin");
+        int n = 20_000_000;
+
+        java.util.Random random = new java.util.Random(11);
+        try (FileChannel out = FileChannel.open(input, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            RecordWriter writer = new RecordWriter(out, Integer.BYTES, 1 << 20);
+            for (int i = 0; i < n; i++) {
+                writer.write(random.nextInt());
+            }
+            writer.flush();
+        }
+
+        ExternalMergeSort sorter = new ExternalMergeSort(16L << 20, tempDir, ForkJoinPool.commonPool());
+        long start = System.nanoTime();
+        Result result = sorter.sortInts(input, output);
+        System.out.printf("Sorted %d ints in %.1f ms (%s)%n", n, (System.nanoTime() - start) / 1e6, result);
+
+        // Verify the output is ordered
+        boolean sorted = true;
+        try (FileChannel in = FileChannel.open(output, StandardOpenOption.READ)) {
+            RunReader reader = new RunReader(in, Integer.BYTES, 1 << 20);
+            long previous = Long.MIN_VALUE;
+            long count = 0;
+            while (!reader.exhausted) {
+                sorted &= previous <= reader.current;
+                previous = reader.current;
+                count++;
+                reader.advance();
+            }
+            sorted &= count == n;
+        }
+        System.out.println("Output sorted: " + sorted);
+
+        Files.deleteIfExists(input);
+        Files.deleteIfExists(output);
+        Files.deleteIfExists(tempDir);
+    }
+}
@@ -1,4 +1,189 @@
 package Algorithms.SortingAlgorithms;
 
+/**
+ * An introsort-style QuickSort for int arrays.
+ * Pivots are chosen with the median-of-three (small ranges) or Tukey's ninther (large ranges),
+ * partitioning is three-way so runs of equal keys are finished in a single pass, the larger
+ * side is handled by a loop instead of recursion, and once the recursion depth exceeds
+ * 2 * log2(n) the remaining range is finished with heap sort. This keeps the worst case at
+ * O(n log n) time and O(log n) stack even for sorted, reversed or all-equal inputs.
+ */
 public class QuickSort {
+    // Ranges at or below this length are finished with insertion sort
+    private static final int INSERTION_SORT_THRESHOLD = 24;
+    // Ranges above this length use the ninther instead of a plain median-of-three
+    private static final int NINTHER_THRESHOLD = 128;
+
+    // Sort the whole array
+    public static void quickSort(int[] arr) {
+        if (arr == null || arr.length <= 1) {
+            return;
+        }
+        quickSort(arr, 0, arr.length - 1);
+    }
+
+    // Sort arr[low..high] (inclusive bounds)
+    public static void quickSort(int[] arr, int low, int high) {
+        if (arr == null || low < 0 || high >= arr.length) {
+            throw new IllegalArgumentException("Invalid array or range");
+        }
+        if (low >= high) {
+            return;
+        }
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(high - low + 1));
+        introSort(arr, low, high, depthLimit);
+    }
+
+    // Main loop: recurse into the smaller side, iterate over the larger one
+    private static void introSort(int[] arr, int low, int high, int depthLimit) {
+        while (high - low + 1 > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(arr, low, high); // Too many unbalanced splits; guarantee O(n log n)
+                return;
+            }
+
+            int pivot = arr[choosePivotIndex(arr, low, high)];
+
+            // Three-way partition (Dijkstra): [low..lt-1] < pivot, [lt..gt] == pivot, [gt+1..high] > pivot
+            int lt = low, i = low, gt = high;
+            while (i <= gt) {
+                int value = arr[i];
+                if (value < pivot) {
+                    swap(arr, lt++, i++);
+                } else if (value > pivot) {
+                    swap(arr, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+
+            // Tail-call elimination: recurse on the smaller part, loop on the larger one
+            if (lt - low < high - gt) {
+                introSort(arr, low, lt - 1, depthLimit);
+                low = gt + 1;
+            } else {
+                introSort(arr, gt + 1, high, depthLimit);
+                high = lt - 1;
+            }
+        }
+        insertionSort(arr, low, high);
+    }
+
+    // Pick a pivot index using median-of-three or Tukey's ninther for large ranges
+    private static int choosePivotIndex(int[] arr, int low, int high) {
+        int length = high - low + 1;
+        int mid = low + (length >>> 1);
+        if (length <= NINTHER_THRESHOLD) {
+            return medianOfThree(arr, low, mid, high);
+        }
+        int step = length >>> 3;
+        int m1 = medianOfThree(arr, low, low + step, low + 2 * step);
+        int m2 = medianOfThree(arr, mid - step, mid, mid + step);
+        int m3 = medianOfThree(arr, high - 2 * step, high - step, high);
+        return medianOfThree(arr, m1, m2, m3);
+    }
+
+    // Return the index holding the median of arr[a], arr[b], arr[c]
+    private static int medianOfThree(int[] arr, int a, int b, int c) {
+        int x = arr[a], y = arr[b], z = arr[c];
+        if (x < y) {
+            return y < z ? b : (x < z ? c : a);
+        }
+        return x < z ? a : (y < z ? c : b);
+    }
+
+    // Insertion sort for short ranges
+    private static void insertionSort(int[] arr, int low, int high) {
+        for (int i = low + 1; i <= high; i++) {
+            int key = arr[i];
+            int j = i - 1;
+            while (j >= low && arr[j] > key) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = key;
+        }
+    }
+
+    // In-place heap sort of arr[low..high], used as the depth-limit fallback
+    private static void heapSort(int[] arr, int low, int high) {
+        int n = high - low + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(arr, low, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(arr, low, low + end);
+            siftDown(arr, low, 0, end);
+        }
+    }
+
+    // Restore the max-heap property for the heap stored at arr[offset..offset+size-1]
+    private static void siftDown(int[] arr, int offset, int root, int size) {
+        int value = arr[offset + root];
+        while (true) {
+            int child = 2 * root + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && arr[offset + child + 1] > arr[offset + child]) {
+                child++;
+            }
+            if (arr[offset + child] <= value) {
+                break;
+            }
+            arr[offset + root] = arr[offset + child];
+            root = child;
+        }
+        arr[offset + root] = value;
+    }
+
+    // Swap two elements
+    private static void swap(int[] arr, int i, int j) {
+        int temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+
+    // Example usage
+    public static void main(String[] args) {
+        int[][] testCases = {
+                {64, 34, 25, 12, 22, 11, 90},
+                {1, 2, 3, 4, 5},
+                {5, 2, 9, 5, 2, 3, 5},
+                {},
+                {42}
+        };
+        for (int[] arr : testCases) {
+            System.out.println("Original array: " + java.util.Arrays.toString(arr));
+            quickSort(arr);
+            System.out.println("Sorted array: " + java.util.Arrays.toString(arr));
+            System.out.println();
+        }
+
+        // Inputs that break a last-element pivot: sorted, reversed and all-equal
+        int n = 2_000_000;
+        int[] sorted = new int[n];
+        int[] reversed = new int[n];
+        int[] equal = new int[n];
+        int[] random = new int[n];
+        java.util.Random rnd = new java.util.Random(7);
+        for (int i = 0; i < n; i++) {
+            sorted[i] = i;
+            reversed[i] = n - i;
+            equal[i] = 42;
+            random[i] = rnd.nextInt();
+        }
+        String[] names = {"sorted", "reversed", "all-equal", "random"};
+        int[][] inputs = {sorted, reversed, equal, random};
+        for (int t = 0; t < inputs.length; t++) {
+            int[] arr = inputs[t];
+            int[] expected = arr.clone();
+            java.util.Arrays.sort(expected);
+            long start = System.nanoTime();
+            quickSort(arr);
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%-9s n=%d: %.1f ms, correct=%b%n",
+                    names[t], n, elapsed / 1e6, java.util.Arrays.equals(arr, expected));
+        }
+    }
 }
@@ -1,4 +1,536 @@
 package Algorithms.SortingAlgorithms;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A byte-wise LSD (least significant digit first) Radix Sort for primitive keys.
+ * Each pass distributes the keys by one 8-bit digit using a counting histogram, so an
+ * int[] needs at most 4 passes and a long[] at most 8, independent of the input order.
+ * Signed keys are handled by flipping the sign bit of the most significant digit, and
+ * float/double keys are first mapped to integers with the same ordering.
+ * Passes whose digit is identical for every key are skipped entirely.
+ * Key/value variants move an int[] payload (e.g. row ids) together with the keys, and the
+ * sort is stable, so equal keys keep the original order of their payloads.
+ */
 public class RadixSort {
+    private static final int RADIX = 256;
+    private static final int DIGIT_MASK = RADIX - 1;
+    // Arrays at or below this length are finished with insertion sort
+    private static final int INSERTION_SORT_THRESHOLD = 64;
+    // Smallest chunk handed to one worker in the parallel mode
+    private static final int MIN_PARALLEL_CHUNK = 1 << 16;
+
+    // Sort an int array in ascending order
+    public static void sort(int[] keys) {
+        sort(keys, null);
+    }
+
+    // Sort int keys and move values[i] together with keys[i] (values may be null)
+    public static void sort(int[] keys, int[] values) {
+        checkPayload(keys == null ? 0 : keys.length, values);
+        if (keys == null || keys.length <= 1) {
+            return;
+        }
+        if (keys.length <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(keys, values);
+            return;
+        }
+        int n = keys.length;
+        int[][] counts = new int[4][RADIX];
+        for (int key : keys) {
+            for (int pass = 0; pass < 4; pass++) {
+                counts[pass][digit(key, pass)]++;
+            }
+        }
+
+        int[] src = keys, dst = new int[n];
+        int[] srcValues = values, dstValues = values == null ? null : new int[n];
+        for (int pass = 0; pass < 4; pass++) {
+            int[] count = counts[pass];
+            if (isConstantDigit(count, n)) {
+                continue; // Every key has the same digit here, order would not change
+            }
+            int[] offset = exclusivePrefixSum(count);
+            for (int i = 0; i < n; i++) {
+                int position = offset[digit(src[i], pass)]++;
+                dst[position] = src[i];
+                if (srcValues != null) {
+                    dstValues[position] = srcValues[i];
+                }
+            }
+            int[] swap = src; src = dst; dst = swap;
+            swap = srcValues; srcValues = dstValues; dstValues = swap;
+        }
+        if (src != keys) { // An odd number of passes ran; the result lives in the scratch buffer
+            System.arraycopy(src, 0, keys, 0, n);
+            if (values != null) {
+                System.arraycopy(srcValues, 0, values, 0, n);
+            }
+        }
+    }
+
+    // Sort a long array in ascending order
+    public static void sort(long[] keys) {
+        sort(keys, null);
+    }
+
+    // Sort long keys and move values[i] together with keys[i] (values may be null)
+    public static void sort(long[] keys, int[] values) {
+        checkPayload(keys == null ? 0 : keys.length, values);
+        if (keys == null || keys.length <= 1) {
+            return;
+        }
+        if (keys.length <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(keys, values);
+            return;
+        }
+        int n = keys.length;
+        int[][] counts = new int[8][RADIX];
+        for (long key : keys) {
+            for (int pass = 0; pass < 8; pass++) {
+                counts[pass][digit(key, pass)]++;
+            }
+        }
+
+        long[] src = keys, dst = new long[n];
+        int[] srcValues = values, dstValues = values == null ? null : new int[n];
+        for (int pass = 0; pass < 8; pass++) {
+            int[] count = counts[pass];
+            if (isConstantDigit(count, n)) {
+                continue;
+            }
+            int[] offset = exclusivePrefixSum(count);
+            for (int i = 0; i < n; i++) {
+                int position = offset[digit(src[i], pass)]++;
+                dst[position] = src[i];
+                if (srcValues != null) {
+                    dstValues[position] = srcValues[i];
+                }
+            }
+            long[] swap = src; src = dst; dst = swap;
+            int[] swapValues = srcValues; srcValues = dstValues; dstValues = swapValues;
+        }
+        if (src != keys) {
+            System.arraycopy(src, 0, keys, 0, n);
+            if (values != null) {
+                System.arraycopy(srcValues, 0, values, 0, n);
+            }
+        }
+    }
+
+    // Sort a float array in ascending order (-0.0f before 0.0f, NaN last)
+    public static void sort(float[] keys) {
+        sort(keys, null);
+    }
+
+    // Sort float keys and move values[i] together with keys[i] (values may be null)
+    public static void sort(float[] keys, int[] values) {
+        if (keys == null || keys.length <= 1) {
+            checkPayload(keys == null ? 0 : keys.length, values);
+            return;
+        }
+        int[] bits = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            bits[i] = floatToSortable(keys[i]);
+        }
+        sort(bits, values);
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = sortableToFloat(bits[i]);
+        }
+    }
+
+    // Sort a double array in ascending order (-0.0 before 0.0, NaN last)
+    public static void sort(double[] keys) {
+        sort(keys, null);
+    }
+
+    // Sort double keys and move values[i] together with keys[i] (values may be null)
+    public static void sort(double[] keys, int[] values) {
+        if (keys == null || keys.length <= 1) {
+            checkPayload(keys == null ? 0 : keys.length, values);
+            return;
+        }
+        long[] bits = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            bits[i] = doubleToSortable(keys[i]);
+        }
+        sort(bits, values);
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = sortableToDouble(bits[i]);
+        }
+    }
+
+    // Sort an int array in parallel on the given pool
+    public static void parallelSort(int[] keys, ForkJoinPool pool) {
+        parallelSort(keys, null, pool);
+    }
+
+    // Parallel key/value sort: per-worker histograms, then each worker scatters its own chunk
+    public static void parallelSort(int[] keys, int[] values, ForkJoinPool pool) {
+        checkPayload(keys == null ? 0 : keys.length, values);
+        if (pool == null) {
+            throw new IllegalArgumentException("ForkJoinPool must not be null");
+        }
+        if (keys == null || keys.length <= 1) {
+            return;
+        }
+        int n = keys.length;
+        int chunks = Math.min(pool.getParallelism() * 2, (n + MIN_PARALLEL_CHUNK - 1) / MIN_PARALLEL_CHUNK);
+        if (chunks <= 1) {
+            sort(keys, values); // Too small to benefit from splitting
+            return;
+        }
+        int chunkSize = (n + chunks - 1) / chunks;
+        int[][] chunkCounts = new int[chunks][RADIX];
+
+        int[] src = keys, dst = new int[n];
+        int[] srcValues = values, dstValues = values == null ? null : new int[n];
+        for (int pass = 0; pass < 4; pass++) {
+            final int currentPass = pass;
+            final int[] from = src;
+            // Phase 1: every chunk counts its own digits
+            pool.invoke(new ChunkTask(0, chunks, chunk -> {
+                int[] count = chunkCounts[chunk];
+                java.util.Arrays.fill(count, 0);
+                int end = Math.min(n, (chunk + 1) * chunkSize);
+                for (int i = chunk * chunkSize; i < end; i++) {
+                    count[digit(from[i], currentPass)]++;
+                }
+            }));
+
+            if (!toChunkOffsets(chunkCounts, n)) {
+                continue; // Every key has the same digit in this pass
+            }
+
+            // Phase 2: every chunk scatters into its reserved, disjoint slots of the output
+            final int[] to = dst, fromValues = srcValues, toValues = dstValues;
+            pool.invoke(new ChunkTask(0, chunks, chunk -> {
+                int[] offset = chunkCounts[chunk];
+                int end = Math.min(n, (chunk + 1) * chunkSize);
+                for (int i = chunk * chunkSize; i < end; i++) {
+                    int slot = offset[digit(from[i], currentPass)]++;
+                    to[slot] = from[i];
+                    if (fromValues != null) {
+                        toValues[slot] = fromValues[i];
+                    }
+                }
+            }));
+            int[] swap = src; src = dst; dst = swap;
+            swap = srcValues; srcValues = dstValues; dstValues = swap;
+        }
+        if (src != keys) {
+            System.arraycopy(src, 0, keys, 0, n);
+            if (values != null) {
+                System.arraycopy(srcValues, 0, values, 0, n);
+            }
+        }
+    }
+
+    // Sort a long array in parallel on the given pool
+    public static void parallelSort(long[] keys, ForkJoinPool pool) {
+        parallelSort(keys, null, pool);
+    }
+
+    // Parallel key/value sort for long keys, in up to 8 histogram and scatter phases
+    public static void parallelSort(long[] keys, int[] values, ForkJoinPool pool) {
+        checkPayload(keys == null ? 0 : keys.length, values);
+        if (pool == null) {
+            throw new IllegalArgumentException("ForkJoinPool must not be null");
+        }
+        if (keys == null || keys.length <= 1) {
+            return;
+        }
+        int n = keys.length;
+        int chunks = Math.min(pool.getParallelism() * 2, (n + MIN_PARALLEL_CHUNK - 1) / MIN_PARALLEL_CHUNK);
+        if (chunks <= 1) {
+            sort(keys, values); // Too small to benefit from splitting
+            return;
+        }
+        int chunkSize = (n + chunks - 1) / chunks;
+        int[][] chunkCounts = new int[chunks][RADIX];
+
+        long[] src = keys, dst = new long[n];
+        int[] srcValues = values, dstValues = values == null ? null : new int[n];
+        for (int pass = 0; pass < 8; pass++) {
+            final int currentPass = pass;
+            final long[] from = src;
+            pool.invoke(new ChunkTask(0, chunks, chunk -> {
+                int[] count = chunkCounts[chunk];
+                java.util.Arrays.fill(count, 0);
+                int end = Math.min(n, (chunk + 1) * chunkSize);
+                for (int i = chunk * chunkSize; i < end; i++) {
+                    count[digit(from[i], currentPass)]++;
+                }
+            }));
+            if (!toChunkOffsets(chunkCounts, n)) {
+                continue; // Every key has the same digit in this pass
+            }
+
+            final long[] to = dst;
+            final int[] fromValues = srcValues, toValues = dstValues;
+            pool.invoke(new ChunkTask(0, chunks, chunk -> {
+                int[] offset = chunkCounts[chunk];
+                int end = Math.min(n, (chunk + 1) * chunkSize);
+                for (int i = chunk * chunkSize; i < end; i++) {
+                    int slot = offset[digit(from[i], currentPass)]++;
+                    to[slot] = from[i];
+                    if (fromValues != null) {
+                        toValues[slot] = fromValues[i];
+                    }
+                }
+            }));
+            long[] swap = src; src = dst; dst = swap;
+            int[] swapValues = srcValues; srcValues = dstValues; dstValues = swapValues;
+        }
+        if (src != keys) {
+            System.arraycopy(src, 0, keys, 0, n);
+            if (values != null) {
+                System.arraycopy(srcValues, 0, values, 0, n);
+            }
+        }
+    }
+
+    // Parallel float sort built on the int engine
+    public static void parallelSort(float[] keys, ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("ForkJoinPool must not be null");
+        }
+        if (keys == null || keys.length <= 1) {
+            return;
+        }
+        int[] bits = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            bits[i] = floatToSortable(keys[i]);
+        }
+        parallelSort(bits, null, pool);
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = sortableToFloat(bits[i]);
+        }
+    }
+
+    // Parallel double sort built on the long engine
+    public static void parallelSort(double[] keys, ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("ForkJoinPool must not be null");
+        }
+        if (keys == null || keys.length <= 1) {
+            return;
+        }
+        long[] bits = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            bits[i] = doubleToSortable(keys[i]);
+        }
+        parallelSort(bits, null, pool);
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = sortableToDouble(bits[i]);
+        }
+    }
+
+    // Fork-join task running a body for every chunk index in [from, to)
+    private static class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from, to;
+        private final transient java.util.function.IntConsumer body;
+
+        ChunkTask(int from, int to, java.util.function.IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkTask(from, mid, body), new ChunkTask(mid, to, body));
+        }
+    }
+
+    // Turn per-chunk digit counts into per-chunk write offsets (digit-major, chunk-minor);
+    // false when one digit holds all n keys, so the pass can be skipped
+    private static boolean toChunkOffsets(int[][] chunkCounts, int n) {
+        for (int d = 0; d < RADIX; d++) {
+            int total = 0;
+            for (int[] count : chunkCounts) {
+                total += count[d];
+            }
+            if (total == n) {
+                return false;
+            }
+        }
+        int position = 0;
+        for (int d = 0; d < RADIX; d++) {
+            for (int[] count : chunkCounts) {
+                int c = count[d];
+                count[d] = position;
+                position += c;
+            }
+        }
+        return true;
+    }
+
+    // Digit of an int key for the given pass; the top digit has its sign bit flipped
+    private static int digit(int key, int pass) {
+        int d = (key >>> (pass << 3)) & DIGIT_MASK;
+        return pass == 3 ? d ^ 0x80 : d;
+    }
+
+    // Digit of a long key for the given pass; the top digit has its sign bit flipped
+    private static int digit(long key, int pass) {
+        int d = (int) (key >>> (pass << 3)) & DIGIT_MASK;
+        return pass == 7 ? d ^ 0x80 : d;
+    }
+
+    // True when one bucket holds every key, i.e. the pass would be a no-op
+    private static boolean isConstantDigit(int[] count, int n) {
+        for (int c : count) {
+            if (c != 0) {
+                return c == n;
+            }
+        }
+        return true;
+    }
+
+    // Convert bucket counts into starting positions
+    private static int[] exclusivePrefixSum(int[] count) {
+        int[] offset = new int[RADIX];
+        int sum = 0;
+        for (int d = 0; d < RADIX; d++) {
+            offset[d] = sum;
+            sum += count[d];
+        }
+        return offset;
+    }
+
+    // Map a float to an int whose signed order matches the float order
+    private static int floatToSortable(float value) {
+        int bits = Float.floatToIntBits(value); // Canonical NaN, which sorts after +Infinity
+        return bits ^ ((bits >> 31) & 0x7FFFFFFF);
+    }
+
+    private static float sortableToFloat(int bits) {
+        return Float.intBitsToFloat(bits ^ ((bits >> 31) & 0x7FFFFFFF));
+    }
+
+    // Map a double to a long whose signed order matches the double order
+    private static long doubleToSortable(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & 0x7FFFFFFFFFFFFFFFL);
+    }
+
+    private static double sortableToDouble(long bits) {
+        return Double.longBitsToDouble(bits ^ ((bits >> 63) & 0x7FFFFFFFFFFFFFFFL));
+    }
+
+    // Stable insertion sort for short int arrays
+    private static void insertionSort(int[] keys, int[] values) {
+        for (int i = 1; i < keys.length; i++) {
+            int key = keys[i];
+            int value = values == null ? 0 : values[i];
+            int j = i - 1;
+            while (j >= 0 && keys[j] > key) {
+                keys[j + 1] = keys[j];
+                if (values != null) {
+                    values[j + 1] = values[j];
+                }
+                j--;
+            }
+            keys[j + 1] = key;
+            if (values != null) {
+                values[j + 1] = value;
+            }
+        }
+    }
+
+    // Stable insertion sort for short long arrays
+    private static void insertionSort(long[] keys, int[] values) {
+        for (int i = 1; i < keys.length; i++) {
+            long key = keys[i];
+            int value = values == null ? 0 : values[i];
+            int j = i - 1;
+            while (j >= 0 && keys[j] > key) {
+                keys[j + 1] = keys[j];
+                if (values != null) {
+                    values[j + 1] = values[j];
+                }
+                j--;
+            }
+            keys[j + 1] = key;
+            if (values != null) {
+                values[j + 1] = value;
+            }
+        }
+    }
+
+    // Validate that the payload, when present, lines up with the keys
+    private static void checkPayload(int keyCount, int[] values) {
+        if (values != null && values.length != keyCount) {
+            throw new IllegalArgumentException("Keys and values must have the same length");
+        }
+    }
+
+    // Example usage
+    public static void main(String[] args) {
+        int[] ints = {170, -45, 75, -90, 802, 24, 2, 66};
+        sort(ints);
+        System.out.println("Sorted ints: " + java.util.Arrays.toString(ints));
+
+        float[] floats = {3.5f, -0.0f, 0.0f, Float.NaN, -7.25f, Float.NEGATIVE_INFINITY, 1e-9f};
+        sort(floats);
+        System.out.println("Sorted floats: " + java.util.Arrays.toString(floats));
+
+        double[] doubles = {2.5, -1.0, 1e300, -1e-300, 0.0};
+        sort(doubles);
+        System.out.println("Sorted doubles: " + java.util.Arrays.toString(doubles));
+
+        // Key/value: sort prices while keeping the row ids aligned
+        int[] prices = {30, 10, 20, 10, 30};
+        int[] rowIds = {0, 1, 2, 3, 4};
+        sort(prices, rowIds);
+        System.out.println("Prices: " + java.util.Arrays.toString(prices) + " Row ids: " + java.util.Arrays.toString(rowIds));
+
+        // Large inputs: compare against Arrays.sort and the parallel mode
+        int n = 10_000_000;
+        java.util.Random random = new java.util.Random(3);
+        int[] data = new int[n];
+        long[] longs = new long[n];
+        for (int i = 0; i < n; i++) {
+            data[i] = random.nextInt();
+            longs[i] = random.nextLong();
+        }
+        int[] expected = data.clone();
+        long start = System.nanoTime();
+        java.util.Arrays.sort(expected);
+        System.out.printf("Arrays.sort(int[]):  %.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+        int[] serial = data.clone();
+        start = System.nanoTime();
+        sort(serial);
+        System.out.printf("RadixSort.sort:      %.1f ms, correct=%b%n",
+                (System.nanoTime() - start) / 1e6, java.util.Arrays.equals(serial, expected));
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int[] parallel = data.clone();
+        start = System.nanoTime();
+        parallelSort(parallel, pool);
+        System.out.printf("RadixSort.parallelSort (%d workers): %.1f ms, correct=%b%n",
+                pool.getParallelism(), (System.nanoTime() - start) / 1e6, java.util.Arrays.equals(parallel, expected));
+
+        long[] expectedLongs = longs.clone();
+        java.util.Arrays.sort(expectedLongs);
+        long[] parallelLongs = longs.clone();
+        start = System.nanoTime();
+        sort(longs);
+        System.out.printf("RadixSort.sort(long[]): %.1f ms, correct=%b%n",
+                (System.nanoTime() - start) / 1e6, java.util.Arrays.equals(longs, expectedLongs));
+        start = System.nanoTime();
+        parallelSort(parallelLongs, pool);
+        System.out.printf("RadixSort.parallelSort(long[]): %.1f ms, correct=%b%n",
+                (System.nanoTime() - start) / 1e6, java.util.Arrays.equals(parallelLongs, expectedLongs));
+    }
 }
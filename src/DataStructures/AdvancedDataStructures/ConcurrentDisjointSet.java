@@ -0,0 +1,118 @@
+package DataStructures.AdvancedDataStructures;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A lock-free disjoint set (union-find) that many threads can update at once.
+ * Parent pointers live in an AtomicIntegerArray. union() links one root under the other with
+ * a single compare-and-set and retries if another thread changed either root first; roots
+ * are always linked under the smaller index, so no cycle can form. find() shortens paths by
+ * halving, and a failed halving CAS is simply ignored because the pointer only moves closer
+ * to the root either way. compress() points an element straight at its root, for sweeps that
+ * flatten every tree between rounds of unions.
+ */
+public class ConcurrentDisjointSet {
+    private final AtomicIntegerArray parent;
+
+    // Constructor: every element starts in its own set
+    public ConcurrentDisjointSet(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size must be non-negative");
+        }
+        parent = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            parent.set(i, i);
+        }
+    }
+
+    public int size() {
+        return parent.length();
+    }
+
+    // Find the current root of x, pointing every visited element at its grandparent
+    public int find(int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) {
+                return x;
+            }
+            int grandparent = parent.get(p);
+            if (p != grandparent) {
+                parent.compareAndSet(x, p, grandparent); // Path halving
+            }
+            x = grandparent;
+        }
+    }
+
+    // Point x directly at its root and return the root. Without concurrent unions the next
+    // find(x) is then a single hop; a racing union only leaves x one more hop from the new root
+    public int compress(int x) {
+        int root = find(x);
+        int p;
+        while ((p = parent.get(x)) != root) {
+            if (parent.compareAndSet(x, p, root)) {
+                break;
+            }
+        }
+        return root;
+    }
+
+    // Unite the sets of x and y; true if this call merged two different sets
+    public boolean union(int x, int y) {
+        while (true) {
+            int rootX = find(x);
+            int rootY = find(y);
+            if (rootX == rootY) {
+                return false;
+            }
+            // Link the larger index under the smaller one; fails if rootX stopped being a root
+            if (rootX < rootY) {
+                int t = rootX;
+                rootX = rootY;
+                rootY = t;
+            }
+            if (parent.compareAndSet(rootX, rootX, rootY)) {
+                return true;
+            }
+        }
+    }
+
+    // Check if two elements are in the same set, consistent with concurrent unions
+    public boolean isConnected(int x, int y) {
+        while (true) {
+            int rootX = find(x);
+            int rootY = find(y);
+            if (rootX == rootY) {
+                return true;
+            }
+            if (parent.get(rootX) == rootX) {
+                return false; // rootX was still a root after rootY was read
+            }
+        }
+    }
+
+    // Example usage
+    public static void main(String[] args) throws InterruptedException {
+        int n = 1_000_000;
+        ConcurrentDisjointSet ds = new ConcurrentDisjointSet(n);
+
+        // Four threads each link every fourth neighbour pair into one long chain
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = offset; i + 1 < n; i += 4) {
+                    ds.union(i, i + 1);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        System.out.println("Are 0 and " + (n - 1) + " connected? " + ds.isConnected(0, n - 1)); // true
+        System.out.println("Root of " + (n - 1) + ": " + ds.find(n - 1)); // 0
+        System.out.println("Union of already connected elements merged sets? " + ds.union(5, 500)); // false
+    }
+}
@@ -22,21 +22,22 @@ public class DisjointSet {
     }
 
     // Find the representative (root) of the set that x belongs to
-    // Uses path compression for optimization
+    // Uses path halving: a single iterative pass that points every other node at its grandparent
     public int find(int x) {
-        if (parent[x] != x) {
-            parent[x] = find(parent[x]); // Path compression: point directly to root
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]]; // Path halving: skip one level
+            x = parent[x];
         }
-        return parent[x];
+        return x;
     }
 
-    // Unite two sets using union by rank for efficiency
-    public void union(int x, int y) {
+    // Unite two sets using union by rank for efficiency; returns false if they were already one set
+    public boolean union(int x, int y) {
         int rootX = find(x); // Find root of x
         int rootY = find(y); // Find root of y
 
         if (rootX == rootY) {
-            return; // Already in the same set
+            return false; // Already in the same set
         }
 
         // Attach smaller rank tree under the larger rank tree
@@ -49,6 +50,7 @@ public class DisjointSet {
             parent[rootY] = rootX;
             rank[rootX]++;
         }
+        return true;
     }
 
     // Check if two elements are in the same set
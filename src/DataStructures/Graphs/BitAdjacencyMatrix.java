@@ -0,0 +1,227 @@
+package DataStructures.Graphs;
+
+/**
+ * An undirected graph stored as an adjacency matrix packed into bits.
+ * Each vertex has one long[] row in which bit w is set when the edge to w exists, so the
+ * matrix needs V * V / 8 bytes instead of the 4 * V * V of an int[][] (512 MB rather than
+ * 16 GB at 64K vertices). Neighbourhood set operations work on 64 vertices per instruction:
+ * intersections and unions are a word-wise AND / OR followed by Long.bitCount, which the JIT
+ * turns into a single POPCNT on common hardware.
+ */
+public class BitAdjacencyMatrix {
+    private final int vertices; // Number of vertices in the graph
+    private final int words;    // Longs per row
+    private final long[][] rows; // rows[v] = neighbour bitset of v
+
+    // Constructor to initialize the graph with a given number of vertices
+    public BitAdjacencyMatrix(int vertices) {
+        if (vertices < 0) {
+            throw new IllegalArgumentException("Number of vertices must be non-negative");
+        }
+        this.vertices = vertices;
+        this.words = (vertices + 63) >>> 6;
+        this.rows = new long[vertices][words];
+    }
+
+    // Build the bit matrix from an int[][] adjacency matrix (non-zero entries are edges)
+    public static BitAdjacencyMatrix fromMatrix(int[][] matrix) {
+        BitAdjacencyMatrix graph = new BitAdjacencyMatrix(matrix.length);
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = 0; j < matrix.length; j++) {
+                if (matrix[i][j] != 0) {
+                    graph.addEdge(i, j);
+                }
+            }
+        }
+        return graph;
+    }
+
+    public int vertexCount() {
+        return vertices;
+    }
+
+    // Method to add an edge to the graph (undirected)
+    public void addEdge(int source, int destination) {
+        checkVertices(source, destination);
+        rows[source][destination >>> 6] |= 1L << destination;
+        rows[destination][source >>> 6] |= 1L << source;
+    }
+
+    // Method to remove an edge from the graph (undirected)
+    public void removeEdge(int source, int destination) {
+        checkVertices(source, destination);
+        rows[source][destination >>> 6] &= ~(1L << destination);
+        rows[destination][source >>> 6] &= ~(1L << source);
+    }
+
+    public boolean hasEdge(int source, int destination) {
+        checkVertices(source, destination);
+        return (rows[source][destination >>> 6] & (1L << destination)) != 0;
+    }
+
+    public int degree(int vertex) {
+        int count = 0;
+        for (long word : rows[vertex]) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    // Neighbours of a vertex in increasing order
+    public int[] neighbors(int vertex) {
+        return members(rows[vertex], rows[vertex], false);
+    }
+
+    // Size of the intersection of N(u) and N(v): one AND and one bitCount per 64 vertices
+    public int commonNeighborCount(int u, int v) {
+        checkVertices(u, v);
+        long[] a = rows[u], b = rows[v];
+        int count = 0;
+        for (int i = 0; i < words; i++) {
+            count += Long.bitCount(a[i] & b[i]);
+        }
+        return count;
+    }
+
+    // Size of the union of N(u) and N(v)
+    public int unionNeighborCount(int u, int v) {
+        checkVertices(u, v);
+        long[] a = rows[u], b = rows[v];
+        int count = 0;
+        for (int i = 0; i < words; i++) {
+            count += Long.bitCount(a[i] | b[i]);
+        }
+        return count;
+    }
+
+    // Vertices adjacent to both u and v, in increasing order
+    public int[] commonNeighbors(int u, int v) {
+        checkVertices(u, v);
+        return members(rows[u], rows[v], true);
+    }
+
+    // Jaccard similarity of the two neighbourhoods; 0 when both are empty
+    public double jaccard(int u, int v) {
+        int union = unionNeighborCount(u, v);
+        return union == 0 ? 0.0 : (double) commonNeighborCount(u, v) / union;
+    }
+
+    /**
+     * Count triangles. Every triangle u < v < w is found exactly once: for each edge (u, v) with
+     * u < v, the candidates w are the common neighbours above v, counted with AND + bitCount on
+     * the part of the rows past v. Self-loops never count. Runs in O(E * V / 64).
+     */
+    public long triangleCount() {
+        long triangles = 0;
+        for (int u = 0; u < vertices; u++) {
+            long[] rowU = rows[u];
+            // Walk the neighbours v > u of u
+            for (int i = (u + 1) >>> 6; i < words; i++) {
+                long word = rowU[i];
+                if (i == (u + 1) >>> 6) {
+                    word &= -1L << (u + 1); // Keep only bits above u in u's own word
+                }
+                while (word != 0) {
+                    int v = (i << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    triangles += commonAbove(rowU, rows[v], v);
+                }
+            }
+        }
+        return triangles;
+    }
+
+    // Number of common set bits strictly above position v
+    private long commonAbove(long[] a, long[] b, int v) {
+        int first = (v + 1) >>> 6;
+        if (first >= words) {
+            return 0;
+        }
+        long count = Long.bitCount(a[first] & b[first] & (-1L << (v + 1)));
+        for (int i = first + 1; i < words; i++) {
+            count += Long.bitCount(a[i] & b[i]);
+        }
+        return count;
+    }
+
+    // Positions set in a (or in a AND b), decoded one word at a time
+    private int[] members(long[] a, long[] b, boolean intersect) {
+        int count = 0;
+        for (int i = 0; i < words; i++) {
+            count += Long.bitCount(intersect ? a[i] & b[i] : a[i]);
+        }
+        int[] result = new int[count];
+        int position = 0;
+        for (int i = 0; i < words; i++) {
+            for (long word = intersect ? a[i] & b[i] : a[i]; word != 0; word &= word - 1) {
+                result[position++] = (i << 6) + Long.numberOfTrailingZeros(word);
+            }
+        }
+        return result;
+    }
+
+    // Bytes used by the rows
+    public long memoryBytes() {
+        return 8L * words * vertices;
+    }
+
+    private void checkVertices(int source, int destination) {
+        if (source < 0 || source >= vertices || destination < 0 || destination >= vertices) {
+            throw new IllegalArgumentException("Vertex index out of bounds");
+        }
+    }
+
+    // Method to display the adjacency matrix representation of the graph
+    public void displayGraph() {
+        System.out.println("Bit Adjacency Matrix Representation of the Graph:");
+        // Print column headers
+        System.out.print("  ");
+        for (int i = 0; i < vertices; i++) {
+            System.out.print(i + " ");
+        }
+        System.out.println();
+        // Print matrix with row labels
+        for (int i = 0; i < vertices; i++) {
+            System.out.print(i + " ");
+            for (int j = 0; j < vertices; j++) {
+                System.out.print((hasEdge(i, j) ? 1 : 0) + " ");
+            }
+            System.out.println();
+        }
+    }
+
+    // Main method with an example to demonstrate the graph
+    public static void main(String[] args) {
+        // Example: the square 0 -- 1 -- 3 -- 2 -- 0 plus the diagonal 0 -- 3
+        BitAdjacencyMatrix graph = new BitAdjacencyMatrix(4);
+        graph.addEdge(0, 1);
+        graph.addEdge(0, 2);
+        graph.addEdge(1, 3);
+        graph.addEdge(2, 3);
+        graph.addEdge(0, 3);
+
+        // Display the graph
+        graph.displayGraph();
+        System.out.println("Common neighbours of 1 and 2: " + java.util.Arrays.toString(graph.commonNeighbors(1, 2)));
+        System.out.println("Jaccard(0, 3): " + graph.jaccard(0, 3));
+        System.out.println("Triangles: " + graph.triangleCount()); // 0-1-3 and 0-2-3
+
+        // Dense random graph: 8192 vertices, edge probability 1/4
+        int n = 8192;
+        BitAdjacencyMatrix dense = new BitAdjacencyMatrix(n);
+        java.util.Random random = new java.util.Random(19);
+        for (int u = 0; u < n; u++) {
+            for (int v = u + 1; v < n; v++) {
+                if (random.nextInt(4) == 0) {
+                    dense.addEdge(u, v);
+                }
+            }
+        }
+        System.out.printf("%nDense graph: %d vertices, %d MB as bits (an int[][] would need %d MB)%n", n,
+                dense.memoryBytes() >> 20, (4L * n * n) >> 20);
+        long start = System.nanoTime();
+        long triangles = dense.triangleCount();
+        System.out.printf("Triangles: %d (expected about %d), counted in %.1f ms%n", triangles,
+                (long) n * (n - 1) * (n - 2) / 6 / 64, (System.nanoTime() - start) / 1e6);
+    }
+}
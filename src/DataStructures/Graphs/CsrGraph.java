@@ -0,0 +1,481 @@
+package DataStructures.Graphs;
+
+/**
+ * An immutable directed graph in compressed sparse row (CSR) form.
+ * offsets[v]..offsets[v+1]-1 are the edge indices of vertex v, and neighbours are sorted and
+ * free of duplicates. Targets are kept either as a plain int[] (4 bytes per edge) or, when
+ * compressed, as varint-encoded gaps between consecutive sorted neighbours, which usually
+ * needs one or two bytes per edge. Edges may carry int or float weights addressed by edge
+ * index. transpose() gives the incoming-edge view (CSC of the same adjacency matrix).
+ * Neighbours are read with a reusable NeighborCursor, or copied into a caller-supplied
+ * buffer, so traversals allocate nothing per vertex or per edge.
+ */
+public class CsrGraph {
+    // Largest array length the JVM reliably allocates
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final int vertices;
+    private final int[] offsets;      // Edge index range of every vertex
+    private final int[] targets;      // Plain targets, or null when compressed
+    private final int[] byteOffsets;  // Start of every vertex's encoded list, or null when plain
+    private final byte[] encoded;     // Varint gaps, or null when plain
+    private final int[] intWeights;   // Optional, indexed by edge index
+    private final float[] floatWeights;
+
+    private CsrGraph(int vertices, int[] offsets, int[] targets, int[] intWeights, float[] floatWeights,
+                     boolean compress) {
+        this.vertices = vertices;
+        this.offsets = offsets;
+        this.intWeights = intWeights;
+        this.floatWeights = floatWeights;
+        if (compress) {
+            this.byteOffsets = new int[vertices + 1];
+            this.encoded = encode(vertices, offsets, targets, byteOffsets);
+            this.targets = null;
+        } else {
+            this.byteOffsets = null;
+            this.encoded = null;
+            this.targets = targets;
+        }
+    }
+
+    public static Builder builder(int vertices) {
+        return new Builder(vertices);
+    }
+
+    public int vertexCount() {
+        return vertices;
+    }
+
+    public int edgeCount() {
+        return offsets[vertices];
+    }
+
+    public int degree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    // Index of the first edge of vertex; its edges are firstEdge(v) .. firstEdge(v) + degree(v) - 1
+    public int firstEdge(int vertex) {
+        return offsets[vertex];
+    }
+
+    public boolean isCompressed() {
+        return encoded != null;
+    }
+
+    public boolean hasIntWeights() {
+        return intWeights != null;
+    }
+
+    public boolean hasFloatWeights() {
+        return floatWeights != null;
+    }
+
+    public int intWeight(int edgeIndex) {
+        if (intWeights == null) {
+            throw new IllegalStateException("Graph has no int weights");
+        }
+        return intWeights[edgeIndex];
+    }
+
+    public float floatWeight(int edgeIndex) {
+        if (floatWeights == null) {
+            throw new IllegalStateException("Graph has no float weights");
+        }
+        return floatWeights[edgeIndex];
+    }
+
+    // Copy the neighbours of vertex into buffer (which must hold degree(vertex) entries); returns the count
+    public int neighbors(int vertex, int[] buffer) {
+        int start = offsets[vertex];
+        int degree = offsets[vertex + 1] - start;
+        if (targets != null) {
+            System.arraycopy(targets, start, buffer, 0, degree);
+            return degree;
+        }
+        int position = byteOffsets[vertex];
+        int previous = vertex;
+        for (int i = 0; i < degree; i++) {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = encoded[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            previous += i == 0 ? (value >>> 1) ^ -(value & 1) : value + 1;
+            buffer[i] = previous;
+        }
+        return degree;
+    }
+
+    // Binary search for an edge in the sorted neighbour list (linear decode when compressed)
+    public boolean hasEdge(int from, int to) {
+        if (targets != null) {
+            return java.util.Arrays.binarySearch(targets, offsets[from], offsets[from + 1], to) >= 0;
+        }
+        NeighborCursor cursor = new NeighborCursor().reset(from);
+        while (cursor.hasNext()) {
+            int t = cursor.next();
+            if (t >= to) {
+                return t == to;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Iterates the neighbours of one vertex at a time without allocating. Create one cursor per
+     * thread and call reset(v) for every vertex; edgeIndex() gives the index of the neighbour
+     * last returned by next(), for weight lookups.
+     */
+    public class NeighborCursor {
+        private int first, edge, end;
+        private int bytePosition;
+        private int previous;
+
+        public NeighborCursor reset(int vertex) {
+            first = offsets[vertex];
+            edge = first - 1;
+            end = offsets[vertex + 1] - 1;
+            if (encoded != null) {
+                bytePosition = byteOffsets[vertex];
+                previous = vertex; // The first gap is relative to the vertex itself
+            }
+            return this;
+        }
+
+        public boolean hasNext() {
+            return edge < end;
+        }
+
+        public int next() {
+            edge++;
+            if (encoded == null) {
+                return targets[edge];
+            }
+            // Read one varint: 7 bits per byte, high bit set on all but the last byte
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = encoded[bytePosition++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            if (edge == first) {
+                previous += (value >>> 1) ^ -(value & 1); // First neighbour: zigzag delta from the vertex
+            } else {
+                previous += value + 1; // Later neighbours: strictly increasing, gap - 1 stored
+            }
+            return previous;
+        }
+
+        public int edgeIndex() {
+            return edge;
+        }
+    }
+
+    public NeighborCursor cursor() {
+        return new NeighborCursor();
+    }
+
+    // Graph with every edge reversed, keeping weights; the incoming adjacency of this graph
+    public CsrGraph transpose() {
+        int edges = edgeCount();
+        int[] reverseOffsets = new int[vertices + 1];
+        NeighborCursor cursor = new NeighborCursor();
+        for (int v = 0; v < vertices; v++) {
+            cursor.reset(v);
+            while (cursor.hasNext()) {
+                reverseOffsets[cursor.next() + 1]++;
+            }
+        }
+        for (int v = 0; v < vertices; v++) {
+            reverseOffsets[v + 1] += reverseOffsets[v];
+        }
+        int[] next = java.util.Arrays.copyOf(reverseOffsets, vertices);
+        int[] reverseTargets = new int[edges];
+        int[] reverseInt = intWeights == null ? null : new int[edges];
+        float[] reverseFloat = floatWeights == null ? null : new float[edges];
+        // Scanning sources in increasing order keeps every reversed list sorted
+        for (int v = 0; v < vertices; v++) {
+            cursor.reset(v);
+            while (cursor.hasNext()) {
+                int slot = next[cursor.next()]++;
+                reverseTargets[slot] = v;
+                if (reverseInt != null) {
+                    reverseInt[slot] = intWeights[cursor.edgeIndex()];
+                }
+                if (reverseFloat != null) {
+                    reverseFloat[slot] = floatWeights[cursor.edgeIndex()];
+                }
+            }
+        }
+        return new CsrGraph(vertices, reverseOffsets, reverseTargets, reverseInt, reverseFloat, isCompressed());
+    }
+
+    // Approximate heap footprint of the arrays in bytes
+    public long memoryBytes() {
+        long bytes = 4L * offsets.length;
+        bytes += targets != null ? 4L * targets.length : encoded.length + 4L * byteOffsets.length;
+        bytes += intWeights != null ? 4L * intWeights.length : 0;
+        bytes += floatWeights != null ? 4L * floatWeights.length : 0;
+        return bytes;
+    }
+
+    // Encode each sorted list as zigzag(first - vertex) followed by (gap - 1) values, all as varints
+    private static byte[] encode(int vertices, int[] offsets, int[] targets, int[] byteOffsets) {
+        byte[] out = new byte[(int) Math.min(MAX_ARRAY_LENGTH, Math.max(16, offsets[vertices] * 3L / 2))];
+        int position = 0;
+        for (int v = 0; v < vertices; v++) {
+            byteOffsets[v] = position;
+            int previous = v;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int delta = targets[e] - previous;
+                int value = e == offsets[v] ? (delta << 1) ^ (delta >> 31) : delta - 1;
+                previous = targets[e];
+                if (out.length - position < 5) {
+                    if (out.length > MAX_ARRAY_LENGTH - 5) {
+                        throw new IllegalStateException("Compressed adjacency lists exceed " + MAX_ARRAY_LENGTH + " bytes");
+                    }
+                    out = java.util.Arrays.copyOf(out, (int) Math.min(MAX_ARRAY_LENGTH, out.length + (out.length >> 1) + 5L));
+                }
+                while ((value & ~0x7F) != 0) {
+                    out[position++] = (byte) ((value & 0x7F) | 0x80);
+                    value >>>= 7;
+                }
+                out[position++] = (byte) value;
+            }
+        }
+        byteOffsets[vertices] = position;
+        return java.util.Arrays.copyOf(out, position);
+    }
+
+    /**
+     * Collects edges one at a time into primitive columns and builds a CsrGraph. build() sorts the
+     * edges by (source, target) with two stable counting-sort passes, O(V + E), and removes
+     * duplicates, keeping the smallest weight of a duplicated edge. A builder must use either
+     * unweighted, int-weighted or float-weighted edges throughout.
+     */
+    public static class Builder {
+        private static final int UNWEIGHTED = 0, INT_WEIGHTS = 1, FLOAT_WEIGHTS = 2;
+
+        private final int vertices;
+        private int[] sources = new int[16];
+        private int[] destinations = new int[16];
+        private int[] intWeights;
+        private float[] floatWeights;
+        private int size;
+        private int weightKind = -1;
+        private boolean undirected;
+        private boolean compress;
+
+        private Builder(int vertices) {
+            if (vertices < 0) {
+                throw new IllegalArgumentException("Number of vertices must be non-negative");
+            }
+            this.vertices = vertices;
+        }
+
+        // Store every edge in both directions
+        public Builder undirected(boolean undirected) {
+            this.undirected = undirected;
+            return this;
+        }
+
+        // Varint-compress the neighbour lists
+        public Builder compress(boolean compress) {
+            this.compress = compress;
+            return this;
+        }
+
+        public Builder addEdge(int from, int to) {
+            append(from, to, UNWEIGHTED);
+            return this;
+        }
+
+        public Builder addEdge(int from, int to, int weight) {
+            int slot = append(from, to, INT_WEIGHTS);
+            intWeights[slot] = weight;
+            if (undirected) {
+                intWeights[slot + 1] = weight;
+            }
+            return this;
+        }
+
+        public Builder addEdge(int from, int to, float weight) {
+            int slot = append(from, to, FLOAT_WEIGHTS);
+            floatWeights[slot] = weight;
+            if (undirected) {
+                floatWeights[slot + 1] = weight;
+            }
+            return this;
+        }
+
+        // Append the edge (and its reverse if undirected); returns the slot of the forward edge
+        private int append(int from, int to, int kind) {
+            if (from < 0 || from >= vertices || to < 0 || to >= vertices) {
+                throw new IllegalArgumentException("Vertex index out of bounds");
+            }
+            if (weightKind == -1) {
+                weightKind = kind;
+            } else if (weightKind != kind) {
+                throw new IllegalStateException("All edges of a graph must use the same kind of weight");
+            }
+            if (size + 2 > sources.length) {
+                // Every undirected edge takes two slots, so this is reached at about 1G undirected edges
+                if (size > MAX_ARRAY_LENGTH - 2) {
+                    throw new IllegalStateException("A graph holds at most " + MAX_ARRAY_LENGTH + " directed edges");
+                }
+                int capacity = (int) Math.min(MAX_ARRAY_LENGTH, 2L * sources.length);
+                sources = java.util.Arrays.copyOf(sources, capacity);
+                destinations = java.util.Arrays.copyOf(destinations, capacity);
+                if (intWeights != null) {
+                    intWeights = java.util.Arrays.copyOf(intWeights, capacity);
+                }
+                if (floatWeights != null) {
+                    floatWeights = java.util.Arrays.copyOf(floatWeights, capacity);
+                }
+            }
+            if (kind == INT_WEIGHTS && intWeights == null) {
+                intWeights = new int[sources.length];
+            } else if (kind == FLOAT_WEIGHTS && floatWeights == null) {
+                floatWeights = new float[sources.length];
+            }
+            int slot = size;
+            sources[size] = from;
+            destinations[size++] = to;
+            if (undirected) {
+                sources[size] = to;
+                destinations[size++] = from;
+            }
+            return slot;
+        }
+
+        public CsrGraph build() {
+            // Pass 1: order edge slots by destination; pass 2 (stable): by source
+            int[] byDestination = countingOrder(destinations, identity(size));
+            int[] order = countingOrder(sources, byDestination);
+
+            int[] offsets = new int[vertices + 1];
+            int[] targets = new int[size];
+            int[] outInt = intWeights == null ? null : new int[size];
+            float[] outFloat = floatWeights == null ? null : new float[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                int slot = order[i];
+                int from = sources[slot], to = destinations[slot];
+                boolean duplicate = count > 0 && i > 0 && sources[order[i - 1]] == from && targets[count - 1] == to;
+                if (duplicate) {
+                    // Same (from, to) as the previous kept edge: keep the smaller weight
+                    if (outInt != null) {
+                        outInt[count - 1] = Math.min(outInt[count - 1], intWeights[slot]);
+                    }
+                    if (outFloat != null) {
+                        outFloat[count - 1] = Math.min(outFloat[count - 1], floatWeights[slot]);
+                    }
+                    continue;
+                }
+                offsets[from + 1]++;
+                targets[count] = to;
+                if (outInt != null) {
+                    outInt[count] = intWeights[slot];
+                }
+                if (outFloat != null) {
+                    outFloat[count] = floatWeights[slot];
+                }
+                count++;
+            }
+            for (int v = 0; v < vertices; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+            return new CsrGraph(vertices, offsets, java.util.Arrays.copyOf(targets, count),
+                    outInt == null ? null : java.util.Arrays.copyOf(outInt, count),
+                    outFloat == null ? null : java.util.Arrays.copyOf(outFloat, count), compress);
+        }
+
+        // Stable counting sort of the slots in 'slots' by key[slot]
+        private int[] countingOrder(int[] key, int[] slots) {
+            int[] start = new int[vertices + 1];
+            for (int i = 0; i < size; i++) {
+                start[key[slots[i]] + 1]++;
+            }
+            for (int v = 0; v < vertices; v++) {
+                start[v + 1] += start[v];
+            }
+            int[] sorted = new int[size];
+            for (int i = 0; i < size; i++) {
+                sorted[start[key[slots[i]]]++] = slots[i];
+            }
+            return sorted;
+        }
+
+        private static int[] identity(int size) {
+            int[] ids = new int[size];
+            for (int i = 0; i < size; i++) {
+                ids[i] = i;
+            }
+            return ids;
+        }
+    }
+
+    // Main method with an example to demonstrate the graph
+    public static void main(String[] args) {
+        // The square 0 -- 1, 0 -- 2, 1 -- 3, 2 -- 3 with one edge added twice
+        CsrGraph graph = CsrGraph.builder(4)
+                .undirected(true)
+                .addEdge(0, 1, 5)
+                .addEdge(0, 2, 1)
+                .addEdge(1, 3, 2)
+                .addEdge(2, 3, 4)
+                .addEdge(1, 0, 3) // Duplicate of 0 -- 1: the smaller weight 3 is kept
+                .build();
+        System.out.println("CSR Representation of the Graph:");
+        CsrGraph.NeighborCursor cursor = graph.cursor();
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            System.out.print("Vertex " + v + ": ");
+            cursor.reset(v);
+            while (cursor.hasNext()) {
+                int neighbor = cursor.next();
+                System.out.print(neighbor + "(w=" + graph.intWeight(cursor.edgeIndex()) + ") ");
+            }
+            System.out.println();
+        }
+
+        // Memory of plain vs compressed storage for a graph with local edges
+        int n = 1_000_000;
+        java.util.Random random = new java.util.Random(17);
+        Builder plainBuilder = CsrGraph.builder(n);
+        Builder compressedBuilder = CsrGraph.builder(n).compress(true);
+        for (int v = 0; v < n; v++) {
+            for (int i = 0; i < 10; i++) {
+                int to = Math.floorMod(v + (int) (random.nextGaussian() * 1000), n);
+                plainBuilder.addEdge(v, to);
+                compressedBuilder.addEdge(v, to);
+            }
+        }
+        CsrGraph plain = plainBuilder.build();
+        CsrGraph compressed = compressedBuilder.build();
+        System.out.printf("%nEdges after deduplication: %d%n", plain.edgeCount());
+        System.out.printf("LinkedList adjacency (about 40 bytes per edge): ~%d MB%n", 40L * plain.edgeCount() >> 20);
+        System.out.printf("Plain CSR: %d MB, compressed CSR: %d MB%n", plain.memoryBytes() >> 20,
+                compressed.memoryBytes() >> 20);
+
+        for (CsrGraph g : new CsrGraph[]{plain, compressed}) {
+            long start = System.nanoTime();
+            long checksum = 0;
+            CsrGraph.NeighborCursor c = g.cursor();
+            for (int v = 0; v < n; v++) {
+                c.reset(v);
+                while (c.hasNext()) {
+                    checksum += c.next();
+                }
+            }
+            System.out.printf("Full scan of %s CSR: %.1f ms (checksum %d)%n", g.isCompressed() ? "compressed" : "plain",
+                    (System.nanoTime() - start) / 1e6, checksum);
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package DataStructures.Graphs;
+
+/**
+ * A mutable directed graph that readers can traverse while a writer ingests edges.
+ * Adjacency lives in per-vertex growable int[] arrays, grouped into chunks of 1024 vertices.
+ * A Snapshot is an immutable version: an array of chunks, each holding the list arrays and
+ * degrees of its vertices. A batch copies only the chunks it touches (copy-on-write) and
+ * publishes a new version with one volatile write, so taking a snapshot is O(1) and a reader
+ * keeps a consistent view for as long as it holds it.
+ * Appends do not copy adjacency arrays: a new edge goes into the free slot after the last
+ * one, which no older snapshot can see because each snapshot reads only up to its own degree.
+ * An array is copied only when it is full or when edges are removed from it, so slots that a
+ * published snapshot may read are never overwritten.
+ */
+public class DynamicGraph {
+    private static final int CHUNK_SHIFT = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final int vertices;
+    private volatile Snapshot current;
+    // Per-chunk batch number of the last copy, so a batch copies every chunk at most once
+    private final long[] copiedInBatch;
+
+    // Adjacency of up to CHUNK_SIZE consecutive vertices; immutable once published
+    private static final class Chunk {
+        final int[][] lists;
+        final int[] degrees;
+
+        Chunk(int[][] lists, int[] degrees) {
+            this.lists = lists;
+            this.degrees = degrees;
+        }
+    }
+
+    /**
+     * An immutable version of the graph. All methods are safe to call from any thread while
+     * the graph keeps changing.
+     */
+    public static final class Snapshot {
+        private final int vertices;
+        private final Chunk[] chunks;
+        private final long edgeCount;
+        private final long version;
+
+        private Snapshot(int vertices, Chunk[] chunks, long edgeCount, long version) {
+            this.vertices = vertices;
+            this.chunks = chunks;
+            this.edgeCount = edgeCount;
+            this.version = version;
+        }
+
+        public int vertexCount() {
+            return vertices;
+        }
+
+        public long edgeCount() {
+            return edgeCount;
+        }
+
+        // Number of batches applied before this snapshot was taken
+        public long version() {
+            return version;
+        }
+
+        public int degree(int vertex) {
+            return chunks[vertex >>> CHUNK_SHIFT].degrees[vertex & (CHUNK_SIZE - 1)];
+        }
+
+        // The i-th neighbour of vertex, for 0 <= i < degree(vertex)
+        public int neighbor(int vertex, int i) {
+            return chunks[vertex >>> CHUNK_SHIFT].lists[vertex & (CHUNK_SIZE - 1)][i];
+        }
+
+        // Copy the neighbours of vertex into buffer (which must hold degree(vertex) entries); returns the count
+        public int neighbors(int vertex, int[] buffer) {
+            Chunk chunk = chunks[vertex >>> CHUNK_SHIFT];
+            int slot = vertex & (CHUNK_SIZE - 1);
+            int degree = chunk.degrees[slot];
+            if (degree > 0) {
+                System.arraycopy(chunk.lists[slot], 0, buffer, 0, degree);
+            }
+            return degree;
+        }
+
+        // Freeze this version into a CsrGraph (sorted, deduplicated) for heavy analytics
+        public CsrGraph toCsrGraph() {
+            CsrGraph.Builder builder = CsrGraph.builder(vertices);
+            for (int v = 0; v < vertices; v++) {
+                Chunk chunk = chunks[v >>> CHUNK_SHIFT];
+                int slot = v & (CHUNK_SIZE - 1);
+                for (int i = 0; i < chunk.degrees[slot]; i++) {
+                    builder.addEdge(v, chunk.lists[slot][i]);
+                }
+            }
+            return builder.build();
+        }
+    }
+
+    // Constructor to initialize an empty graph with a given number of vertices
+    public DynamicGraph(int vertices) {
+        if (vertices < 0) {
+            throw new IllegalArgumentException("Number of vertices must be non-negative");
+        }
+        this.vertices = vertices;
+        int chunkCount = (vertices + CHUNK_SIZE - 1) >>> CHUNK_SHIFT;
+        Chunk[] chunks = new Chunk[chunkCount];
+        for (int c = 0; c < chunkCount; c++) {
+            int size = Math.min(CHUNK_SIZE, vertices - (c << CHUNK_SHIFT));
+            chunks[c] = new Chunk(new int[size][], new int[size]);
+        }
+        this.copiedInBatch = new long[chunkCount];
+        java.util.Arrays.fill(copiedInBatch, -1);
+        this.current = new Snapshot(vertices, chunks, 0, 0);
+    }
+
+    // The latest published version; O(1) and never blocks
+    public Snapshot snapshot() {
+        return current;
+    }
+
+    public int vertexCount() {
+        return vertices;
+    }
+
+    // Add the edges from[i] -> to[i] for i < count as one atomic batch
+    public synchronized Snapshot addEdges(int[] from, int[] to, int count) {
+        checkBatch(from, to, count);
+        Snapshot base = current;
+        long batch = base.version + 1;
+        Chunk[] chunks = base.chunks.clone();
+        for (int i = 0; i < count; i++) {
+            int u = from[i];
+            Chunk chunk = writable(chunks, u >>> CHUNK_SHIFT, batch);
+            int slot = u & (CHUNK_SIZE - 1);
+            int[] list = chunk.lists[slot];
+            int degree = chunk.degrees[slot];
+            if (list == null) {
+                list = new int[INITIAL_CAPACITY];
+                chunk.lists[slot] = list;
+            } else if (degree == list.length) {
+                list = java.util.Arrays.copyOf(list, degree * 2); // Older snapshots keep the old array
+                chunk.lists[slot] = list;
+            }
+            list[degree] = to[i]; // Past every published degree of this array
+            chunk.degrees[slot] = degree + 1;
+        }
+        return publish(new Snapshot(vertices, chunks, base.edgeCount + count, batch));
+    }
+
+    public Snapshot addEdges(int[] from, int[] to) {
+        if (from == null || to == null || from.length != to.length) {
+            throw new IllegalArgumentException("Edge arrays must be non-null and of equal length");
+        }
+        return addEdges(from, to, from.length);
+    }
+
+    // Method to add a single edge (a batch of one)
+    public Snapshot addEdge(int source, int destination) {
+        return addEdges(new int[]{source}, new int[]{destination}, 1);
+    }
+
+    // Remove every copy of the edges from[i] -> to[i] for i < count as one atomic batch
+    public synchronized Snapshot removeEdges(int[] from, int[] to, int count) {
+        checkBatch(from, to, count);
+        Snapshot base = current;
+        long batch = base.version + 1;
+        Chunk[] chunks = base.chunks.clone();
+        long removed = 0;
+        // A list is copied once per batch before its first removal; track which ones are private
+        java.util.IdentityHashMap<int[], Boolean> privateLists = new java.util.IdentityHashMap<>();
+        for (int i = 0; i < count; i++) {
+            int u = from[i];
+            Chunk chunk = writable(chunks, u >>> CHUNK_SHIFT, batch);
+            int slot = u & (CHUNK_SIZE - 1);
+            int[] list = chunk.lists[slot];
+            int degree = chunk.degrees[slot];
+            if (list == null) {
+                continue;
+            }
+            if (!privateLists.containsKey(list)) {
+                list = java.util.Arrays.copyOf(list, list.length); // Readers may still scan the old one
+                privateLists.put(list, Boolean.TRUE);
+                chunk.lists[slot] = list;
+            }
+            int kept = 0;
+            for (int j = 0; j < degree; j++) {
+                if (list[j] != to[i]) {
+                    list[kept++] = list[j];
+                }
+            }
+            removed += degree - kept;
+            chunk.degrees[slot] = kept;
+        }
+        return publish(new Snapshot(vertices, chunks, base.edgeCount - removed, batch));
+    }
+
+    // Copy chunk c into this batch's chunk array unless the batch already owns a copy
+    private Chunk writable(Chunk[] chunks, int c, long batch) {
+        if (copiedInBatch[c] != batch) {
+            Chunk old = chunks[c];
+            chunks[c] = new Chunk(old.lists.clone(), old.degrees.clone());
+            copiedInBatch[c] = batch;
+        }
+        return chunks[c];
+    }
+
+    private Snapshot publish(Snapshot next) {
+        current = next; // Volatile write: everything written for this batch is visible to its readers
+        return next;
+    }
+
+    private void checkBatch(int[] from, int[] to, int count) {
+        if (from == null || to == null || count < 0 || count > from.length || count > to.length) {
+            throw new IllegalArgumentException("Invalid edge batch");
+        }
+        for (int i = 0; i < count; i++) {
+            if (from[i] < 0 || from[i] >= vertices || to[i] < 0 || to[i] >= vertices) {
+                throw new IllegalArgumentException("Vertex index out of bounds");
+            }
+        }
+    }
+
+    // Main method with an example: analytics on snapshots while a writer keeps ingesting
+    public static void main(String[] args) throws InterruptedException {
+        DynamicGraph small = new DynamicGraph(4);
+        small.addEdges(new int[]{0, 0, 1, 2}, new int[]{1, 2, 3, 3});
+        Snapshot before = small.snapshot();
+        small.removeEdges(new int[]{0}, new int[]{2}, 1);
+        small.addEdge(3, 0);
+        Snapshot after = small.snapshot();
+        System.out.println("Version " + before.version() + " has " + before.edgeCount() + " edges, vertex 0 degree "
+                + before.degree(0));
+        System.out.println("Version " + after.version() + " has " + after.edgeCount() + " edges, vertex 0 degree "
+                + after.degree(0));
+
+        // One writer ingests 200 batches of 50,000 edges while a reader runs BFS on snapshots
+        int n = 1_000_000;
+        DynamicGraph graph = new DynamicGraph(n);
+        Thread writer = new Thread(() -> {
+            java.util.Random random = new java.util.Random(20);
+            int[] from = new int[50_000], to = new int[50_000];
+            for (int batch = 0; batch < 200; batch++) {
+                for (int i = 0; i < from.length; i++) {
+                    from[i] = random.nextInt(n);
+                    to[i] = random.nextInt(n);
+                }
+                graph.addEdges(from, to);
+            }
+        });
+        long start = System.nanoTime();
+        writer.start();
+        int traversals = 0;
+        long lastPrinted = -20;
+        while (writer.isAlive()) {
+            Snapshot snapshot = graph.snapshot();
+            long edges = snapshot.edgeCount();
+            int reached = bfsCount(snapshot, 0);
+            // The snapshot is unchanged however many batches landed during the traversal
+            if (snapshot.edgeCount() != edges) {
+                throw new IllegalStateException("Snapshot changed during traversal");
+            }
+            traversals++;
+            if (snapshot.version() >= lastPrinted + 20) {
+                lastPrinted = snapshot.version();
+                System.out.printf("Version %d: %d edges, BFS from 0 reached %d vertices%n", snapshot.version(), edges,
+                        reached);
+            }
+        }
+        writer.join();
+        System.out.printf("Ingested %d edges in %.1f ms while completing %d snapshot traversals%n",
+                graph.snapshot().edgeCount(), (System.nanoTime() - start) / 1e6, traversals);
+    }
+
+    // Demo helper: vertices reachable from source in one snapshot
+    private static int bfsCount(Snapshot snapshot, int source) {
+        boolean[] visited = new boolean[snapshot.vertexCount()];
+        int[] queue = new int[snapshot.vertexCount()];
+        int head = 0, tail = 0;
+        visited[source] = true;
+        queue[tail++] = source;
+        while (head < tail) {
+            int u = queue[head++];
+            for (int i = 0; i < snapshot.degree(u); i++) {
+                int v = snapshot.neighbor(u, i);
+                if (!visited[v]) {
+                    visited[v] = true;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return tail;
+    }
+}
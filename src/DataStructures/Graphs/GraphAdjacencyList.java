@@ -40,6 +40,17 @@ public class GraphAdjacencyList {
         }
     }
 
+    // Method to convert the graph into an immutable CSR graph (both directions of every edge)
+    public CsrGraph toCsrGraph() {
+        CsrGraph.Builder builder = CsrGraph.builder(vertices);
+        for (int i = 0; i < vertices; i++) {
+            for (int neighbor : adjacencyList[i]) {
+                builder.addEdge(i, neighbor);
+            }
+        }
+        return builder.build();
+    }
+
     // Main method with an example to demonstrate the graph
     public static void main(String[] args) {
         // Example: Create a graph with 4 vertices
@@ -0,0 +1,307 @@
+package DataStructures.Graphs;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read-only graph served straight from a memory-mapped file.
+ * write() stores a CsrGraph in a little-endian binary format: a 64-byte header, the offsets
+ * section (vertices + 1 longs), the targets section (one int per edge) and an optional weights
+ * section. open() only validates the header and maps the file, so it takes about the same time
+ * for any graph size; pages are faulted in on first access. Neighbours are read directly from
+ * the mapped MemorySegment without copying to the heap, and because the mapping is read-only
+ * and backed by the file, every JVM on the host that opens the same file shares one copy in the
+ * page cache.
+ *
+ * Header layout (byte offset: field):
+ *   0: magic "CSRG"    4: format version    8: vertex count (int)    12: weight kind (int)
+ *   16: edge count (long)    24: offsets position    32: targets position    40: weights position
+ */
+public class MappedGraph implements AutoCloseable {
+    private static final int MAGIC = 0x47525343; // "CSRG" read as a little-endian int
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int NO_WEIGHTS = 0, INT_WEIGHTS = 1, FLOAT_WEIGHTS = 2;
+
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfFloat FLOAT = ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final Arena arena;
+    private final MemorySegment file;
+    private final int vertices;
+    private final long edges;
+    private final int weightKind;
+    private final long offsetsPosition, targetsPosition, weightsPosition;
+
+    private MappedGraph(Arena arena, MemorySegment file) throws IOException {
+        this.arena = arena;
+        this.file = file;
+        if (file.byteSize() < HEADER_BYTES || file.get(INT, 0) != MAGIC) {
+            throw new IOException("Not a graph file");
+        }
+        if (file.get(INT, 4) != VERSION) {
+            throw new IOException("Unsupported graph file version " + file.get(INT, 4));
+        }
+        this.vertices = file.get(INT, 8);
+        this.weightKind = file.get(INT, 12);
+        this.edges = file.get(LONG, 16);
+        this.offsetsPosition = file.get(LONG, 24);
+        this.targetsPosition = file.get(LONG, 32);
+        this.weightsPosition = file.get(LONG, 40);
+        if (weightKind != NO_WEIGHTS && weightKind != INT_WEIGHTS && weightKind != FLOAT_WEIGHTS) {
+            throw new IOException("Unknown weight kind " + weightKind);
+        }
+        // Edge counts beyond the file size are rejected first, so the section sizes cannot overflow
+        if (vertices < 0 || edges < 0 || edges > file.byteSize() / 4 || offsetsPosition != HEADER_BYTES
+                || targetsPosition != offsetsPosition + 8L * (vertices + 1)
+                || weightsPosition != (weightKind == NO_WEIGHTS ? 0 : targetsPosition + 4 * edges)
+                || file.byteSize() != targetsPosition + 4 * edges + (weightKind == NO_WEIGHTS ? 0 : 4 * edges)) {
+            throw new IOException("Corrupt graph file header");
+        }
+    }
+
+    // Map a graph file; close() releases the mapping
+    public static MappedGraph open(Path path) throws IOException {
+        Arena arena = Arena.ofShared(); // Shared so cursors can run on any thread
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            return new MappedGraph(arena, segment);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Write graph to path. The file is written next to the target and moved into place at the
+     * end, so readers never map a half-written file.
+     */
+    public static void write(CsrGraph graph, Path path) throws IOException {
+        int n = graph.vertexCount();
+        long m = graph.edgeCount();
+        int weightKind = graph.hasIntWeights() ? INT_WEIGHTS : graph.hasFloatWeights() ? FLOAT_WEIGHTS : NO_WEIGHTS;
+        long targetsPosition = HEADER_BYTES + 8L * (n + 1);
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            writeSections(graph, temp, n, m, weightKind, targetsPosition);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp); // Never leave a half-written sibling behind
+            throw e;
+        }
+    }
+
+    // Header and sections of the format, written to a fresh file
+    private static void writeSections(CsrGraph graph, Path temp, int n, long m, int weightKind, long targetsPosition)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(weightKind);
+            buffer.putLong(m).putLong(HEADER_BYTES).putLong(targetsPosition)
+                    .putLong(weightKind == NO_WEIGHTS ? 0 : targetsPosition + 4 * m);
+            buffer.position(HEADER_BYTES);
+
+            for (int v = 0; v <= n; v++) {
+                buffer = ensureRoom(channel, buffer, 8);
+                buffer.putLong(v < n ? graph.firstEdge(v) : m);
+            }
+            CsrGraph.NeighborCursor cursor = graph.cursor();
+            for (int v = 0; v < n; v++) {
+                cursor.reset(v);
+                while (cursor.hasNext()) {
+                    buffer = ensureRoom(channel, buffer, 4);
+                    buffer.putInt(cursor.next());
+                }
+            }
+            for (int e = 0; weightKind != NO_WEIGHTS && e < m; e++) {
+                buffer = ensureRoom(channel, buffer, 4);
+                if (weightKind == INT_WEIGHTS) {
+                    buffer.putInt(graph.intWeight(e));
+                } else {
+                    buffer.putFloat(graph.floatWeight(e));
+                }
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+    // Flush the buffer to the channel when fewer than 'bytes' bytes are left
+    private static ByteBuffer ensureRoom(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+        return buffer;
+    }
+
+    public int vertexCount() {
+        return vertices;
+    }
+
+    public long edgeCount() {
+        return edges;
+    }
+
+    public boolean hasIntWeights() {
+        return weightKind == INT_WEIGHTS;
+    }
+
+    public boolean hasFloatWeights() {
+        return weightKind == FLOAT_WEIGHTS;
+    }
+
+    // Index of the first edge of vertex
+    public long firstEdge(int vertex) {
+        return file.get(LONG, offsetsPosition + 8L * vertex);
+    }
+
+    public int degree(int vertex) {
+        return (int) (firstEdge(vertex + 1) - firstEdge(vertex));
+    }
+
+    public int target(long edgeIndex) {
+        return file.get(INT, targetsPosition + 4 * edgeIndex);
+    }
+
+    public int intWeight(long edgeIndex) {
+        if (weightKind != INT_WEIGHTS) {
+            throw new IllegalStateException("Graph has no int weights");
+        }
+        return file.get(INT, weightsPosition + 4 * edgeIndex);
+    }
+
+    public float floatWeight(long edgeIndex) {
+        if (weightKind != FLOAT_WEIGHTS) {
+            throw new IllegalStateException("Graph has no float weights");
+        }
+        return file.get(FLOAT, weightsPosition + 4 * edgeIndex);
+    }
+
+    // Binary search in the sorted neighbour list of from
+    public boolean hasEdge(int from, int to) {
+        long low = firstEdge(from), high = firstEdge(from + 1) - 1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            int t = target(mid);
+            if (t < to) {
+                low = mid + 1;
+            } else if (t > to) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Iterates the neighbours of one vertex at a time, reading the mapped file directly
+    public class NeighborCursor {
+        private long edge, end;
+
+        public NeighborCursor reset(int vertex) {
+            edge = firstEdge(vertex) - 1;
+            end = firstEdge(vertex + 1) - 1;
+            return this;
+        }
+
+        public boolean hasNext() {
+            return edge < end;
+        }
+
+        public int next() {
+            return file.get(INT, targetsPosition + 4 * ++edge);
+        }
+
+        public long edgeIndex() {
+            return edge;
+        }
+    }
+
+    public NeighborCursor cursor() {
+        return new NeighborCursor();
+    }
+
+    // Unmap the file; the graph and its cursors must not be used afterwards
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    // Example usage: write a graph once, then reopen it in constant time
+    public static void main(String[] args) throws IOException {
+        GraphAdjacencyList small = new GraphAdjacencyList(4);
+        small.addEdge(0, 1);
+        small.addEdge(0, 2);
+        small.addEdge(1, 3);
+        small.addEdge(2, 3);
+        Path smallFile = Files.createTempFile("small", ".graph");
+        write(small.toCsrGraph(), smallFile);
+        try (MappedGraph graph = open(smallFile)) {
+            System.out.println("Mapped Graph (" + Files.size(smallFile) + " bytes on disk):");
+            NeighborCursor cursor = graph.cursor();
+            for (int v = 0; v < graph.vertexCount(); v++) {
+                System.out.print("Vertex " + v + ": ");
+                cursor.reset(v);
+                while (cursor.hasNext()) {
+                    System.out.print(cursor.next() + " ");
+                }
+                System.out.println();
+            }
+        } finally {
+            Files.deleteIfExists(smallFile);
+        }
+
+        // A larger weighted graph: open time does not depend on its size
+        int n = 2_000_000;
+        CsrGraph.Builder builder = CsrGraph.builder(n);
+        java.util.Random random = new java.util.Random(18);
+        for (int i = 0; i < 8 * n; i++) {
+            builder.addEdge(random.nextInt(n), random.nextInt(n), random.nextInt(100));
+        }
+        CsrGraph large = builder.build();
+        Path largeFile = Files.createTempFile("large", ".graph");
+        try {
+            long start = System.nanoTime();
+            write(large, largeFile);
+            System.out.printf("%nWrote %d edges (%d MB) in %.1f ms%n", large.edgeCount(), Files.size(largeFile) >> 20,
+                    (System.nanoTime() - start) / 1e6);
+            start = System.nanoTime();
+            try (MappedGraph graph = open(largeFile)) {
+                System.out.printf("Opened in %.3f ms%n", (System.nanoTime() - start) / 1e6);
+                start = System.nanoTime();
+                long weightSum = 0;
+                NeighborCursor cursor = graph.cursor();
+                for (int v = 0; v < graph.vertexCount(); v++) {
+                    cursor.reset(v);
+                    while (cursor.hasNext()) {
+                        cursor.next();
+                        weightSum += graph.intWeight(cursor.edgeIndex());
+                    }
+                }
+                System.out.printf("Scanned all edges in %.1f ms (weight sum %d)%n", (System.nanoTime() - start) / 1e6,
+                        weightSum);
+            }
+        } finally {
+            Files.deleteIfExists(largeFile);
+        }
+    }
+}
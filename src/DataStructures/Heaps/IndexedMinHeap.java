@@ -0,0 +1,190 @@
+package DataStructures.Heaps;
+
+/**
+ * An indexed d-ary min heap over the integer ids 0..capacity-1 with long priorities.
+ * Every id is in the heap at most once and its position is tracked, so decreaseKey runs in
+ * O(log_d n) without stale duplicate entries. All state is kept in primitive arrays, so
+ * insert, decreaseKey and poll never allocate. A larger arity makes the heap shallower,
+ * which suits workloads with many more decreaseKey calls than polls (e.g. Dijkstra).
+ */
+public class IndexedMinHeap {
+    private static final int ABSENT = -1;
+
+    private final int arity;
+    private final int[] heap;      // heap[i] = id stored at heap slot i
+    private final int[] position;  // position[id] = slot of id, or ABSENT
+    private final long[] keys;     // keys[id] = current priority of id
+    private int size;
+
+    // Create a 4-ary heap for ids 0..capacity-1
+    public IndexedMinHeap(int capacity) {
+        this(capacity, 4);
+    }
+
+    // Create a heap with the given arity (2 = binary heap) for ids 0..capacity-1
+    public IndexedMinHeap(int capacity, int arity) {
+        if (capacity < 0 || arity < 2) {
+            throw new IllegalArgumentException("Capacity must be non-negative and arity at least 2");
+        }
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.keys = new long[capacity];
+        java.util.Arrays.fill(position, ABSENT);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int id) {
+        return position[id] != ABSENT;
+    }
+
+    // Priority of an id that is currently in the heap
+    public long key(int id) {
+        return keys[id];
+    }
+
+    // Id with the smallest priority, without removing it
+    public int peek() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return heap[0];
+    }
+
+    // Smallest priority in the heap
+    public long peekKey() {
+        return keys[peek()];
+    }
+
+    // Insert an id that is not yet in the heap
+    public void insert(int id, long key) {
+        if (position[id] != ABSENT) {
+            throw new IllegalArgumentException("Id " + id + " is already in the heap");
+        }
+        keys[id] = key;
+        heap[size] = id;
+        position[id] = size;
+        siftUp(size++);
+    }
+
+    // Lower the priority of an id that is in the heap
+    public void decreaseKey(int id, long key) {
+        if (position[id] == ABSENT) {
+            throw new IllegalArgumentException("Id " + id + " is not in the heap");
+        }
+        if (key > keys[id]) {
+            throw new IllegalArgumentException("New key is larger than the current key");
+        }
+        keys[id] = key;
+        siftUp(position[id]);
+    }
+
+    // Insert the id, or lower its priority if it is already present with a larger one
+    public boolean insertOrDecrease(int id, long key) {
+        if (position[id] == ABSENT) {
+            insert(id, key);
+            return true;
+        }
+        if (key < keys[id]) {
+            decreaseKey(id, key);
+            return true;
+        }
+        return false;
+    }
+
+    // Remove and return the id with the smallest priority
+    public int poll() {
+        int min = peek();
+        int last = heap[--size];
+        position[min] = ABSENT;
+        if (size > 0) {
+            heap[0] = last;
+            position[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    // Remove all ids; costs O(size) rather than O(capacity)
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = ABSENT;
+        }
+        size = 0;
+    }
+
+    // Move the entry at slot i up while it is smaller than its parent (hole technique, no swaps)
+    private void siftUp(int i) {
+        int id = heap[i];
+        long key = keys[id];
+        while (i > 0) {
+            int parent = (i - 1) / arity;
+            int parentId = heap[parent];
+            if (keys[parentId] <= key) {
+                break;
+            }
+            heap[i] = parentId;
+            position[parentId] = i;
+            i = parent;
+        }
+        heap[i] = id;
+        position[id] = i;
+    }
+
+    // Move the entry at slot i down to its smallest child while that child is smaller
+    private void siftDown(int i) {
+        int id = heap[i];
+        long key = keys[id];
+        while (true) {
+            int first = i * arity + 1;
+            if (first >= size) {
+                break;
+            }
+            int best = first;
+            long bestKey = keys[heap[first]];
+            int end = Math.min(first + arity, size);
+            for (int c = first + 1; c < end; c++) {
+                long childKey = keys[heap[c]];
+                if (childKey < bestKey) {
+                    best = c;
+                    bestKey = childKey;
+                }
+            }
+            if (bestKey >= key) {
+                break;
+            }
+            int childId = heap[best];
+            heap[i] = childId;
+            position[childId] = i;
+            i = best;
+        }
+        heap[i] = id;
+        position[id] = i;
+    }
+
+    // Example usage
+    public static void main(String[] args) {
+        IndexedMinHeap heap = new IndexedMinHeap(6);
+        heap.insert(0, 50);
+        heap.insert(1, 30);
+        heap.insert(2, 40);
+        heap.insert(3, 10);
+        heap.decreaseKey(2, 5); // Vertex 2 is now the smallest
+        heap.insertOrDecrease(4, 20);
+        heap.insertOrDecrease(0, 60); // Ignored: 60 is larger than 50
+
+        System.out.print("Ids in priority order: ");
+        while (!heap.isEmpty()) {
+            long key = heap.peekKey();
+            System.out.print(heap.poll() + "(" + key + ") ");
+        }
+        System.out.println();
+    }
+}